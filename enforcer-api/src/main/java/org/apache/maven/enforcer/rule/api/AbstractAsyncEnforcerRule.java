@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rule.api;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Entry point for custom {@code Enforcer Rule} which spends most of its time waiting, e.g. for network or disk I/O.
+ * <p>
+ * Asynchronous rules of one plugin execution are started in configured order and run concurrently with each other
+ * and with remaining rules. Results are reported in configured order, with the same handling of rule level
+ * and {@code failFast} as for other rules.
+ *
+ * @since 3.6.4
+ */
+public abstract class AbstractAsyncEnforcerRule extends AbstractEnforcerRule {
+
+    /**
+     * Start the rule. Blocking work should be submitted to the given executor, so a rule doesn't need
+     * to manage its own threads. The rule should not block the calling thread.
+     * <p>
+     * If the rule succeeds, the returned stage should complete normally. If the rule fails, the stage should complete
+     * exceptionally with an {@link EnforcerRuleException} containing a reason message,
+     * or with an {@link EnforcerRuleError} in order to brake a build immediately.
+     *
+     * @param executor an executor managed by the plugin, tasks are executed in the context of the current project
+     * @return a stage completed when the rule is finished
+     */
+    public abstract CompletionStage<Void> executeAsync(Executor executor);
+
+    /**
+     * Execute the rule on the calling thread and wait for its result.
+     *
+     * @throws EnforcerRuleException the enforcer rule exception
+     * @throws EnforcerRuleError in order to brake a build immediately
+     */
+    @Override
+    public final void execute() throws EnforcerRuleException {
+        try {
+            executeAsync(Runnable::run).toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnforcerRuleError("Rule execution was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof EnforcerRuleException) {
+                throw (EnforcerRuleException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new EnforcerRuleError(cause);
+        }
+    }
+}
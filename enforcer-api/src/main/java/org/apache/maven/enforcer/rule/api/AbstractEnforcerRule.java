@@ -18,6 +18,9 @@
  */
 package org.apache.maven.enforcer.rule.api;
 
+import java.time.Duration;
+import java.util.Objects;
+
 /**
  * Entry point for custom {@code Enforcer Rule}.
  * <p>
@@ -39,6 +42,16 @@ public abstract class AbstractEnforcerRule extends AbstractEnforcerRuleBase {
      */
     private String ruleName;
 
+    /**
+     * Maximum time of the rule execution in seconds, {@code 0} means no limit.
+     */
+    private long timeout;
+
+    /**
+     * Cancellation of current rule execution.
+     */
+    private EnforcerCancellationToken cancellationToken = new EnforcerCancellationToken();
+
     /**
      * Current Enforcer execution level
      *
@@ -60,6 +73,40 @@ public abstract class AbstractEnforcerRule extends AbstractEnforcerRuleBase {
         return ruleName;
     }
 
+    /**
+     * Maximum time of the rule execution, configured with the {@code timeout} attribute in seconds.
+     * <p>
+     * A rule which doesn't finish in time is reported with a stack of its thread, according to its level.
+     * Its cancellation token is cancelled and its thread is interrupted.
+     *
+     * @return a timeout, or {@code null} when the rule execution time is not limited
+     * @since 3.6.4
+     */
+    public Duration getTimeout() {
+        return timeout > 0 ? Duration.ofSeconds(timeout) : null;
+    }
+
+    /**
+     * A token cancelled by the Enforcer plugin when a result of the rule is no longer needed.
+     * Long-running rules should check it periodically.
+     *
+     * @return a cancellation token of current rule execution
+     * @since 3.6.4
+     */
+    public EnforcerCancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Used by the Enforcer plugin to provide a token shared by rules of one plugin execution.
+     *
+     * @param cancellationToken a cancellation token
+     * @since 3.6.4
+     */
+    public void setCancellationToken(EnforcerCancellationToken cancellationToken) {
+        this.cancellationToken = Objects.requireNonNull(cancellationToken, "cancellationToken");
+    }
+
     /**
      * If the rule is to be cached during session scope, whole executing of Maven build,
      * this id is used as part of the key.
@@ -73,6 +120,31 @@ public abstract class AbstractEnforcerRule extends AbstractEnforcerRuleBase {
         return null;
     }
 
+    /**
+     * Expected cost of the rule execution. With {@code failFast} cheaper rules are executed first, so their
+     * failures are reported without waiting for expensive rules, and rules with {@link EnforcerRuleCost#JAR_SCAN}
+     * cost are executed on a separate thread, concurrently with other rules of the same plugin execution.
+     * Otherwise, rules are executed in the configured order.
+     *
+     * @return a cost of the rule execution
+     * @since 3.6.4
+     */
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.FILE_IO;
+    }
+
+    /**
+     * A name of a resource which the rule shares with other rules, e.g. a dependency graph of a project collected
+     * once for all rules using it. With {@code failFast} rules of the same cost which use the same resource
+     * are executed one after another.
+     *
+     * @return a resource name, or {@code null} when the rule doesn't use a shared resource
+     * @since 3.6.4
+     */
+    public String getSharedResource() {
+        return null;
+    }
+
     /**
      * This is the interface into the rule. This method should throw an exception
      * containing a reason message if the rule fails the check. The plugin will
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rule.api;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A cooperative cancellation signal of a rule execution.
+ * <p>
+ * The Enforcer plugin cancels the token when a result of the rule is no longer needed, e.g. when another rule failed
+ * and {@code failFast} is enabled. Long-running rules should check the token periodically and stop their work.
+ * <p>
+ * A token can have a parent, then it is also cancelled together with the parent, e.g. a token of one rule
+ * with a timeout is cancelled on timeout of the rule or with all rules of the plugin execution.
+ *
+ * @since 3.6.4
+ */
+public final class EnforcerCancellationToken {
+
+    private final EnforcerCancellationToken parent;
+
+    private final AtomicReference<String> reason = new AtomicReference<>();
+
+    /**
+     * Create a token without a parent.
+     */
+    public EnforcerCancellationToken() {
+        this(null);
+    }
+
+    /**
+     * Create a token cancelled also when a parent is cancelled.
+     *
+     * @param parent a parent token, can be {@code null}
+     */
+    public EnforcerCancellationToken(EnforcerCancellationToken parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Cancel the token, only the first reason is kept.
+     *
+     * @param reason a reason of the cancellation
+     */
+    public void cancel(String reason) {
+        this.reason.compareAndSet(null, Objects.requireNonNull(reason, "reason"));
+    }
+
+    /**
+     * @return {@code true} if the token was cancelled
+     */
+    public boolean isCancelled() {
+        return getReason() != null;
+    }
+
+    /**
+     * @return a reason of the cancellation, or {@code null} if the token was not cancelled
+     */
+    public String getReason() {
+        String cancellationReason = reason.get();
+        if (cancellationReason == null && parent != null) {
+            return parent.getReason();
+        }
+        return cancellationReason;
+    }
+
+    /**
+     * Stop a rule execution when the token was cancelled.
+     *
+     * @throws EnforcerRuleException if the token was cancelled
+     */
+    public void throwIfCancelled() throws EnforcerRuleException {
+        String cancellationReason = getReason();
+        if (cancellationReason != null) {
+            throw new EnforcerRuleException("Rule execution was cancelled: " + cancellationReason);
+        }
+    }
+}
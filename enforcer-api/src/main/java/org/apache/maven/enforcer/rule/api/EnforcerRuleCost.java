@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rule.api;
+
+/**
+ * Expected cost of a rule execution, used to order rules. Constants are declared from the cheapest one.
+ *
+ * @since 3.6.4
+ */
+public enum EnforcerRuleCost {
+
+    /**
+     * Check of a project model or an environment without any I/O.
+     */
+    CHEAP,
+    /**
+     * Evaluation of properties or expressions.
+     */
+    PROPERTY_CHECK,
+    /**
+     * Access to files or repository metadata.
+     */
+    FILE_IO,
+    /**
+     * Collection of a dependency graph.
+     */
+    GRAPH_COLLECTION,
+    /**
+     * Reading content of dependency artifacts, such rules are executed on a separate thread.
+     */
+    JAR_SCAN
+}
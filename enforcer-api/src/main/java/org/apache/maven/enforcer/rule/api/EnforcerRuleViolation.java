@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rule.api;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A violation found by a rule, e.g. a banned dependency together with a path of dependencies leading to it.
+ *
+ * @see EnforcerRuleViolationException
+ * @since 3.6.4
+ */
+public final class EnforcerRuleViolation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> path;
+
+    private final String reason;
+
+    /**
+     * @param path   coordinates of elements from a root to the violating element, must not be empty
+     * @param reason a reason of the violation, can be {@code null}
+     */
+    public EnforcerRuleViolation(List<String> path, String reason) {
+        if (Objects.requireNonNull(path, "path").isEmpty()) {
+            throw new IllegalArgumentException("path must not be empty");
+        }
+        this.path = Collections.unmodifiableList(new ArrayList<>(path));
+        this.reason = reason;
+    }
+
+    /**
+     * @return coordinates of elements from a root to the violating element
+     */
+    public List<String> getPath() {
+        return path;
+    }
+
+    /**
+     * @return coordinates of the violating element
+     */
+    public String getCoordinates() {
+        return path.get(path.size() - 1);
+    }
+
+    /**
+     * @return a reason of the violation, or {@code null}
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return reason == null ? String.join(" -> ", path) : String.join(" -> ", path) + ": " + reason;
+    }
+}
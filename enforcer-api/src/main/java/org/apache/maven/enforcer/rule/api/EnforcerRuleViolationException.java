@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rule.api;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An exception of a rule reporting structured {@link EnforcerRuleViolation violations}.
+ * <p>
+ * A message is rendered from violations only when it is requested, and only once. The mojo renders it directly
+ * into a report of the failed rule.
+ *
+ * @since 3.6.4
+ */
+public class EnforcerRuleViolationException extends EnforcerRuleException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Renders violations of a rule as a part of a message.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+
+        /**
+         * @param violations violations to render
+         * @param message    a message to append to
+         */
+        void render(List<EnforcerRuleViolation> violations, StringBuilder message);
+    }
+
+    private final String header;
+
+    private final List<EnforcerRuleViolation> violations;
+
+    private transient Renderer renderer;
+
+    private String message;
+
+    /**
+     * @param header     a beginning of a message, can be {@code null}
+     * @param violations found violations
+     * @param renderer   a renderer of violations
+     */
+    public EnforcerRuleViolationException(String header, List<EnforcerRuleViolation> violations, Renderer renderer) {
+        super((String) null);
+        this.header = header;
+        this.violations = Collections.unmodifiableList(new ArrayList<>(violations));
+        this.renderer = Objects.requireNonNull(renderer, "renderer");
+    }
+
+    /**
+     * @return found violations
+     */
+    public List<EnforcerRuleViolation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Renders a message into a builder, e.g. a report of a failed rule. A message is rendered only once,
+     * so it is kept for later requests.
+     *
+     * @param builder a builder to append the message to
+     */
+    public synchronized void renderMessage(StringBuilder builder) {
+        if (message != null) {
+            builder.append(message);
+            return;
+        }
+        int start = builder.length();
+        if (header != null) {
+            builder.append(header);
+        }
+        renderer.render(violations, builder);
+        message = builder.substring(start);
+        renderer = null;
+    }
+
+    @Override
+    public synchronized String getMessage() {
+        if (message == null) {
+            renderMessage(new StringBuilder());
+        }
+        return message;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // a renderer is not serialized, so the message is rendered before
+        getMessage();
+        out.defaultWriteObject();
+    }
+}
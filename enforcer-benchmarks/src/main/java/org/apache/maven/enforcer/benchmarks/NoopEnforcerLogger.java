@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.benchmarks;
+
+import java.util.function.Supplier;
+
+import org.apache.maven.enforcer.rule.api.EnforcerLogger;
+
+/**
+ * Logger which discards all messages, so benchmarks measure rules only.
+ */
+public final class NoopEnforcerLogger implements EnforcerLogger {
+
+    @Override
+    public void warnOrError(CharSequence message) {}
+
+    @Override
+    public void warnOrError(Supplier<CharSequence> messageSupplier) {}
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
+
+    @Override
+    public void debug(CharSequence message) {}
+
+    @Override
+    public void debug(Supplier<CharSequence> messageSupplier) {}
+
+    @Override
+    public boolean isInfoEnabled() {
+        return false;
+    }
+
+    @Override
+    public void info(CharSequence message) {}
+
+    @Override
+    public void info(Supplier<CharSequence> messageSupplier) {}
+
+    @Override
+    public boolean isWarnEnabled() {
+        return false;
+    }
+
+    @Override
+    public void warn(CharSequence message) {}
+
+    @Override
+    public void warn(Supplier<CharSequence> messageSupplier) {}
+
+    @Override
+    public boolean isErrorEnabled() {
+        return false;
+    }
+
+    @Override
+    public void error(CharSequence message) {}
+
+    @Override
+    public void error(Supplier<CharSequence> messageSupplier) {}
+}
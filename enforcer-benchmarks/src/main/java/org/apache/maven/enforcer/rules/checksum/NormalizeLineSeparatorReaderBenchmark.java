@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.checksum;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.enforcer.rules.checksum.NormalizeLineSeparatorReader.LineSeparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading of a text with mixed line separators through {@code NormalizeLineSeparatorReader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NormalizeLineSeparatorReaderBenchmark {
+
+    /**
+     * Number of lines in normalized text.
+     */
+    @Param({"1000", "100000"})
+    private int lines;
+
+    /**
+     * Target line separator, a name of {@link LineSeparator}.
+     */
+    @Param({"WINDOWS", "UNIX"})
+    private String separator;
+
+    private LineSeparator lineSeparator;
+
+    private String text;
+
+    private final char[] buffer = new char[8192];
+
+    @Setup
+    public void setup() {
+        lineSeparator = LineSeparator.valueOf(separator);
+        StringBuilder builder = new StringBuilder(lines * 48);
+        for (int i = 0; i < lines; i++) {
+            builder.append("line ").append(i).append(" of synthetic text with some content");
+            builder.append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        text = builder.toString();
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        long count = 0;
+        try (Reader reader = new NormalizeLineSeparatorReader(new StringReader(text), lineSeparator)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                count += read;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.enforcer.benchmarks.NoopEnforcerLogger;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.SyntheticDependencyGraphBuilder;
+import org.eclipse.aether.graph.DependencyNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validation of a whole dependency tree by {@code BannedDependencies}, including building of the error message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BannedDependenciesBenchmark {
+
+    /**
+     * Number of nodes in dependency tree.
+     */
+    @Param({"1000", "10000"})
+    private int size;
+
+    /**
+     * Exclude patterns, {@code none} bans nothing, {@code some} bans a part of the tree.
+     */
+    @Param({"none", "some"})
+    private String excludes;
+
+    private BannedDependencies rule;
+
+    @Setup
+    public void setup() {
+        DependencyNode root = new SyntheticDependencyGraphBuilder().withNodes(size).build().getRoot();
+        FixedGraphResolverUtil resolverUtil = FixedGraphResolverUtil.of(root);
+
+        rule = new BannedDependencies(resolverUtil.getSession(), resolverUtil);
+        rule.setLog(new NoopEnforcerLogger());
+        if ("some".equals(excludes)) {
+            rule.setExcludes(Arrays.asList("org.example.group3", "*:artifact-1*:1.2.0"));
+        } else {
+            rule.setExcludes(Collections.singletonList("org.nothing"));
+        }
+        rule.setIncludes(Collections.singletonList("org.example.group3:artifact-3"));
+    }
+
+    @Benchmark
+    public Object execute() {
+        try {
+            rule.execute();
+            return null;
+        } catch (EnforcerRuleException e) {
+            return e.getMessage();
+        }
+    }
+}
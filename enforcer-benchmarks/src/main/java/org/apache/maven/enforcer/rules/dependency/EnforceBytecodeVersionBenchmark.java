@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.maven.enforcer.benchmarks.NoopEnforcerLogger;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.DaemonCache;
+import org.apache.maven.enforcer.rules.utils.DependencyNodeBuilder;
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scanning of a jar with class entries by {@code EnforceBytecodeVersion}, results of previous scans are not reused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnforceBytecodeVersionBenchmark {
+
+    private static final byte[] CLASS_HEADER = {
+        (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 52, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    /**
+     * Number of class entries in scanned jar.
+     */
+    @Param({"100", "1000", "10000"})
+    private int classes;
+
+    private File jar;
+
+    private final DaemonCache daemonCache = new DaemonCache();
+
+    private EnforceBytecodeVersion rule;
+
+    @Setup
+    public void setup() throws IOException, IllegalAccessException {
+        jar = Files.createTempFile("enforcer-benchmark", ".jar").toFile();
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (int i = 0; i < classes; i++) {
+                out.putNextEntry(new JarEntry("org/example/package" + (i % 32) + "/Class" + i + ".class"));
+                out.write(CLASS_HEADER);
+                out.closeEntry();
+            }
+            out.putNextEntry(new JarEntry("META-INF/resource.txt"));
+            writeText(out);
+            out.closeEntry();
+        }
+
+        DependencyNode root = new DependencyNodeBuilder()
+                .withType(DependencyNodeBuilder.Type.POM)
+                .withChildNode(new DefaultDependencyNode(new Dependency(
+                        new DefaultArtifact("org.example:scanned:1.0").setFile(jar), "compile")))
+                .build();
+        FixedGraphResolverUtil resolverUtil = FixedGraphResolverUtil.of(root);
+        rule = new EnforceBytecodeVersion(resolverUtil.getSession(), resolverUtil, daemonCache);
+        rule.setLog(new NoopEnforcerLogger());
+        ReflectionUtils.setVariableValueInObject(rule, "maxJavaMajorVersionNumber", 52);
+        // otherwise the jar is scanned only by the first execution in the session
+        ReflectionUtils.setVariableValueInObject(rule, "processOncePerSession", false);
+    }
+
+    private static void writeText(OutputStream out) throws IOException {
+        out.write("not a class".getBytes("UTF-8"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jar.toPath());
+    }
+
+    @Benchmark
+    public Object execute() {
+        // otherwise results of previous builds are reused
+        daemonCache.clear();
+        try {
+            rule.execute();
+            return null;
+        } catch (EnforcerRuleException e) {
+            return e.getMessage();
+        }
+    }
+}
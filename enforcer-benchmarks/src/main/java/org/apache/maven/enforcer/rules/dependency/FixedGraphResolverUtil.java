@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
+import org.apache.maven.enforcer.rules.utils.SharedResources;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Serves a fixed dependency graph to rules executed by benchmarks, so no repository is needed.
+ * All other requests to the repository system fail.
+ */
+final class FixedGraphResolverUtil extends ResolverUtil {
+
+    private final MavenSession session;
+
+    private final DependencyNode root;
+
+    private FixedGraphResolverUtil(MavenSession session, DependencyNode root) {
+        super(unsupportedRepositorySystem(), session);
+        this.session = session;
+        this.root = root;
+    }
+
+    /**
+     * @param root a root of the served graph
+     * @return a resolver of a new session with a current project
+     */
+    static FixedGraphResolverUtil of(DependencyNode root) {
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("benchmark");
+        model.setVersion("1.0");
+        MavenProject project = new MavenProject(model);
+        project.setArtifact(new DefaultArtifact(
+                "org.example", "benchmark", "1.0", "compile", "jar", null, new DefaultArtifactHandler("jar")));
+
+        @SuppressWarnings("deprecation")
+        MavenSession session = new MavenSession(
+                null,
+                new DefaultRepositorySystemSession(),
+                new DefaultMavenExecutionRequest(),
+                new DefaultMavenExecutionResult());
+        session.setCurrentProject(project);
+        return new FixedGraphResolverUtil(session, root);
+    }
+
+    MavenSession getSession() {
+        return session;
+    }
+
+    /**
+     * Release graphs shared by rules, as at the end of a plugin execution, so the next execution
+     * builds them again.
+     */
+    void release() {
+        SharedResources.of(session.getRepositorySession()).release(session.getCurrentProject());
+    }
+
+    @Override
+    DependencyNode collectDependencies(
+            boolean verbose,
+            boolean resolve,
+            boolean excludeOptional,
+            List<String> excludedScopes,
+            EnforcerCancellationToken cancellation) {
+        return root;
+    }
+
+    @Override
+    DependencyNode resolveProjectDependencies(
+            boolean resolve,
+            boolean excludeOptional,
+            List<String> excludedScopes,
+            EnforcerCancellationToken cancellation) {
+        return root;
+    }
+
+    private static RepositorySystem unsupportedRepositorySystem() {
+        return (RepositorySystem) Proxy.newProxyInstance(
+                RepositorySystem.class.getClassLoader(), new Class<?>[] {RepositorySystem.class}, (p, m, a) -> {
+                    throw new UnsupportedOperationException(m.getName());
+                });
+    }
+}
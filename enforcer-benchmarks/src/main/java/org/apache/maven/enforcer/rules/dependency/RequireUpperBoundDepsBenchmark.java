@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.enforcer.benchmarks.NoopEnforcerLogger;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.SyntheticDependencyGraphBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Collecting of upper bound conflicts by {@code RequireUpperBoundDeps}, including building of the error message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequireUpperBoundDepsBenchmark {
+
+    /**
+     * Number of nodes in dependency tree.
+     */
+    @Param({"1000", "10000"})
+    private int size;
+
+    private FixedGraphResolverUtil resolverUtil;
+
+    private RequireUpperBoundDeps rule;
+
+    @Setup
+    public void setup() {
+        resolverUtil =
+                FixedGraphResolverUtil.of(new SyntheticDependencyGraphBuilder().withNodes(size).build().getRoot());
+        rule = new RequireUpperBoundDeps(resolverUtil);
+        rule.setLog(new NoopEnforcerLogger());
+        // coordinates are already interned by previous modules in a session
+        execute();
+    }
+
+    @Benchmark
+    public Object execute() {
+        // as in a new plugin execution, the compact graph is built again
+        resolverUtil.release();
+        try {
+            rule.execute();
+            return null;
+        } catch (EnforcerRuleException e) {
+            return e.getMessage();
+        }
+    }
+}
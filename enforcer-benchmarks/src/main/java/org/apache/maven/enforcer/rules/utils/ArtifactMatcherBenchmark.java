@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Matching of artifacts against typical exclude and include patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactMatcherBenchmark {
+
+    private static final List<String> EXCLUDES = Arrays.asList(
+            "org.example.group1", "org.example.group2:*", "*:artifact-1*:[1.2.0,1.4.0)", "*:*:*:jar:compile");
+
+    private static final List<String> INCLUDES = Arrays.asList("org.example.group2:artifact-2", "*:*:1.0.0");
+
+    /**
+     * Number of matched artifacts.
+     */
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private List<Artifact> artifacts;
+
+    private ArtifactMatcher matcher;
+
+    @Setup
+    public void setup() {
+        DependencyNode root = new SyntheticDependencyGraphBuilder().withNodes(size).build().getRoot();
+        PreorderNodeListGenerator nodes = new PreorderNodeListGenerator();
+        root.accept(nodes);
+        artifacts = new ArrayList<>(size);
+        for (DependencyNode node : nodes.getNodes()) {
+            artifacts.add(ArtifactUtils.toArtifact(node));
+        }
+        matcher = new ArtifactMatcher(EXCLUDES, INCLUDES);
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        for (Artifact artifact : artifacts) {
+            blackhole.consume(matcher.match(artifact));
+        }
+    }
+
+    @Benchmark
+    public void createAndMatch(Blackhole blackhole) {
+        ArtifactMatcher newMatcher = new ArtifactMatcher(EXCLUDES, INCLUDES);
+        for (Artifact artifact : artifacts) {
+            blackhole.consume(newMatcher.match(artifact));
+        }
+    }
+}
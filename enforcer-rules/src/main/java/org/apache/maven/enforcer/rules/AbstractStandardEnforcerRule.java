@@ -19,6 +19,7 @@
 package org.apache.maven.enforcer.rules;
 
 import org.apache.maven.enforcer.rule.api.AbstractEnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.model.InputLocation;
 import org.apache.maven.project.MavenProject;
 
@@ -40,6 +41,17 @@ public abstract class AbstractStandardEnforcerRule extends AbstractEnforcerRule
         this.message = message;
     }
 
+    /**
+     * Standard rules check only the project model and the environment unless they declare another cost.
+     *
+     * @return {@link EnforcerRuleCost#CHEAP}
+     * @since 3.6.4
+     */
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.CHEAP;
+    }
+
     /**
      * Returns an identifier of a given project.
      * @param project the project
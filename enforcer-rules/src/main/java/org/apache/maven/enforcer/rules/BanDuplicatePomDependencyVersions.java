@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleError;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.model.Dependency;
@@ -159,4 +160,9 @@ public final class BanDuplicatePomDependencyVersions extends AbstractStandardEnf
         }
         return duplicateDeps;
     }
+
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.FILE_IO;
+    }
 }
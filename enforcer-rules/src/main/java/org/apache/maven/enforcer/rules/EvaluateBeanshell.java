@@ -21,13 +21,35 @@ package org.apache.maven.enforcer.rules;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
+import bsh.BshMethod;
 import bsh.EvalError;
 import bsh.Interpreter;
+import bsh.NameSpace;
+import bsh.ParseException;
+import bsh.Parser;
+import bsh.Primitive;
+import bsh.TokenMgrError;
+import bsh.UtilEvalError;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.execution.MavenSession;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
+import org.eclipse.aether.SessionData;
 
 /**
  * Rule for Maven Enforcer using Beanshell to evaluate a conditional expression.
@@ -37,18 +59,18 @@ import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator
 @Named("evaluateBeanshell")
 public final class EvaluateBeanshell extends AbstractStandardEnforcerRule {
 
-    /** Beanshell interpreter. */
-    private final Interpreter interpreter = new Interpreter();
-
     /** The condition to be evaluated.
      * */
     private String condition;
 
     private final ExpressionEvaluator evaluator;
 
+    private final MavenSession session;
+
     @Inject
-    public EvaluateBeanshell(ExpressionEvaluator evaluator) {
+    public EvaluateBeanshell(ExpressionEvaluator evaluator, MavenSession session) {
         this.evaluator = Objects.requireNonNull(evaluator);
+        this.session = Objects.requireNonNull(session);
     }
 
     public void setCondition(String condition) {
@@ -64,10 +86,22 @@ public final class EvaluateBeanshell extends AbstractStandardEnforcerRule {
 
         try {
             getLog().debug("Echo condition : " + condition);
-            // Evaluate condition within Plexus Container
-            String script = (String) evaluator.evaluate(condition);
-            getLog().debug("Echo script : " + script);
-            if (!evaluateCondition(script)) {
+            ConditionCache cache = getConditionCache();
+            CompiledCondition compiled = cache.compile(condition);
+            Binding binding = compiled != null ? compiled.bind(evaluator) : null;
+            boolean evaluation;
+            if (binding != null) {
+                if (getLog().isDebugEnabled()) {
+                    getLog().debug("Echo script : " + binding.getScript());
+                }
+                evaluation = evaluateCondition(cache, binding);
+            } else {
+                // Evaluate condition within Plexus Container
+                String script = (String) evaluator.evaluate(condition);
+                getLog().debug("Echo script : " + script);
+                evaluation = evaluateCondition(cache, script);
+            }
+            if (!evaluation) {
                 String message = getMessage();
                 if (message == null || message.isEmpty()) {
                     message = "The expression \"" + condition + "\" is not true.";
@@ -82,23 +116,458 @@ public final class EvaluateBeanshell extends AbstractStandardEnforcerRule {
     /**
      * Evaluate expression using Beanshell.
      *
+     * @param cache the cache of interpreters
      * @param script the expression to be evaluated
      * @return boolean the evaluation of the expression
      * @throws EnforcerRuleException if the script could not be evaluated
      */
-    private boolean evaluateCondition(String script) throws EnforcerRuleException {
+    private boolean evaluateCondition(ConditionCache cache, String script) throws EnforcerRuleException {
         Boolean evaluation;
+        PooledInterpreter pooled = cache.borrow();
         try {
-            evaluation = (Boolean) interpreter.eval(script);
+            // each condition is evaluated in its own namespace, so variables are not visible to other conditions
+            NameSpace nameSpace = new NameSpace(pooled.interpreter.getNameSpace(), "condition");
+            evaluation = (Boolean) pooled.interpreter.eval(script, nameSpace);
             getLog().debug("Echo evaluating : " + evaluation);
         } catch (EvalError ex) {
             throw new EnforcerRuleException("Couldn't evaluate condition: " + script, ex);
+        } finally {
+            cache.release(pooled);
+        }
+        return evaluation;
+    }
+
+    /**
+     * Evaluate a compiled condition using Beanshell, the parsed condition is invoked with values of Maven
+     * expressions as arguments.
+     *
+     * @param cache the cache of interpreters
+     * @param binding the compiled condition with values of its Maven expressions
+     * @return boolean the evaluation of the expression
+     * @throws EnforcerRuleException if the script could not be evaluated
+     */
+    private boolean evaluateCondition(ConditionCache cache, Binding binding) throws EnforcerRuleException {
+        Boolean evaluation;
+        PooledInterpreter pooled = cache.borrow();
+        try {
+            // a method has its own namespace for each invocation, so variables are not visible to other conditions
+            BshMethod method = pooled.getMethod(binding.condition);
+            evaluation = (Boolean) Primitive.unwrap(method.invoke(binding.arguments, pooled.interpreter));
+            getLog().debug("Echo evaluating : " + evaluation);
+        } catch (EvalError | UtilEvalError ex) {
+            throw new EnforcerRuleException("Couldn't evaluate condition: " + binding.getScript(), ex);
+        } finally {
+            cache.release(pooled);
         }
         return evaluation;
     }
 
+    private ConditionCache getConditionCache() {
+        SessionData sessionData = session.getRepositorySession().getData();
+        ConditionCache cache = (ConditionCache) sessionData.get(ConditionCache.class);
+        if (cache == null) {
+            // the first stored instance wins, the same cache is used by all rules in the session
+            sessionData.set(ConditionCache.class, null, new ConditionCache());
+            cache = (ConditionCache) sessionData.get(ConditionCache.class);
+        }
+        return cache;
+    }
+
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.PROPERTY_CHECK;
+    }
+
     @Override
     public String toString() {
         return String.format("EvaluateBeanshell[message=%s, condition=%s]", getMessage(), condition);
     }
+
+    /**
+     * Compiled conditions and interpreters shared by all rules in a session.
+     * <p>
+     * Creating an interpreter and resolving classes and methods used by a script are the most expensive parts
+     * of an evaluation, an interpreter keeps them cached for the next script. Interpreters are not thread-safe,
+     * so each one is used by a single thread at a time.
+     */
+    static final class ConditionCache {
+
+        private final Map<String, Optional<CompiledCondition>> conditions = new ConcurrentHashMap<>();
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private final Queue<PooledInterpreter> interpreters = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Compiles a condition before its Maven expressions are evaluated.
+         *
+         * @param condition a condition with Maven expressions
+         * @return the compiled condition, or {@code null} if it can be evaluated only after textual substitution
+         */
+        CompiledCondition compile(String condition) {
+            return conditions
+                    .computeIfAbsent(condition, c -> {
+                        String name = "condition$" + counter.getAndIncrement();
+                        return Optional.ofNullable(CompiledCondition.compile(c, name));
+                    })
+                    .orElse(null);
+        }
+
+        PooledInterpreter borrow() {
+            PooledInterpreter interpreter = interpreters.poll();
+            return interpreter != null ? interpreter : new PooledInterpreter();
+        }
+
+        void release(PooledInterpreter interpreter) {
+            interpreters.offer(interpreter);
+        }
+    }
+
+    /**
+     * An interpreter with methods of compiled conditions already declared in it. The body of a declared method
+     * is parsed only once, and is invoked for each evaluation of its condition.
+     */
+    static final class PooledInterpreter {
+
+        final Interpreter interpreter = new Interpreter();
+
+        private final Map<CompiledCondition, BshMethod> methods = new HashMap<>();
+
+        BshMethod getMethod(CompiledCondition condition) throws EvalError, UtilEvalError {
+            BshMethod method = methods.get(condition);
+            if (method == null) {
+                interpreter.eval(condition.declaration);
+                method = interpreter.getNameSpace().getMethod(condition.name, condition.parameterTypes);
+                methods.put(condition, method);
+            }
+            return method;
+        }
+    }
+
+    /**
+     * A condition compiled to a Beanshell method, with Maven expressions replaced by its parameters.
+     * <p>
+     * A Maven expression outside of literals is replaced by a parameter, its value is bound only if it is
+     * an {@code int}, a {@code double} or a {@code boolean} literal. Other values, like identifiers or
+     * fragments of code, change the syntax of the script, so such a condition is evaluated after textual
+     * substitution. A string literal with Maven expressions is replaced by a parameter, its value is bound
+     * only if it doesn't need to be escaped in a literal. Values are interned, so they are identical to
+     * literals of the substituted script. A condition is not compiled when a Maven expression can't be
+     * bound in any evaluation, like in a comment or next to other tokens.
+     */
+    static final class CompiledCondition {
+
+        private static final Pattern INT_LITERAL = Pattern.compile("0|[1-9][0-9]*");
+
+        private static final Pattern DOUBLE_LITERAL = Pattern.compile("[0-9]+\\.[0-9]+");
+
+        private final String name;
+
+        private final String declaration;
+
+        private final Class<?>[] parameterTypes;
+
+        /** Code before, between and after the parameters. */
+        private final List<String> code;
+
+        private final List<Parameter> parameters;
+
+        private CompiledCondition(String name, List<String> code, List<Parameter> parameters) {
+            this.name = name;
+            this.code = code;
+            this.parameters = parameters;
+            this.parameterTypes = new Class<?>[parameters.size()];
+            StringBuilder names = new StringBuilder();
+            StringBuilder body = new StringBuilder(code.get(0));
+            for (int i = 0; i < parameters.size(); i++) {
+                names.append(i > 0 ? ", " : "").append(parameterName(i));
+                body.append(parameterName(i)).append(code.get(i + 1));
+            }
+            this.declaration = name + "(" + names + ") {\n" + terminate(body.toString()) + "}";
+        }
+
+        /**
+         * Compiles a condition.
+         *
+         * @param condition a condition with Maven expressions
+         * @param name a name of the method
+         * @return the compiled condition, or {@code null} if the condition can't be compiled
+         */
+        static CompiledCondition compile(String condition, String name) {
+            if (condition.contains("$$")) {
+                // an escaped expression
+                return null;
+            }
+            List<String> code = new ArrayList<>();
+            List<Parameter> parameters = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            int index = 0;
+            while (index < condition.length()) {
+                char c = condition.charAt(index);
+                int end;
+                if (condition.startsWith("${", index)) {
+                    end = condition.indexOf('}', index) + 1;
+                    if (end == 0
+                            || !isSeparated(condition, index - 1)
+                            || !isSeparated(condition, end)
+                            || !isExpression(condition.substring(index, end))) {
+                        return null;
+                    }
+                    code.add(current.toString());
+                    current.setLength(0);
+                    parameters.add(new Parameter(false, Collections.singletonList(condition.substring(index, end))));
+                } else if (c == '"' || c == '\'') {
+                    end = endOfLiteral(condition, index);
+                    if (end < 0) {
+                        return null;
+                    }
+                    String content = condition.substring(index + 1, end - 1);
+                    if (!content.contains("${")) {
+                        current.append(condition, index, end);
+                    } else if (c == '"' && content.indexOf('\\') < 0) {
+                        List<String> parts = split(content);
+                        if (parts == null) {
+                            return null;
+                        }
+                        code.add(current.toString());
+                        current.setLength(0);
+                        parameters.add(new Parameter(true, parts));
+                    } else {
+                        return null;
+                    }
+                } else if (condition.startsWith("//", index) || condition.startsWith("/*", index)) {
+                    end = endOfComment(condition, index);
+                    if (end < 0 || condition.substring(index, end).contains("${")) {
+                        return null;
+                    }
+                    current.append(condition, index, end);
+                } else {
+                    end = index + 1;
+                    current.append(c);
+                }
+                index = end;
+            }
+            code.add(current.toString());
+            CompiledCondition compiled = new CompiledCondition(name, code, parameters);
+            // the body must be valid on its own, so that the declaration is a single method
+            String body = terminate(compiled.getScript(parameterNames(parameters.size())));
+            return parses(body) && parses(compiled.declaration) ? compiled : null;
+        }
+
+        /**
+         * Evaluates Maven expressions of the condition.
+         *
+         * @param evaluator the evaluator of Maven expressions
+         * @return arguments of the method, or {@code null} if a value can't be bound
+         * @throws ExpressionEvaluationException if an expression could not be evaluated
+         */
+        Binding bind(ExpressionEvaluator evaluator) throws ExpressionEvaluationException {
+            Object[] arguments = new Object[parameters.size()];
+            String[] substitutions = new String[parameters.size()];
+            for (int i = 0; i < arguments.length; i++) {
+                Parameter parameter = parameters.get(i);
+                StringBuilder value = new StringBuilder();
+                for (int j = 0; j < parameter.parts.size(); j++) {
+                    String part = parameter.parts.get(j);
+                    if (j % 2 == 0 && parameter.literal) {
+                        value.append(part);
+                        continue;
+                    }
+                    Object result = evaluator.evaluate(part);
+                    if (result == null && !parameter.literal) {
+                        return null;
+                    }
+                    // an unresolved expression is kept as is, like by the textual substitution
+                    value.append(result != null ? result : part);
+                }
+                String text = value.toString();
+                if (parameter.literal) {
+                    if (text.indexOf('"') >= 0 || text.indexOf('\\') >= 0 || text.indexOf('\n') >= 0
+                            || text.indexOf('\r') >= 0) {
+                        return null;
+                    }
+                    arguments[i] = text.intern();
+                    substitutions[i] = '"' + text + '"';
+                } else {
+                    arguments[i] = toLiteral(text);
+                    if (arguments[i] == null) {
+                        return null;
+                    }
+                    substitutions[i] = text;
+                }
+            }
+            return new Binding(this, arguments, substitutions);
+        }
+
+        private String getScript(String[] substitutions) {
+            StringBuilder script = new StringBuilder(code.get(0));
+            for (int i = 0; i < substitutions.length; i++) {
+                script.append(substitutions[i]).append(code.get(i + 1));
+            }
+            return script.toString();
+        }
+
+        private static Object toLiteral(String value) {
+            if ("true".equals(value) || "false".equals(value)) {
+                return new Primitive(Boolean.parseBoolean(value));
+            } else if (INT_LITERAL.matcher(value).matches()) {
+                try {
+                    return new Primitive(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            } else if (DOUBLE_LITERAL.matcher(value).matches()) {
+                return new Primitive(Double.parseDouble(value));
+            }
+            return null;
+        }
+
+        /**
+         * Splits content of a string literal to text and Maven expressions, text is at even indexes.
+         */
+        private static List<String> split(String content) {
+            List<String> parts = new ArrayList<>();
+            int index = 0;
+            int start = content.indexOf("${");
+            while (start >= 0) {
+                int end = content.indexOf('}', start) + 1;
+                if (end == 0 || !isExpression(content.substring(start, end))) {
+                    return null;
+                }
+                parts.add(content.substring(index, start));
+                parts.add(content.substring(start, end));
+                index = end;
+                start = content.indexOf("${", index);
+            }
+            parts.add(content.substring(index));
+            return parts;
+        }
+
+        private static boolean isExpression(String expression) {
+            for (int i = 2; i < expression.length() - 1; i++) {
+                char c = expression.charAt(i);
+                if (c == '$' || c == '{' || c == '"' || c == '\'' || c == '\n' || c == '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Checks that a value bound at an index would not be joined with a neighbouring token.
+         */
+        private static boolean isSeparated(String condition, int index) {
+            if (index < 0 || index >= condition.length()) {
+                return true;
+            }
+            char c = condition.charAt(index);
+            return !Character.isJavaIdentifierPart(c) && c != '.' && c != '"' && c != '\'';
+        }
+
+        /**
+         * Finds the end of a literal starting at an index.
+         *
+         * @return an index after the closing quote, or {@code -1} if the literal is not closed on the same line
+         */
+        private static int endOfLiteral(String condition, int index) {
+            char quote = condition.charAt(index);
+            for (int i = index + 1; i < condition.length(); i++) {
+                char c = condition.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    return i + 1;
+                } else if (c == '\n' || c == '\r') {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Finds the end of a comment starting at an index.
+         *
+         * @return an index after the comment, or {@code -1} if the comment is not closed
+         */
+        private static int endOfComment(String condition, int index) {
+            if (condition.startsWith("//", index)) {
+                int end = condition.indexOf('\n', index);
+                return end < 0 ? condition.length() : end;
+            }
+            int end = condition.indexOf("*/", index + 2);
+            return end < 0 ? -1 : end + 2;
+        }
+
+        private static boolean parses(String script) {
+            Parser parser = new Parser(new StringReader(script));
+            try {
+                while (!parser.Line()) {
+                    // parse all statements
+                }
+                return true;
+            } catch (ParseException | TokenMgrError e) {
+                return false;
+            }
+        }
+
+        /**
+         * Terminates the last statement, like {@link Interpreter#eval(String)} does.
+         */
+        private static String terminate(String script) {
+            return script.endsWith(";") ? script : script + "\n;";
+        }
+
+        private static String[] parameterNames(int count) {
+            String[] names = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = parameterName(i);
+            }
+            return names;
+        }
+
+        private static String parameterName(int index) {
+            return "enforcer$" + index;
+        }
+    }
+
+    /**
+     * A Maven expression outside of literals, or a string literal with Maven expressions.
+     */
+    private static final class Parameter {
+
+        private final boolean literal;
+
+        /** The expression, or text and expressions of the literal. */
+        private final List<String> parts;
+
+        private Parameter(boolean literal, List<String> parts) {
+            this.literal = literal;
+            this.parts = parts;
+        }
+    }
+
+    /**
+     * A compiled condition with values of its Maven expressions.
+     */
+    private static final class Binding {
+
+        private final CompiledCondition condition;
+
+        private final Object[] arguments;
+
+        private final String[] substitutions;
+
+        private Binding(CompiledCondition condition, Object[] arguments, String[] substitutions) {
+            this.condition = condition;
+            this.arguments = arguments;
+            this.substitutions = substitutions;
+        }
+
+        /**
+         * Returns the script after textual substitution of Maven expressions.
+         */
+        String getScript() {
+            return condition.getScript(substitutions);
+        }
+    }
 }
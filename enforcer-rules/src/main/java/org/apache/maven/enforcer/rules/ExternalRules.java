@@ -20,6 +20,7 @@ package org.apache.maven.enforcer.rules;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -33,18 +34,25 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.maven.enforcer.rule.api.AbstractEnforcerRuleConfigProvider;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleError;
-import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.DaemonCache;
 import org.apache.maven.enforcer.rules.utils.ExpressionEvaluator;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecution;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.SessionData;
 
 /**
  * An enforcer rule that will provide rules configuration from an external resource.
@@ -56,6 +64,8 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 public final class ExternalRules extends AbstractEnforcerRuleConfigProvider {
     private static final String LOCATION_PREFIX_CLASSPATH = "classpath:";
 
+    private static final String DAEMON_CACHE_PREFIX = ExternalRules.class.getName() + ":";
+
     /**
      * The external rules location. If it starts with <code>classpath:</code> the resource is read from the classpath.
      * Otherwise, it is handled as a filesystem path, either absolute, or relative to <code>${project.basedir}</code>
@@ -130,10 +140,17 @@ public final class ExternalRules extends AbstractEnforcerRuleConfigProvider {
 
     private final ExpressionEvaluator evaluator;
 
+    private final MavenSession session;
+
+    private final DaemonCache daemonCache;
+
     @Inject
-    public ExternalRules(MojoExecution mojoExecution, ExpressionEvaluator evaluator) {
+    public ExternalRules(
+            MojoExecution mojoExecution, ExpressionEvaluator evaluator, MavenSession session, DaemonCache daemonCache) {
         this.mojoExecution = Objects.requireNonNull(mojoExecution);
         this.evaluator = Objects.requireNonNull(evaluator);
+        this.session = Objects.requireNonNull(session);
+        this.daemonCache = Objects.requireNonNull(daemonCache);
     }
 
     public void setLocation(String location) {
@@ -147,7 +164,37 @@ public final class ExternalRules extends AbstractEnforcerRuleConfigProvider {
     @Override
     public Xpp3Dom getRulesConfig() throws EnforcerRuleError {
 
-        try (InputStream descriptorStream = transform(location, resolveDescriptor(location), xsltLocation)) {
+        Descriptor descriptor = resolveDescriptor(location);
+        Descriptor xslt =
+                xsltLocation == null || xsltLocation.trim().isEmpty() ? null : resolveDescriptor(xsltLocation);
+
+        String cacheKey = xslt == null ? descriptor.getKey() : descriptor.getKey() + "|" + xslt.getKey();
+        RulesCache cache = getRulesCache();
+
+        Xpp3Dom rulesConfig = cache.rules.get(cacheKey);
+        if (rulesConfig == null) {
+            // rules parsed by a previous build in the same daemon are valid as long as the content is the same
+            String daemonKey = DAEMON_CACHE_PREFIX
+                    + (xslt == null ? descriptor.getLocation() : descriptor.getLocation() + "|" + xslt.getLocation());
+            rulesConfig = daemonCache.get(daemonKey, cacheKey);
+            if (rulesConfig == null) {
+                rulesConfig = parseRulesConfig(descriptor, xslt, cache);
+                daemonCache.put(daemonKey, cacheKey, rulesConfig, 4L * descriptor.getContentLength());
+            } else {
+                getLog().debug(() -> "Use rules cached by daemon for: " + location);
+            }
+            cache.rules.putIfAbsent(cacheKey, rulesConfig);
+        } else {
+            getLog().debug(() -> "Use cached rules for: " + location);
+        }
+
+        // cached instance is shared across modules, so always return a copy
+        return new Xpp3Dom(rulesConfig);
+    }
+
+    private Xpp3Dom parseRulesConfig(Descriptor descriptor, Descriptor xslt, RulesCache cache)
+            throws EnforcerRuleError {
+        try (InputStream descriptorStream = transform(location, descriptor.openStream(), xslt, cache)) {
             Xpp3Dom enforcerRules = Xpp3DomBuilder.build(descriptorStream, "UTF-8");
             if (enforcerRules.getChildCount() == 1 && "enforcer".equals(enforcerRules.getName())) {
                 return enforcerRules.getChild(0);
@@ -159,22 +206,27 @@ public final class ExternalRules extends AbstractEnforcerRuleConfigProvider {
         }
     }
 
-    private InputStream resolveDescriptor(String path) throws EnforcerRuleError {
-        InputStream descriptorStream;
+    private Descriptor resolveDescriptor(String path) throws EnforcerRuleError {
         if (path != null) {
             if (path.startsWith(LOCATION_PREFIX_CLASSPATH)) {
                 String classpathLocation = path.substring(LOCATION_PREFIX_CLASSPATH.length());
                 getLog().debug("Read rules form classpath location: " + classpathLocation);
                 ClassLoader classRealm = mojoExecution.getMojoDescriptor().getRealm();
-                descriptorStream = classRealm.getResourceAsStream(classpathLocation);
-                if (descriptorStream == null) {
+                URL descriptorUrl = classRealm.getResource(classpathLocation);
+                if (descriptorUrl == null) {
                     throw new EnforcerRuleError("Location '" + classpathLocation + "' not found in classpath");
                 }
+                try (InputStream descriptorStream = descriptorUrl.openStream()) {
+                    return new Descriptor(descriptorUrl.toExternalForm(), IOUtils.toByteArray(descriptorStream));
+                } catch (IOException e) {
+                    throw new EnforcerRuleError("Could not read descriptor in " + descriptorUrl, e);
+                }
             } else {
                 File descriptorFile = evaluator.alignToBaseDirectory(new File(path));
                 getLog().debug("Read rules form file location: " + descriptorFile);
                 try {
-                    descriptorStream = Files.newInputStream(descriptorFile.toPath());
+                    byte[] content = Files.readAllBytes(descriptorFile.toPath());
+                    return new Descriptor(descriptorFile.getAbsolutePath(), content);
                 } catch (IOException e) {
                     throw new EnforcerRuleError("Could not read descriptor in " + descriptorFile, e);
                 }
@@ -182,7 +234,17 @@ public final class ExternalRules extends AbstractEnforcerRuleConfigProvider {
         } else {
             throw new EnforcerRuleError("No location provided");
         }
-        return descriptorStream;
+    }
+
+    private RulesCache getRulesCache() {
+        SessionData sessionData = session.getRepositorySession().getData();
+        RulesCache cache = (RulesCache) sessionData.get(RulesCache.class);
+        if (cache == null) {
+            // only the first writer wins, concurrent modules will pick up its instance
+            sessionData.set(RulesCache.class, null, new RulesCache());
+            cache = (RulesCache) sessionData.get(RulesCache.class);
+        }
+        return cache;
     }
 
     @Override
@@ -190,26 +252,77 @@ public final class ExternalRules extends AbstractEnforcerRuleConfigProvider {
         return String.format("ExternalRules[location=%s, xsltLocation=%s]", location, xsltLocation);
     }
 
-    InputStream transform(String sourceLocation, InputStream sourceXml, String xsltLocation) {
-        if (xsltLocation == null || xsltLocation.trim().isEmpty()) {
+    InputStream transform(String sourceLocation, InputStream sourceXml, Descriptor xslt, RulesCache cache) {
+        if (xslt == null) {
             return sourceXml;
         }
 
-        try (InputStream in = resolveDescriptor(xsltLocation);
-                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            Transformer transformer = TransformerFactory.newInstance().newTransformer(new StreamSource(in));
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            Templates templates = cache.templates.get(xslt.getKey());
+            if (templates == null) {
+                templates = TransformerFactory.newInstance().newTemplates(new StreamSource(xslt.openStream()));
+                cache.templates.putIfAbsent(xslt.getKey(), templates);
+            }
+            Transformer transformer = templates.newTransformer();
             transformer.transform(new StreamSource(sourceXml), new StreamResult(baos));
             final byte[] bytes = baos.toByteArray();
             getLog().info(() -> ("Rules transformed by " + xsltLocation + " from " + location + ":\n\n"
                     + new String(bytes, StandardCharsets.UTF_8)));
             return new ByteArrayInputStream(bytes);
-        } catch (IOException
-                | EnforcerRuleException
-                | TransformerConfigurationException
-                | TransformerFactoryConfigurationError e) {
+        } catch (IOException | TransformerConfigurationException | TransformerFactoryConfigurationError e) {
             throw new RuntimeException("Could not open resource " + xsltLocation);
         } catch (TransformerException e) {
             throw new RuntimeException("Could not transform " + sourceLocation + " using XSLT " + xsltLocation);
         }
     }
+
+    /**
+     * Content of a resolved rules or XSLT resource.
+     */
+    static final class Descriptor {
+
+        private final String location;
+
+        private final String key;
+
+        private final byte[] content;
+
+        Descriptor(String resolvedLocation, byte[] content) {
+            this.location = resolvedLocation;
+            this.key = resolvedLocation + "@" + DigestUtils.sha256Hex(content);
+            this.content = content;
+        }
+
+        /**
+         * @return a resolved location
+         */
+        String getLocation() {
+            return location;
+        }
+
+        /**
+         * @return a key build from resolved location and content hash
+         */
+        String getKey() {
+            return key;
+        }
+
+        InputStream openStream() {
+            return new ByteArrayInputStream(content);
+        }
+
+        int getContentLength() {
+            return content.length;
+        }
+    }
+
+    /**
+     * Parsed rules and compiled XSLT templates shared in the current session.
+     */
+    static final class RulesCache {
+
+        private final Map<String, Xpp3Dom> rules = new ConcurrentHashMap<>();
+
+        private final Map<String, Templates> templates = new ConcurrentHashMap<>();
+    }
 }
@@ -22,6 +22,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.project.MavenProject;
@@ -48,6 +50,11 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
 
     private final MavenSession session;
 
+    private CoordinateTable coordinateTable;
+
+    // ids of coordinates of all projects in the reactor
+    private BitSet reactorCoordinates;
+
     @Inject
     public ReactorModuleConvergence(MavenSession session) {
         this.session = Objects.requireNonNull(session);
@@ -58,6 +65,11 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
 
         List<MavenProject> sortedProjects = session.getProjectDependencyGraph().getSortedProjects();
         if (sortedProjects != null && !sortedProjects.isEmpty()) {
+            coordinateTable = CoordinateTable.of(session.getRepositorySession());
+            reactorCoordinates = new BitSet();
+            for (MavenProject mavenProject : sortedProjects) {
+                reactorCoordinates.set(coordinateTable.idOf(mavenProject.getGroupId(), mavenProject.getArtifactId()));
+            }
             checkReactor(sortedProjects);
             checkParentsInReactor(sortedProjects);
             checkMissingParentsInReactor(sortedProjects);
@@ -181,7 +193,7 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
         List<MavenProject> result = new ArrayList<>();
 
         for (MavenProject mavenProject : sortedProjects) {
-            getLog().debug("Project: " + mavenProject.getId());
+            getLog().debug(() -> "Project: " + mavenProject.getId());
             if (hasParent(mavenProject)) {
                 if (!mavenProject.isExecutionRoot()) {
                     MavenProject parent = mavenProject.getParent();
@@ -203,11 +215,11 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
         List<MavenProject> result = new ArrayList<>();
 
         for (MavenProject mavenProject : sortedProjects) {
-            getLog().debug("Project: " + mavenProject.getId());
+            getLog().debug(() -> "Project: " + mavenProject.getId());
             if (hasParent(mavenProject)) {
                 if (!mavenProject.isExecutionRoot()) {
                     MavenProject parent = mavenProject.getParent();
-                    if (!isProjectPartOfTheReactor(parent, sortedProjects)) {
+                    if (!isProjectPartOfTheReactor(parent)) {
                         result.add(mavenProject);
                     }
                 }
@@ -221,16 +233,15 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
      * This will check of the groupId/artifactId can be found in any reactor project. The version will be ignored cause
      * versions are checked before.
      *
-     * @param project        The project which should be checked if it is contained in the sortedProjects.
-     * @param sortedProjects The list of existing projects.
-     * @return true if the project has been found within the list false otherwise.
+     * @param project        The project which should be checked if it is contained in the reactor.
+     * @return true if the project has been found within the reactor false otherwise.
      */
-    private boolean isProjectPartOfTheReactor(MavenProject project, List<MavenProject> sortedProjects) {
-        return isGAPartOfTheReactor(project.getGroupId(), project.getArtifactId(), sortedProjects);
+    private boolean isProjectPartOfTheReactor(MavenProject project) {
+        return isGAPartOfTheReactor(project.getGroupId(), project.getArtifactId());
     }
 
-    private boolean isDependencyPartOfTheReactor(Dependency dependency, List<MavenProject> sortedProjects) {
-        return isGAPartOfTheReactor(dependency.getGroupId(), dependency.getArtifactId(), sortedProjects);
+    private boolean isDependencyPartOfTheReactor(Dependency dependency) {
+        return isGAPartOfTheReactor(dependency.getGroupId(), dependency.getArtifactId());
     }
 
     /**
@@ -238,19 +249,11 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
      *
      * @param groupId        The groupId
      * @param artifactId     The artifactId
-     * @param sortedProjects The list of projects within the reactor.
      * @return true if the groupId/artifactId is part of the reactor false otherwise.
      */
-    private boolean isGAPartOfTheReactor(String groupId, String artifactId, List<MavenProject> sortedProjects) {
-        boolean result = false;
-        for (MavenProject mavenProject : sortedProjects) {
-            String parentId = groupId + ":" + artifactId;
-            String projectId = mavenProject.getGroupId() + ":" + mavenProject.getArtifactId();
-            if (parentId.equals(projectId)) {
-                result = true;
-            }
-        }
-        return result;
+    private boolean isGAPartOfTheReactor(String groupId, String artifactId) {
+        int id = coordinateTable.find(groupId, artifactId);
+        return id != CoordinateTable.UNKNOWN && reactorCoordinates.get(id);
     }
 
     /**
@@ -265,7 +268,7 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
         List<MavenProject> result = new ArrayList<>();
 
         for (MavenProject mavenProject : sortedProjects) {
-            getLog().debug("Project: " + mavenProject.getId());
+            getLog().debug(() -> "Project: " + mavenProject.getId());
             if (!hasParent(mavenProject)) {
                 // TODO: Should add an option to force having a parent?
                 if (mavenProject.isExecutionRoot()) {
@@ -318,14 +321,14 @@ public final class ReactorModuleConvergence extends AbstractStandardEnforcerRule
             {
         Map<MavenProject, List<Dependency>> result = new HashMap<>();
         for (MavenProject mavenProject : sortedProjects) {
-            getLog().debug("Project: " + mavenProject.getId());
+            getLog().debug(() -> "Project: " + mavenProject.getId());
 
             List<Dependency> dependencies = mavenProject.getDependencies();
             if (hasDependencies(dependencies)) {
                 for (Dependency dependency : dependencies) {
-                    getLog().debug(" -> Dep:" + dependency.getGroupId() + ":" + dependency.getArtifactId() + ":"
+                    getLog().debug(() -> " -> Dep:" + dependency.getGroupId() + ":" + dependency.getArtifactId() + ":"
                             + dependency.getVersion());
-                    if (isDependencyPartOfTheReactor(dependency, sortedProjects)) {
+                    if (isDependencyPartOfTheReactor(dependency)) {
                         if (!dependency.getVersion().equals(reactorVersion)) {
                             addDep(result, mavenProject, dependency);
                         }
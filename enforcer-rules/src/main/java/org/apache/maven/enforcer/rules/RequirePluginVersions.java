@@ -40,6 +40,7 @@ import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleError;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.utils.EnforcerRuleUtils;
@@ -923,6 +924,11 @@ public final class RequirePluginVersions extends AbstractStandardEnforcerRule {
         this.banTimestamps = banTimestamps;
     }
 
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.FILE_IO;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.checksum;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
+
+/**
+ * Stops reading of a stream when a rule execution is cancelled.
+ */
+class CancellableInputStream extends FilterInputStream {
+
+    private final EnforcerCancellationToken cancellation;
+
+    CancellableInputStream(InputStream in, EnforcerCancellationToken cancellation) {
+        super(in);
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkCancelled();
+        return super.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkCancelled();
+        return super.read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkCancelled();
+        return super.skip(n);
+    }
+
+    private void checkCancelled() throws InterruptedIOException {
+        if (cancellation.isCancelled()) {
+            throw new InterruptedIOException(cancellation.getReason());
+        }
+    }
+}
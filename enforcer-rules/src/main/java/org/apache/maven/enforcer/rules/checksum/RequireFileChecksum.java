@@ -23,9 +23,11 @@ import javax.inject.Named;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleError;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
@@ -151,23 +153,34 @@ public class RequireFileChecksum extends AbstractStandardEnforcerRule {
     }
 
     protected String calculateChecksum(InputStream inputStream) throws IOException, EnforcerRuleException {
+        InputStream cancellableStream = new CancellableInputStream(inputStream, getCancellationToken());
         String result;
-        if ("md5".equals(this.type)) {
-            result = DigestUtils.md5Hex(inputStream);
-        } else if ("sha1".equals(this.type)) {
-            result = DigestUtils.sha1Hex(inputStream);
-        } else if ("sha256".equals(this.type)) {
-            result = DigestUtils.sha256Hex(inputStream);
-        } else if ("sha384".equals(this.type)) {
-            result = DigestUtils.sha384Hex(inputStream);
-        } else if ("sha512".equals(this.type)) {
-            result = DigestUtils.sha512Hex(inputStream);
-        } else {
-            throw new EnforcerRuleError("Unsupported hash type: " + this.type);
+        try {
+            if ("md5".equals(this.type)) {
+                result = DigestUtils.md5Hex(cancellableStream);
+            } else if ("sha1".equals(this.type)) {
+                result = DigestUtils.sha1Hex(cancellableStream);
+            } else if ("sha256".equals(this.type)) {
+                result = DigestUtils.sha256Hex(cancellableStream);
+            } else if ("sha384".equals(this.type)) {
+                result = DigestUtils.sha384Hex(cancellableStream);
+            } else if ("sha512".equals(this.type)) {
+                result = DigestUtils.sha512Hex(cancellableStream);
+            } else {
+                throw new EnforcerRuleError("Unsupported hash type: " + this.type);
+            }
+        } catch (InterruptedIOException e) {
+            getCancellationToken().throwIfCancelled();
+            throw e;
         }
         return result;
     }
 
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.FILE_IO;
+    }
+
     @Override
     public String toString() {
         return String.format(
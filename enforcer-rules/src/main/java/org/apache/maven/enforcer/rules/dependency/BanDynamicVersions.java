@@ -30,6 +30,7 @@ import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
 import org.apache.maven.enforcer.rules.utils.ArtifactMatcher;
@@ -220,8 +221,8 @@ public final class BanDynamicVersions extends AbstractStandardEnforcerRule {
 
     @Override
     public void execute() throws EnforcerRuleException {
-        DependencyNode rootDependency =
-                resolverUtil.resolveTransitiveDependencies(verbose, excludeOptionals, excludedScopes);
+        DependencyNode rootDependency = resolverUtil.resolveTransitiveDependencies(
+                verbose, excludeOptionals, excludedScopes, getCancellationToken());
 
         List<String> violations = collectDependenciesWithBannedDynamicVersions(rootDependency);
         if (!violations.isEmpty()) {
@@ -270,6 +271,16 @@ public final class BanDynamicVersions extends AbstractStandardEnforcerRule {
         this.verbose = verbose;
     }
 
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.GRAPH_COLLECTION;
+    }
+
+    @Override
+    public String getSharedResource() {
+        return ResolverUtil.dependencyGraph(verbose, false, excludeOptionals, excludedScopes);
+    }
+
     @Override
     public String toString() {
         return String.format(
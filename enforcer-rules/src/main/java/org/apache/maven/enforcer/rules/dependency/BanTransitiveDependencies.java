@@ -21,23 +21,29 @@ package org.apache.maven.enforcer.rules.dependency;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.RepositoryUtils;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolationException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
 import org.apache.maven.enforcer.rules.utils.ArtifactMatcher;
 import org.apache.maven.enforcer.rules.utils.ArtifactUtils;
+import org.apache.maven.enforcer.rules.utils.DependencyViolationSink;
 import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.ArtifactTypeRegistry;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 
-import static java.util.Optional.ofNullable;
+import static org.apache.maven.artifact.Artifact.SCOPE_PROVIDED;
+import static org.apache.maven.artifact.Artifact.SCOPE_TEST;
 
 /**
  * This rule bans all transitive dependencies. There is a configuration option to exclude certain artifacts from being
@@ -77,64 +83,43 @@ public final class BanTransitiveDependencies extends AbstractStandardEnforcerRul
     }
 
     /**
-     * Searches dependency tree recursively for transitive dependencies that are not excluded, while generating nice
-     * info message along the way.
+     * Searches dependency tree recursively for transitive dependencies that are not excluded, reporting them
+     * to the sink. Only the first transitive dependency of a branch is reported, together with excluded
+     * dependencies found before it.
      */
     private static boolean searchTree(
             DependencyNode node,
             int level,
             ArtifactMatcher excludes,
-            Set<Dependency> directDependencies,
-            StringBuilder message) {
+            DirectDependencies directDependencies,
+            DependencyViolationSink violations) {
 
-        List<DependencyNode> children = node.getChildren();
-
-        /*
-         * if the node is deeper than direct dependency and is empty, it is transitive.
-         */
-        boolean hasTransitiveDependencies = level > 1;
-
-        boolean excluded = false;
-
-        /*
-         * holds recursive message from children, will be appended to current message if this node has any transitive
-         * descendants if message is null, don't generate recursive message.
-         */
-        StringBuilder messageFromChildren = message == null ? null : new StringBuilder();
-
-        if (excludes.match(ArtifactUtils.toArtifact(node))) {
+        violations.enter(node);
+        boolean hasTransitiveDependencies = false;
+        if (!excludes.isEmpty() && excludes.match(ArtifactUtils.toArtifact(node))) {
             // is excluded, we don't care about descendants
-            excluded = true;
-            hasTransitiveDependencies = false;
+            violations.note("[excluded]");
         } else if (directDependencies.contains(node.getDependency())) {
-            hasTransitiveDependencies = false;
+            // is declared directly, so it is not a transitive dependency
+        } else if (level > 1) {
+            // descendants of a transitive dependency are transitive too, so they are not reported
+            violations.report(null);
+            hasTransitiveDependencies = true;
         } else {
-            for (DependencyNode childNode : children) {
-                /*
-                 * if any of the children has transitive d. so does the parent
-                 */
-                hasTransitiveDependencies = hasTransitiveDependencies
-                        || searchTree(childNode, level + 1, excludes, directDependencies, messageFromChildren);
-            }
-        }
-
-        if ((excluded || hasTransitiveDependencies) && message != null) // then generate message
-        {
-            message.append(StringUtils.repeat("   ", level)).append(node.getArtifact());
-
-            if (excluded) {
-                message.append(" [excluded]").append(System.lineSeparator());
-            }
-
-            if (hasTransitiveDependencies) {
-                if (level > 0) {
-                    message.append(" has transitive dependencies:");
+            int mark = violations.mark();
+            for (DependencyNode childNode : node.getChildren()) {
+                // if any of the children has transitive dependencies, so does the parent
+                if (searchTree(childNode, level + 1, excludes, directDependencies, violations)) {
+                    hasTransitiveDependencies = true;
+                    break;
                 }
-
-                message.append(System.lineSeparator()).append(messageFromChildren);
+            }
+            if (!hasTransitiveDependencies) {
+                // excluded descendants are reported only for a branch with transitive dependencies
+                violations.reset(mark);
             }
         }
-
+        violations.leave();
         return hasTransitiveDependencies;
     }
 
@@ -143,19 +128,62 @@ public final class BanTransitiveDependencies extends AbstractStandardEnforcerRul
         ArtifactTypeRegistry artifactTypeRegistry =
                 session.getRepositorySession().getArtifactTypeRegistry();
         ArtifactMatcher exclusions = new ArtifactMatcher(excludes, includes);
-        Set<Dependency> directDependencies = session.getCurrentProject().getDependencies().stream()
-                .map(d -> RepositoryUtils.toDependency(d, artifactTypeRegistry))
-                .collect(Collectors.toSet());
-
-        DependencyNode rootNode = resolverUtil.resolveTransitiveDependencies();
-        StringBuilder generatedMessage = new StringBuilder();
-        if (searchTree(rootNode, 0, exclusions, directDependencies, generatedMessage)) {
-            throw new EnforcerRuleException(ofNullable(getMessage()).orElse(generatedMessage.toString()));
+        DirectDependencies directDependencies = new DirectDependencies();
+        session.getCurrentProject()
+                .getDependencies()
+                .forEach(d -> directDependencies.add(RepositoryUtils.toDependency(d, artifactTypeRegistry)));
+
+        DependencyNode rootNode = resolverUtil.resolveProjectDependencies(
+                false, true, Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED), getCancellationToken());
+        DependencyViolationSink violations = new DependencyViolationSink(node -> String.valueOf(node.getArtifact()));
+        if (searchTree(rootNode, 0, exclusions, directDependencies, violations)) {
+            if (getMessage() != null) {
+                throw new EnforcerRuleViolationException(getMessage(), violations.getViolations(), (v, m) -> {});
+            }
+            throw violations.toException(null, " ", " has transitive dependencies:");
         }
     }
 
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.GRAPH_COLLECTION;
+    }
+
+    @Override
+    public String getSharedResource() {
+        return ResolverUtil.dependencyGraph(false, false, true, Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED));
+    }
+
     @Override
     public String toString() {
         return String.format("BanTransitiveDependencies[message=%s, excludes=%s]", getMessage(), excludes);
     }
+
+    /**
+     * Direct dependencies indexed by {@code groupId} and {@code artifactId}, so a lookup of a node doesn't hash
+     * or compare whole artifacts and exclusions of all direct dependencies.
+     */
+    private static final class DirectDependencies {
+
+        private final Map<String, Map<String, List<Dependency>>> dependencies = new HashMap<>();
+
+        void add(Dependency dependency) {
+            Artifact artifact = dependency.getArtifact();
+            dependencies
+                    .computeIfAbsent(artifact.getGroupId(), g -> new HashMap<>())
+                    .computeIfAbsent(artifact.getArtifactId(), a -> new ArrayList<>(1))
+                    .add(dependency);
+        }
+
+        boolean contains(Dependency dependency) {
+            if (dependency == null) {
+                return false;
+            }
+            Artifact artifact = dependency.getArtifact();
+            Map<String, List<Dependency>> artifactIds = dependencies.get(artifact.getGroupId());
+            List<Dependency> candidates = artifactIds == null ? null : artifactIds.get(artifact.getArtifactId());
+            // the same coordinates can be declared more times, with a different classifier or type
+            return candidates != null && candidates.contains(dependency);
+        }
+    }
 }
@@ -20,16 +20,18 @@ package org.apache.maven.enforcer.rules.dependency;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
 import org.apache.maven.enforcer.rules.utils.ArtifactMatcher.MatchingArtifact;
 import org.apache.maven.enforcer.rules.utils.ArtifactUtils;
+import org.apache.maven.enforcer.rules.utils.DependencyViolationSink;
 import org.apache.maven.execution.MavenSession;
 import org.eclipse.aether.graph.DependencyNode;
 
@@ -105,41 +107,62 @@ abstract class BannedDependenciesBase extends AbstractStandardEnforcerRule {
                 throw new EnforcerRuleException(message + result);
             }
         } else {
-            StringBuilder messageBuilder = new StringBuilder();
-            DependencyNode rootNode = resolverUtil.resolveTransitiveDependenciesVerbose(Collections.emptyList());
+            DependencyNode rootNode = resolverUtil.resolveTransitiveDependenciesVerbose(
+                    Collections.emptyList(), getCancellationToken());
+            DependencyViolationSink violations =
+                    new DependencyViolationSink(node -> ArtifactUtils.toArtifact(node).getId());
             Set<MatchingArtifact> visitedArtifacts = new HashSet<>();
-            if (!validate(rootNode, 0, messageBuilder, visitedArtifacts)) {
-                String message = "";
+            Set<List<DependencyNode>> visitedChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+            if (!validate(rootNode, 0, violations, visitedArtifacts, visitedChildren)) {
+                String message = null;
                 if (getMessage() != null) {
                     message = getMessage() + System.lineSeparator();
                 }
-                throw new EnforcerRuleException(message + messageBuilder);
+                throw violations.toException(message, " <--- ", null);
             }
         }
     }
 
+    /**
+     * Validates artifacts of a node and of its subtree, each artifact is validated and reported only at its
+     * first occurrence.
+     * <p>
+     * The resolver shares nodes and lists of children between occurrences of the same dependency in the graph.
+     * All artifacts in a subtree of already visited children were validated at its first occurrence, so such
+     * a subtree can't report new violations and is not traversed again. The number of checks is linear in
+     * the number of unique nodes instead of the number of paths.
+     *
+     * @param node a node to validate
+     * @param level a depth of the node, the root at level {@code 0} is not validated
+     * @param violations a sink of found violations, paths are built only for reported violations
+     * @param visitedArtifacts artifacts already validated
+     * @param visitedChildren lists of children already traversed, compared by identity
+     * @return {@code true} if no new violation was found in the subtree
+     */
     protected boolean validate(
-            DependencyNode node, int level, StringBuilder messageBuilder, Set<MatchingArtifact> visitedArtifacts) {
-        Artifact artifact = ArtifactUtils.toArtifact(node);
-        boolean rootFailed = false;
-        if (level > 0 && visitedArtifacts.add(new MatchingArtifact(artifact))) {
-            rootFailed = !validate(artifact);
+            DependencyNode node,
+            int level,
+            DependencyViolationSink violations,
+            Set<MatchingArtifact> visitedArtifacts,
+            Set<List<DependencyNode>> visitedChildren) {
+        boolean passed = true;
+        violations.enter(node);
+        if (level > 0) {
+            Artifact artifact = ArtifactUtils.toArtifact(node);
+            if (visitedArtifacts.add(new MatchingArtifact(artifact)) && !validate(artifact)) {
+                violations.report(getErrorMessage());
+                passed = false;
+            }
         }
-        StringBuilder childMessageBuilder = new StringBuilder();
-        if (!node.getChildren().stream()
-                        .map(childNode -> validate(childNode, level + 1, childMessageBuilder, visitedArtifacts))
-                        .reduce(true, Boolean::logicalAnd)
-                || rootFailed) {
-            messageBuilder
-                    .append(StringUtils.repeat("   ", level))
-                    .append(ArtifactUtils.toArtifact(node).getId());
-            if (rootFailed) {
-                messageBuilder.append(" <--- ").append(getErrorMessage());
+        List<DependencyNode> children = node.getChildren();
+        if (!children.isEmpty() && visitedChildren.add(children)) {
+            for (DependencyNode childNode : children) {
+                // all children are validated, so all violations are reported
+                passed &= validate(childNode, level + 1, violations, visitedArtifacts, visitedChildren);
             }
-            messageBuilder.append(System.lineSeparator()).append(childMessageBuilder);
-            return false;
         }
-        return true;
+        violations.leave();
+        return passed;
     }
 
     protected abstract String getErrorMessage();
@@ -214,4 +237,14 @@ abstract class BannedDependenciesBase extends AbstractStandardEnforcerRule {
     public boolean isSearchTransitive() {
         return searchTransitive;
     }
+
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.GRAPH_COLLECTION;
+    }
+
+    @Override
+    public String getSharedResource() {
+        return searchTransitive ? ResolverUtil.dependencyGraph(true, false, true, Collections.emptyList()) : null;
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Dependency graph of a project built from artifacts which were already collected by Maven
+ * for the current mojo, instead of a new collection.
+ * <p>
+ * Maven keeps a dependency trail for each collected artifact, which is a path from the project in the graph
+ * with resolved conflicts. So the graph can be rebuilt, when Maven collected the same dependencies as requested
+ * by a rule. Nodes of the graph contain only dependencies, without version constraints and repositories,
+ * declared dependencies of the project keep their exclusions.
+ * <p>
+ * Declared dependencies not requested by a rule, e.g. with the {@code test} scope, are removed with their
+ * subtrees. Maven widens a scope of an artifact reachable from more dependencies, so an artifact with
+ * an excluded scope is not reachable from requested dependencies, and the graph is the same as a graph
+ * collected only for requested dependencies. When a removed subtree contains an artifact with a requested
+ * scope, the graph is not built. A declared dependency hides other occurrences of the same artifact,
+ * like in the graph of Maven, so such an artifact is not in the graph, even if a requested dependency
+ * depends on it.
+ *
+ * @since 3.6.4
+ */
+final class CollectedDependencyGraph {
+
+    private CollectedDependencyGraph() {}
+
+    /**
+     * Build a dependency graph of given project.
+     *
+     * @param project a project with collected artifacts
+     * @param artifactTypeRegistry a registry of artifact types
+     * @param excludeOptional ignore optional project dependencies
+     * @param excludedScopes the scopes of project dependencies to ignore
+     * @return a root of the graph, or {@code null} if collected artifacts don't satisfy the request
+     */
+    static DependencyNode build(
+            MavenProject project,
+            ArtifactTypeRegistry artifactTypeRegistry,
+            boolean excludeOptional,
+            List<String> excludedScopes) {
+
+        Set<Artifact> artifacts = project.getArtifacts();
+        if (artifacts == null || project.getArtifact() == null) {
+            return null;
+        }
+
+        // artifacts collected by Maven match declared versions of project dependencies
+        Map<String, Dependency> declared = new HashMap<>();
+        Set<String> ignored = new HashSet<>();
+        for (org.apache.maven.model.Dependency dependency : project.getDependencies()) {
+            Dependency aetherDependency = RepositoryUtils.toDependency(dependency, artifactTypeRegistry);
+            if ((excludeOptional && dependency.isOptional()) || excludedScopes.contains(dependency.getScope())) {
+                // such dependencies were collected by Maven, but not requested
+                ignored.add(toId(aetherDependency.getArtifact()));
+            } else {
+                declared.put(toId(aetherDependency.getArtifact()), aetherDependency);
+            }
+        }
+
+        String rootId = project.getArtifact().getId();
+        DependencyNode root = new DefaultDependencyNode(RepositoryUtils.toArtifact(project.getArtifact()));
+        Map<String, DependencyNode> nodes = new HashMap<>();
+        nodes.put(rootId, root);
+        Set<String> removed = new HashSet<>();
+
+        int directDependencies = 0;
+        // collected artifacts are kept in order of the graph traversal, so parents are visited before children
+        for (Artifact artifact : artifacts) {
+            List<String> trail = artifact.getDependencyTrail();
+            if (trail == null || trail.size() < 2 || !rootId.equals(trail.get(0))) {
+                return null;
+            }
+            String parentId = trail.get(trail.size() - 2);
+            if (removed.contains(parentId)) {
+                if (!excludedScopes.contains(artifact.getScope())) {
+                    // the artifact is reachable from a requested dependency too
+                    return null;
+                }
+                removed.add(artifact.getId());
+                continue;
+            }
+            DependencyNode parent = nodes.get(parentId);
+            if (parent == null) {
+                return null;
+            }
+
+            org.eclipse.aether.artifact.Artifact aetherArtifact = RepositoryUtils.toArtifact(artifact);
+            Dependency dependency;
+            if (parent == root) {
+                String id = toId(aetherArtifact);
+                if (ignored.contains(id)) {
+                    removed.add(artifact.getId());
+                    continue;
+                }
+                dependency = declared.get(id);
+                if (dependency == null) {
+                    return null;
+                }
+                // as in a collected graph, scope and optional flag of a declared dependency are always set
+                dependency = dependency.setScope(artifact.getScope()).setOptional(artifact.isOptional());
+                if (artifact.getFile() != null) {
+                    dependency = dependency.setArtifact(dependency.getArtifact().setFile(artifact.getFile()));
+                }
+                directDependencies++;
+            } else {
+                dependency = new Dependency(aetherArtifact, artifact.getScope(), artifact.isOptional());
+            }
+
+            DependencyNode node = new DefaultDependencyNode(dependency);
+            parent.getChildren().add(node);
+            nodes.put(artifact.getId(), node);
+        }
+
+        // otherwise Maven collected only a part of dependencies, e.g. for a narrower scope
+        return directDependencies == declared.size() ? root : null;
+    }
+
+    private static String toId(org.eclipse.aether.artifact.Artifact artifact) {
+        return artifact.getGroupId() + ':' + artifact.getArtifactId() + ':' + artifact.getExtension() + ':'
+                + artifact.getClassifier() + ':' + artifact.getVersion();
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+
+/**
+ * Immutable compact representation of a collected dependency graph, built once per collection
+ * and shared by all rules checking the same graph, see {@link SharedDependencyGraph}.
+ * <p>
+ * Each occurrence of a node in the graph has an index given by a depth-first pre-order traversal, the root
+ * has index {@code 0}. Parents, depths and subtree ranges of nodes are kept in {@code int} arrays,
+ * so no maps keyed by nodes are needed. Coordinates {@code groupId:artifactId} are interned in
+ * a {@link CoordinateTable} and get dense ids local to the graph, indexes of nodes with the same coordinates
+ * are grouped in pre-order.
+ *
+ * @since 3.6.4
+ */
+final class CompactDependencyGraph {
+
+    /**
+     * Id of coordinates of a node without an artifact.
+     */
+    static final int NO_COORDINATES = -1;
+
+    private final DependencyNode[] nodes;
+
+    private final int[] parents;
+
+    private final int[] depths;
+
+    private final int[] subtreeEnds;
+
+    private final int[] coordinateIds;
+
+    private final CoordinateTable table;
+
+    private final String[] coordinates;
+
+    // nodes of coordinates with id i are coordinateNodes[coordinateOffsets[i]] .. [coordinateOffsets[i + 1] - 1]
+    private final int[] coordinateOffsets;
+
+    private final int[] coordinateNodes;
+
+    private CompactDependencyGraph(Builder builder) {
+        int size = builder.size;
+        nodes = Arrays.copyOf(builder.nodes, size);
+        parents = Arrays.copyOf(builder.parents, size);
+        depths = Arrays.copyOf(builder.depths, size);
+        subtreeEnds = Arrays.copyOf(builder.subtreeEnds, size);
+        coordinateIds = Arrays.copyOf(builder.coordinateIds, size);
+        table = builder.table;
+        coordinates = builder.coordinates.toArray(new String[0]);
+
+        coordinateOffsets = new int[coordinates.length + 1];
+        for (int coordinateId : coordinateIds) {
+            if (coordinateId != NO_COORDINATES) {
+                coordinateOffsets[coordinateId + 1]++;
+            }
+        }
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinateOffsets[i + 1] += coordinateOffsets[i];
+        }
+        coordinateNodes = new int[coordinateOffsets[coordinates.length]];
+        int[] positions = Arrays.copyOf(coordinateOffsets, coordinates.length);
+        for (int index = 0; index < size; index++) {
+            if (coordinateIds[index] != NO_COORDINATES) {
+                coordinateNodes[positions[coordinateIds[index]]++] = index;
+            }
+        }
+    }
+
+    /**
+     * Build a new compact graph of given dependency graph.
+     *
+     * @param root a root of a dependency graph
+     * @param table a table used to intern coordinates
+     * @return a compact graph
+     */
+    static CompactDependencyGraph build(DependencyNode root, CoordinateTable table) {
+        Builder builder = new Builder(table);
+        root.accept(builder);
+        return new CompactDependencyGraph(builder);
+    }
+
+    /**
+     * @return number of nodes
+     */
+    int size() {
+        return nodes.length;
+    }
+
+    /**
+     * @param index an index of a node
+     * @return the node
+     */
+    DependencyNode getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * @param index an index of a node
+     * @return an index of the parent node, or {@code -1} for the root
+     */
+    int getParent(int index) {
+        return parents[index];
+    }
+
+    /**
+     * @param index an index of a node
+     * @return number of ancestors of the node, {@code 0} for the root
+     */
+    int getDepth(int index) {
+        return depths[index];
+    }
+
+    /**
+     * Nodes of a subtree have consecutive indexes, starting with the index of its root.
+     *
+     * @param index an index of a node
+     * @return an index following the last node in the subtree of the node
+     */
+    int getSubtreeEnd(int index) {
+        return subtreeEnds[index];
+    }
+
+    /**
+     * @param index an index of a node
+     * @return an id of {@code groupId:artifactId} of the node, or {@link #NO_COORDINATES}
+     */
+    int getCoordinateId(int index) {
+        return coordinateIds[index];
+    }
+
+    /**
+     * @return the table used to intern coordinates of this graph
+     */
+    CoordinateTable getCoordinateTable() {
+        return table;
+    }
+
+    /**
+     * @return number of distinct coordinates, ids are from {@code 0} to this number
+     */
+    int getCoordinateCount() {
+        return coordinates.length;
+    }
+
+    /**
+     * @param coordinateId an id of coordinates
+     * @return coordinates in form of {@code groupId:artifactId}
+     */
+    String getCoordinates(int coordinateId) {
+        return coordinates[coordinateId];
+    }
+
+    /**
+     * @param coordinateId an id of coordinates
+     * @return number of nodes with given coordinates
+     */
+    int getNodeCountOf(int coordinateId) {
+        return coordinateOffsets[coordinateId + 1] - coordinateOffsets[coordinateId];
+    }
+
+    /**
+     * Nodes with the same coordinates are ordered by their indexes.
+     *
+     * @param coordinateId an id of coordinates
+     * @param position a position of the node, from {@code 0} to {@link #getNodeCountOf(int)}
+     * @return an index of the node at given position among nodes with given coordinates
+     */
+    int getNodeOf(int coordinateId, int position) {
+        return coordinateNodes[coordinateOffsets[coordinateId] + position];
+    }
+
+    /**
+     * @param index an index of a node
+     * @return nodes on the path from the root to the node, both inclusive
+     */
+    List<DependencyNode> getPath(int index) {
+        List<DependencyNode> path = new ArrayList<>(depths[index] + 1);
+        for (int current = index; current != -1; current = parents[current]) {
+            path.add(nodes[current]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactDependencyGraph[nodes=" + nodes.length + ", coordinates=" + coordinates.length + "]";
+    }
+
+    private static final class Builder implements DependencyVisitor {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private DependencyNode[] nodes = new DependencyNode[INITIAL_CAPACITY];
+
+        private int[] parents = new int[INITIAL_CAPACITY];
+
+        private int[] depths = new int[INITIAL_CAPACITY];
+
+        private int[] subtreeEnds = new int[INITIAL_CAPACITY];
+
+        private int[] coordinateIds = new int[INITIAL_CAPACITY];
+
+        private int size;
+
+        // indexes of nodes on the path from the root to the current node
+        private int[] path = new int[INITIAL_CAPACITY];
+
+        private int pathLength;
+
+        private final CoordinateTable table;
+
+        // local ids of coordinates indexed by their ids in the table
+        private int[] localIds = new int[0];
+
+        private final List<String> coordinates = new ArrayList<>();
+
+        Builder(CoordinateTable table) {
+            this.table = table;
+        }
+
+        @Override
+        public boolean visitEnter(DependencyNode node) {
+            if (size == nodes.length) {
+                int capacity = size * 2;
+                nodes = Arrays.copyOf(nodes, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+                subtreeEnds = Arrays.copyOf(subtreeEnds, capacity);
+                coordinateIds = Arrays.copyOf(coordinateIds, capacity);
+            }
+            if (pathLength == path.length) {
+                path = Arrays.copyOf(path, pathLength * 2);
+            }
+            int index = size++;
+            nodes[index] = node;
+            parents[index] = pathLength == 0 ? -1 : path[pathLength - 1];
+            depths[index] = pathLength;
+            coordinateIds[index] = intern(node.getArtifact());
+            path[pathLength++] = index;
+            return true;
+        }
+
+        @Override
+        public boolean visitLeave(DependencyNode node) {
+            subtreeEnds[path[--pathLength]] = size;
+            return true;
+        }
+
+        private int intern(Artifact artifact) {
+            if (artifact == null) {
+                return NO_COORDINATES;
+            }
+            int tableId = table.idOf(artifact.getGroupId(), artifact.getArtifactId());
+            if (tableId >= localIds.length) {
+                int length = localIds.length;
+                localIds = Arrays.copyOf(localIds, Math.max(tableId + 1, length * 2));
+                Arrays.fill(localIds, length, localIds.length, NO_COORDINATES);
+            }
+            if (localIds[tableId] == NO_COORDINATES) {
+                localIds[tableId] = coordinates.size();
+                coordinates.add(table.getCoordinates(tableId));
+            }
+            return localIds[tableId];
+        }
+    }
+}
@@ -23,11 +23,13 @@ import javax.inject.Named;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolation;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolationException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
 import org.apache.maven.enforcer.rules.utils.ArtifactUtils;
 import org.eclipse.aether.graph.DependencyNode;
@@ -53,7 +55,7 @@ public final class DependencyConvergence extends AbstractStandardEnforcerRule {
 
     // parameters - end
 
-    private DependencyVersionMap dependencyVersionMap;
+    private CompactDependencyGraph graph;
 
     private final ResolverUtil resolverUtil;
 
@@ -65,60 +67,77 @@ public final class DependencyConvergence extends AbstractStandardEnforcerRule {
     @Override
     public void execute() throws EnforcerRuleException {
 
-        DependencyNode node = resolverUtil.resolveTransitiveDependenciesVerbose(excludedScopes);
-        dependencyVersionMap = new DependencyVersionMap().setUniqueVersions(uniqueVersions);
-        node.accept(dependencyVersionMap);
+        graph = resolverUtil.resolveCompactGraphVerbose(excludedScopes, getCancellationToken());
+        DependencyVersionMap dependencyVersionMap =
+                new DependencyVersionMap(graph).setUniqueVersions(uniqueVersions).visitGraph();
 
-        List<String> errorMsgs =
-                getConvergenceErrorMsgs(dependencyVersionMap.getConflictedVersionNumbers(includes, excludes));
+        List<EnforcerRuleViolation> violations =
+                getConvergenceViolations(dependencyVersionMap.getConflictedVersionNumbers(includes, excludes));
 
-        if (!errorMsgs.isEmpty()) {
-            throw new EnforcerRuleException("Failed while enforcing releasability." + System.lineSeparator()
-                    + String.join(System.lineSeparator(), errorMsgs));
+        if (!violations.isEmpty()) {
+            throw new EnforcerRuleViolationException(
+                    "Failed while enforcing releasability." + System.lineSeparator(),
+                    violations,
+                    DependencyConvergence::renderConvergenceErrors);
         }
     }
 
-    private StringBuilder buildTreeString(DependencyNode node) {
+    private List<String> buildPath(int index) {
         List<String> loc = new ArrayList<>();
-        DependencyNode currentNode = node;
-        while (currentNode != null) {
+        for (DependencyNode currentNode : graph.getPath(index)) {
             // ArtifactUtils.toArtifact(node) adds scope and optional information, if present
             loc.add(ArtifactUtils.toArtifact(currentNode).toString());
-            currentNode = dependencyVersionMap.getParent(currentNode);
         }
-        Collections.reverse(loc);
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < loc.size(); i++) {
-            for (int j = 0; j < i; j++) {
-                builder.append("  ");
+        return loc;
+    }
+
+    private List<EnforcerRuleViolation> getConvergenceViolations(List<List<Integer>> errors) {
+        List<EnforcerRuleViolation> violations = new ArrayList<>();
+        for (List<Integer> indexes : errors) {
+            String reason = "Dependency convergence error for " + graph.getNode(indexes.get(0)).getArtifact();
+            for (int index : indexes) {
+                violations.add(new EnforcerRuleViolation(buildPath(index), reason));
             }
-            builder.append("+-").append(loc.get(i)).append(System.lineSeparator());
         }
-        return builder;
+        return violations;
     }
 
-    private List<String> getConvergenceErrorMsgs(List<List<DependencyNode>> errors) {
-        List<String> errorMsgs = new ArrayList<>();
-        for (List<DependencyNode> nodeList : errors) {
-            errorMsgs.add(buildConvergenceErrorMsg(nodeList));
+    /**
+     * Violations of one conflict have the same reason and are reported one after another.
+     */
+    private static void renderConvergenceErrors(List<EnforcerRuleViolation> violations, StringBuilder message) {
+        String previousReason = null;
+        for (EnforcerRuleViolation violation : violations) {
+            if (violation.getReason().equals(previousReason)) {
+                message.append("and").append(System.lineSeparator());
+            } else {
+                if (previousReason != null) {
+                    message.append(System.lineSeparator());
+                }
+                message.append(System.lineSeparator())
+                        .append(violation.getReason())
+                        .append(". Paths to dependency are:")
+                        .append(System.lineSeparator());
+                previousReason = violation.getReason();
+            }
+            List<String> path = violation.getPath();
+            for (int i = 0; i < path.size(); i++) {
+                for (int j = 0; j < i; j++) {
+                    message.append("  ");
+                }
+                message.append("+-").append(path.get(i)).append(System.lineSeparator());
+            }
         }
-        return errorMsgs;
     }
 
-    private String buildConvergenceErrorMsg(List<DependencyNode> nodeList) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(System.lineSeparator())
-                .append("Dependency convergence error for ")
-                .append(nodeList.get(0).getArtifact().toString())
-                .append(". Paths to dependency are:")
-                .append(System.lineSeparator());
-        if (nodeList.size() > 0) {
-            builder.append(buildTreeString(nodeList.get(0)));
-        }
-        for (DependencyNode node : nodeList.subList(1, nodeList.size())) {
-            builder.append("and").append(System.lineSeparator()).append(buildTreeString(node));
-        }
-        return builder.toString();
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.GRAPH_COLLECTION;
+    }
+
+    @Override
+    public String getSharedResource() {
+        return ResolverUtil.dependencyGraph(true, false, true, excludedScopes);
     }
 
     @Override
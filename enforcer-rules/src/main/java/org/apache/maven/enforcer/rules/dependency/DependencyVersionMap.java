@@ -19,28 +19,31 @@
 package org.apache.maven.enforcer.rules.dependency;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Predicate;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.enforcer.rules.utils.ArtifactUtils;
-import org.apache.maven.enforcer.rules.utils.ParentNodeProvider;
-import org.apache.maven.enforcer.rules.utils.ParentsVisitor;
 import org.eclipse.aether.artifact.Artifact;
-import org.eclipse.aether.graph.DependencyNode;
-import org.eclipse.aether.graph.DependencyVisitor;
 
 /**
  * @author Brian Fox
  */
-class DependencyVersionMap implements DependencyVisitor, ParentNodeProvider {
-    private ParentsVisitor parentsVisitor;
+class DependencyVersionMap {
+    private final CompactDependencyGraph graph;
     private boolean uniqueVersions;
-    private final Map<String, List<DependencyNode>> idsToNode = new HashMap<>();
-
-    DependencyVersionMap() {
-        this.parentsVisitor = new ParentsVisitor();
+    // nodes visited by the traversal, children of a node with conflicting coordinates are not visited
+    private final BitSet visited;
+    // version of the first visited node of each coordinates
+    private final String[] firstVersions;
+    // coordinates with different versions of visited nodes, a conflict is never resolved by visiting more nodes
+    private final BitSet conflicting;
+
+    DependencyVersionMap(CompactDependencyGraph graph) {
+        this.graph = graph;
+        this.visited = new BitSet(graph.size());
+        this.firstVersions = new String[graph.getCoordinateCount()];
+        this.conflicting = new BitSet(graph.getCoordinateCount());
     }
 
     public DependencyVersionMap setUniqueVersions(boolean uniqueVersions) {
@@ -48,118 +51,89 @@ class DependencyVersionMap implements DependencyVisitor, ParentNodeProvider {
         return this;
     }
 
-    @Override
-    public boolean visitEnter(DependencyNode node) {
-        addDependency(node);
-        return parentsVisitor.visitEnter(node) && !containsConflicts(node);
-    }
-
-    @Override
-    public boolean visitLeave(DependencyNode node) {
-        return parentsVisitor.visitLeave(node);
-    }
-
-    @Override
-    public DependencyNode getParent(DependencyNode node) {
-        return parentsVisitor.getParent(node);
-    }
-
-    private String constructKey(DependencyNode node) {
-        return constructKey(node.getArtifact());
-    }
-
-    private String constructKey(Artifact artifact) {
-        return artifact.getGroupId() + ":" + artifact.getArtifactId();
+    /**
+     * Visit nodes of the graph in pre-order, skipping subtrees of nodes which are already in conflict.
+     * Each node is visited at most once.
+     *
+     * @return this map
+     */
+    public DependencyVersionMap visitGraph() {
+        int index = 0;
+        while (index < graph.size()) {
+            visited.set(index);
+            int coordinateId = graph.getCoordinateId(index);
+            if (coordinateId != CompactDependencyGraph.NO_COORDINATES && addVersion(coordinateId, index)) {
+                index = graph.getSubtreeEnd(index);
+            } else {
+                index++;
+            }
+        }
+        return this;
     }
 
-    public void addDependency(DependencyNode node) {
-        String key = constructKey(node);
-        idsToNode.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+    /**
+     * @return {@code true} if coordinates of the node are in conflict after the node was visited
+     */
+    private boolean addVersion(int coordinateId, int index) {
+        String version = getVersion(graph.getNode(index).getArtifact());
+        String firstVersion = firstVersions[coordinateId];
+        if (firstVersion == null) {
+            firstVersions[coordinateId] = version;
+        } else if (!conflicting.get(coordinateId) && firstVersion.compareTo(version) != 0) {
+            conflicting.set(coordinateId);
+        }
+        return conflicting.get(coordinateId);
     }
 
     private String getVersion(Artifact artifact) {
         return uniqueVersions ? artifact.getVersion() : artifact.getBaseVersion();
     }
 
-    private boolean containsConflicts(DependencyNode node) {
-        return containsConflicts(node.getArtifact());
-    }
-
-    private boolean containsConflicts(Artifact artifact) {
-        return containsConflicts(idsToNode.get(constructKey(artifact)));
-    }
-
-    private boolean containsConflicts(List<DependencyNode> nodes) {
-        String version = null;
-        for (DependencyNode node : nodes) {
-            if (version == null) {
-                version = getVersion(node.getArtifact());
-            } else {
-                if (version.compareTo(getVersion(node.getArtifact())) != 0) {
-                    return true;
+    /**
+     * Only coordinates in conflict are checked, patterns are compiled once.
+     *
+     * @param includes patterns of included artifacts
+     * @param excludes patterns of excluded artifacts
+     * @return for each conflict, indexes of visited nodes with the same coordinates in pre-order
+     */
+    public List<List<Integer>> getConflictedVersionNumbers(List<String> includes, List<String> excludes) {
+        Predicate<org.apache.maven.artifact.Artifact> included = includes == null || includes.isEmpty()
+                ? artifact -> true
+                : ArtifactUtils.prepareDependencyArtifactMatcher(includes);
+        Predicate<org.apache.maven.artifact.Artifact> excluded =
+                ArtifactUtils.prepareDependencyArtifactMatcher(excludes);
+        boolean filtered = includes != null || excludes != null;
+
+        List<List<Integer>> output = new ArrayList<>();
+        for (int coordinateId = conflicting.nextSetBit(0);
+                coordinateId >= 0;
+                coordinateId = conflicting.nextSetBit(coordinateId + 1)) {
+            List<Integer> filteredIndexes = new ArrayList<>();
+            String firstVersion = null;
+            boolean conflict = false;
+            for (int position = 0; position < graph.getNodeCountOf(coordinateId); position++) {
+                int index = graph.getNodeOf(coordinateId, position);
+                if (!visited.get(index)) {
+                    continue;
                 }
-            }
-        }
-        return false;
-    }
-
-    public List<List<DependencyNode>> getConflictedVersionNumbers(List<String> includes, List<String> excludes) {
-        List<String> formattedIncludes = formatPatterns(includes);
-        List<String> formattedExcludes = formatPatterns(excludes);
-        List<List<DependencyNode>> output = new ArrayList<>();
-        for (List<DependencyNode> nodes : idsToNode.values()) {
-            List<DependencyNode> filteredNodes = nodes;
-            if (formattedIncludes != null || formattedExcludes != null) {
-                filteredNodes = new ArrayList<>();
-                for (DependencyNode node : nodes) {
-                    if (includeArtifact(node, formattedIncludes, formattedExcludes)) {
-                        filteredNodes.add(node);
+                if (filtered) {
+                    org.apache.maven.artifact.Artifact artifact = ArtifactUtils.toArtifact(graph.getNode(index));
+                    if (!included.test(artifact) || excluded.test(artifact)) {
+                        continue;
                     }
                 }
-            }
-            if (containsConflicts(filteredNodes)) {
-                output.add(filteredNodes);
-            }
-        }
-        return output;
-    }
-
-    private static boolean includeArtifact(DependencyNode node, List<String> includes, List<String> excludes) {
-        boolean included = includes == null || includes.isEmpty();
-        if (!included) {
-            for (String pattern : includes) {
-                if (ArtifactUtils.compareDependency(pattern, ArtifactUtils.toArtifact(node))) {
-                    included = true;
-                    break;
+                String version = getVersion(graph.getNode(index).getArtifact());
+                if (firstVersion == null) {
+                    firstVersion = version;
+                } else if (firstVersion.compareTo(version) != 0) {
+                    conflict = true;
                 }
+                filteredIndexes.add(index);
             }
-        }
-        if (!included) {
-            return false;
-        }
-        boolean excluded = false;
-        if (excludes != null) {
-            for (String pattern : excludes) {
-                if (ArtifactUtils.compareDependency(pattern, ArtifactUtils.toArtifact(node))) {
-                    excluded = true;
-                    break;
-                }
+            if (conflict) {
+                output.add(filteredIndexes);
             }
         }
-        return !excluded;
-    }
-
-    private static List<String> formatPatterns(List<String> patterns) {
-        if (patterns == null) {
-            return null;
-        }
-        List<String> formattedPatterns = new ArrayList<>();
-        for (String pattern : patterns) {
-            String[] subStrings = pattern.split(":");
-            subStrings = StringUtils.stripAll(subStrings);
-            String formattedPattern = StringUtils.join(subStrings, ":");
-            formattedPatterns.add(formattedPattern);
-        }
-        return formattedPatterns;
+        return output;
     }
 }
@@ -33,6 +33,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
@@ -43,11 +44,16 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.maven.RepositoryUtils;
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
 import org.apache.maven.enforcer.rule.api.EnforcerLogger;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
 import org.apache.maven.enforcer.rules.utils.ArtifactMatcher;
 import org.apache.maven.enforcer.rules.utils.ArtifactUtils;
+import org.apache.maven.enforcer.rules.utils.DaemonCache;
+import org.apache.maven.enforcer.rules.utils.EnforcerEvents;
+import org.apache.maven.enforcer.rules.utils.EventSpan;
 import org.apache.maven.execution.MavenSession;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
@@ -74,6 +80,11 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
 
     private static final Pattern MULTI_RELEASE = Pattern.compile("META-INF/versions/(\\d+)/.*");
 
+    /**
+     * Estimated size of a cached check result, i.e. options used as a key and an empty problem.
+     */
+    private static final long CHECK_RESULT_SIZE = 512;
+
     private static final Map<String, Integer> JDK_TO_MAJOR_VERSION_NUMBER_MAPPING = new LinkedHashMap<>();
 
     static {
@@ -221,10 +232,13 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
 
     private final ResolverUtil resolverUtil;
 
+    private final DaemonCache daemonCache;
+
     @Inject
-    EnforceBytecodeVersion(MavenSession session, ResolverUtil resolverUtil) {
+    EnforceBytecodeVersion(MavenSession session, ResolverUtil resolverUtil, DaemonCache daemonCache) {
         this.session = requireNonNull(session);
         this.resolverUtil = requireNonNull(resolverUtil);
+        this.daemonCache = requireNonNull(daemonCache);
     }
 
     @Override
@@ -237,8 +251,11 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
                     .map(ma -> new Dependency(RepositoryUtils.toArtifact(ma), ma.getScope(), ma.isOptional()))
                     .collect(Collectors.toList());
         } else {
-            dependencies = dependencyGraphToList(resolverUtil.resolveTransitiveDependencies(
-                    false, true, ignoreOptionals, ignoredScopes == null ? Collections.emptyList() : ignoredScopes));
+            dependencies = dependencyGraphToList(resolverUtil.resolveProjectDependencies(
+                    true,
+                    ignoreOptionals,
+                    ignoredScopes == null ? Collections.emptyList() : ignoredScopes,
+                    getCancellationToken()));
         }
         List<Dependency> foundExcludes = checkDependencies(filterDependencies(dependencies));
         // if any are found, fail the check but list all of them
@@ -291,6 +308,7 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
         long beforeCheck = System.currentTimeMillis();
         List<Dependency> problematic = new ArrayList<>();
         for (Dependency dependency : dependencies) {
+            getCancellationToken().throwIfCancelled();
             getLog().debug("Analyzing artifact " + dependency);
             String problem = isBadDependency(dependency);
             if (problem != null) {
@@ -330,12 +348,30 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
                 (ConcurrentMap<ChecksOptions, Boolean>) session.getRepositorySession()
                         .getData()
                         .computeIfAbsent(getClass().getSimpleName(), ConcurrentHashMap::new);
-        if (processOncePerSession && performedChecks.putIfAbsent(checksOptions, Boolean.TRUE) != null) {
-            // we already performed checks on this file with these parameters
-            return null;
-        }
+        try (EventSpan event = EnforcerEvents.jarScan(checksOptions.id, session.getCurrentProject())) {
+            if (processOncePerSession && performedChecks.putIfAbsent(checksOptions, Boolean.TRUE) != null) {
+                // we already performed checks on this file with these parameters
+                event.setCacheOutcome(EventSpan.CACHE_HIT);
+                return null;
+            }
 
-        return performCheck(getLog(), checksOptions);
+            // result of a previous build in the same daemon is valid as long as the file is not modified
+            Object fingerprint = DaemonCache.fingerprint(f);
+            Optional<String> cachedProblem = daemonCache.get(checksOptions, fingerprint);
+            if (cachedProblem != null) {
+                event.setCacheOutcome(EventSpan.CACHE_HIT);
+                return cachedProblem.orElse(null);
+            }
+            event.setCacheOutcome(EventSpan.CACHE_MISS);
+
+            String problem = performCheck(getLog(), checksOptions, getCancellationToken());
+            daemonCache.put(
+                    checksOptions,
+                    fingerprint,
+                    Optional.ofNullable(problem),
+                    CHECK_RESULT_SIZE + (problem == null ? 0 : 2L * problem.length()));
+            return problem;
+        }
     }
 
     /**
@@ -427,7 +463,9 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
         return result.toString();
     }
 
-    private static String performCheck(EnforcerLogger log, ChecksOptions options) throws EnforcerRuleException {
+    private static String performCheck(
+            EnforcerLogger log, ChecksOptions options, EnforcerCancellationToken cancellation)
+            throws EnforcerRuleException {
         Predicate<String> ignorableClasses = null;
         for (String ignorableClass : options.ignorableClasses) {
             Pattern pattern = Pattern.compile(asRegex(ignorableClass.replace('.', '/')));
@@ -442,6 +480,7 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
             log.debug(options.file.getName() + " => " + options.file.getPath());
             byte[] magicAndClassFileVersion = new byte[8];
             for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+                cancellation.throwIfCancelled();
                 JarEntry entry = e.nextElement();
                 if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
                     if (ignorableClasses != null && ignorableClasses.test(entry.getName())) {
@@ -545,4 +584,9 @@ public class EnforceBytecodeVersion extends AbstractStandardEnforcerRule {
                 .filter(includeExcludeMatcher.and(scopeMatcher))
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.JAR_SCAN;
+    }
 }
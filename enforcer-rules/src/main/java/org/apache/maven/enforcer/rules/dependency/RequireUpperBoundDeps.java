@@ -23,23 +23,19 @@ import javax.inject.Named;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.OverConstrainedVersionException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
 import org.apache.maven.enforcer.rules.utils.ArtifactUtils;
-import org.apache.maven.enforcer.rules.utils.ParentNodeProvider;
-import org.apache.maven.enforcer.rules.utils.ParentsVisitor;
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
 import org.eclipse.aether.graph.DependencyNode;
-import org.eclipse.aether.graph.DependencyVisitor;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
 
 import static org.apache.maven.artifact.Artifact.SCOPE_PROVIDED;
@@ -78,7 +74,7 @@ public final class RequireUpperBoundDeps extends AbstractStandardEnforcerRule {
      */
     private List<String> excludedScopes = Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED);
 
-    private RequireUpperBoundDepsVisitor upperBoundDepsVisitor;
+    private CompactDependencyGraph graph;
 
     private final ResolverUtil resolverUtil;
 
@@ -106,24 +102,22 @@ public final class RequireUpperBoundDeps extends AbstractStandardEnforcerRule {
 
     @Override
     public void execute() throws EnforcerRuleException {
-        DependencyNode node = resolverUtil.resolveTransitiveDependenciesVerbose(excludedScopes);
-        upperBoundDepsVisitor = new RequireUpperBoundDepsVisitor()
+        graph = resolverUtil.resolveCompactGraphVerbose(excludedScopes, getCancellationToken());
+        getLog().debug(() -> resolverUtil.dumpTree(graph.getNode(0)));
+        List<String> errorMessages = buildErrorMessages(new UpperBoundConflicts()
                 .setUniqueVersions(uniqueVersions)
-                .setIncludes(includes);
-        getLog().debug(() -> resolverUtil.dumpTree(node));
-        node.accept(upperBoundDepsVisitor);
-        List<String> errorMessages = buildErrorMessages(upperBoundDepsVisitor.getConflicts());
+                .setIncludes(includes)
+                .getConflicts(graph));
         if (!errorMessages.isEmpty()) {
             throw new EnforcerRuleException(
                     "Failed while enforcing RequireUpperBoundDeps. The error(s) are " + errorMessages);
         }
     }
 
-    private List<String> buildErrorMessages(List<List<DependencyNode>> conflicts) {
+    private List<String> buildErrorMessages(List<List<Integer>> conflicts) {
         List<String> errorMessages = new ArrayList<>(conflicts.size());
-        for (List<DependencyNode> conflict : conflicts) {
-            org.eclipse.aether.artifact.Artifact artifact = conflict.get(0).getArtifact();
-            String groupArt = artifact.getGroupId() + ":" + artifact.getArtifactId();
+        for (List<Integer> conflict : conflicts) {
+            String groupArt = graph.getCoordinates(graph.getCoordinateId(conflict.get(0)));
             if (excludes != null && excludes.contains(groupArt)) {
                 getLog().info("Ignoring requireUpperBoundDeps in " + groupArt);
             } else {
@@ -133,28 +127,27 @@ public final class RequireUpperBoundDeps extends AbstractStandardEnforcerRule {
         return errorMessages;
     }
 
-    private String buildErrorMessage(List<DependencyNode> conflict) {
+    private String buildErrorMessage(List<Integer> conflict) {
         StringBuilder errorMessage = new StringBuilder();
         errorMessage
                 .append(System.lineSeparator())
                 .append("Require upper bound dependencies error for ")
-                .append(getFullArtifactName(conflict.get(0), false))
+                .append(getFullArtifactName(graph.getNode(conflict.get(0)), false))
                 .append(". Paths to dependency are:")
                 .append(System.lineSeparator());
         if (conflict.size() > 0) {
             errorMessage.append(buildTreeString(conflict.get(0)));
         }
-        for (DependencyNode node : conflict.subList(1, conflict.size())) {
+        for (int index : conflict.subList(1, conflict.size())) {
             errorMessage.append("and").append(System.lineSeparator());
-            errorMessage.append(buildTreeString(node));
+            errorMessage.append(buildTreeString(index));
         }
         return errorMessage.toString();
     }
 
-    private StringBuilder buildTreeString(DependencyNode node) {
+    private StringBuilder buildTreeString(int index) {
         List<String> loc = new ArrayList<>();
-        DependencyNode currentNode = node;
-        while (currentNode != null) {
+        for (DependencyNode currentNode : graph.getPath(index)) {
             StringBuilder line = new StringBuilder(getFullArtifactName(currentNode, false));
 
             if (DependencyManagerUtils.getPremanagedVersion(currentNode) != null) {
@@ -163,9 +156,7 @@ public final class RequireUpperBoundDeps extends AbstractStandardEnforcerRule {
             }
 
             loc.add(line.toString());
-            currentNode = upperBoundDepsVisitor.getParent(currentNode);
         }
-        Collections.reverse(loc);
         StringBuilder builder = new StringBuilder();
         for (int i = 0; i < loc.size(); i++) {
             for (int j = 0; j < i; j++) {
@@ -199,64 +190,52 @@ public final class RequireUpperBoundDeps extends AbstractStandardEnforcerRule {
         return result;
     }
 
-    private static class RequireUpperBoundDepsVisitor implements DependencyVisitor, ParentNodeProvider {
+    /**
+     * Search for nodes with versions lower than versions of the same artifact elsewhere in a graph.
+     */
+    private static class UpperBoundConflicts {
 
-        private final ParentsVisitor parentsVisitor = new ParentsVisitor();
         private boolean uniqueVersions;
+
         private List<String> includes = null;
 
-        public RequireUpperBoundDepsVisitor setUniqueVersions(boolean uniqueVersions) {
+        UpperBoundConflicts setUniqueVersions(boolean uniqueVersions) {
             this.uniqueVersions = uniqueVersions;
             return this;
         }
 
-        public RequireUpperBoundDepsVisitor setIncludes(List<String> includes) {
+        UpperBoundConflicts setIncludes(List<String> includes) {
             this.includes = includes;
             return this;
         }
 
-        private final Map<String, List<DependencyNodeHopCountPair>> keyToPairsMap = new HashMap<>();
-
-        @Override
-        public boolean visitEnter(DependencyNode node) {
-            parentsVisitor.visitEnter(node);
-            DependencyNodeHopCountPair pair = new DependencyNodeHopCountPair(node, this);
-            String key = pair.constructKey();
-
-            if (includes != null && !includes.isEmpty() && !includes.contains(key)) {
-                return true;
-            }
-
-            keyToPairsMap.computeIfAbsent(key, k1 -> new ArrayList<>()).add(pair);
-            keyToPairsMap.get(key).sort(DependencyNodeHopCountPair::compareTo);
-            return true;
-        }
-
-        @Override
-        public boolean visitLeave(DependencyNode node) {
-            return parentsVisitor.visitLeave(node);
-        }
-
-        public List<List<DependencyNode>> getConflicts() {
-            List<List<DependencyNode>> output = new ArrayList<>();
-            for (List<DependencyNodeHopCountPair> pairs : keyToPairsMap.values()) {
-                if (containsConflicts(pairs)) {
-                    List<DependencyNode> outputSubList = new ArrayList<>(pairs.size());
-                    for (DependencyNodeHopCountPair pair : pairs) {
-                        outputSubList.add(pair.getNode());
-                    }
-                    output.add(outputSubList);
+        /**
+         * @return for each conflict, indexes of all nodes with the same coordinates, the nearest to the root first
+         */
+        List<List<Integer>> getConflicts(CompactDependencyGraph graph) {
+            List<List<Integer>> conflicts = new ArrayList<>();
+            for (int coordinateId = 0; coordinateId < graph.getCoordinateCount(); coordinateId++) {
+                if (includes != null && !includes.isEmpty() && !includes.contains(graph.getCoordinates(coordinateId))) {
+                    continue;
+                }
+                List<Integer> indexes = new ArrayList<>(graph.getNodeCountOf(coordinateId));
+                for (int position = 0; position < graph.getNodeCountOf(coordinateId); position++) {
+                    indexes.add(graph.getNodeOf(coordinateId, position));
+                }
+                // the sort is stable, so nodes with the same depth stay in pre-order
+                indexes.sort(Comparator.comparingInt(graph::getDepth));
+                if (containsConflicts(graph, indexes)) {
+                    conflicts.add(indexes);
                 }
             }
-            return output;
+            return conflicts;
         }
 
-        private boolean containsConflicts(List<DependencyNodeHopCountPair> pairs) {
-            DependencyNodeHopCountPair resolvedPair = pairs.get(0);
-            ArtifactVersion resolvedVersion = resolvedPair.extractArtifactVersion(uniqueVersions, false);
-
-            for (DependencyNodeHopCountPair pair : pairs) {
-                ArtifactVersion version = pair.extractArtifactVersion(uniqueVersions, true);
+        private boolean containsConflicts(CompactDependencyGraph graph, List<Integer> indexes) {
+            CoordinateTable table = graph.getCoordinateTable();
+            ArtifactVersion resolvedVersion = extractArtifactVersion(table, graph.getNode(indexes.get(0)), false);
+            for (int index : indexes) {
+                ArtifactVersion version = extractArtifactVersion(table, graph.getNode(index), true);
                 if (resolvedVersion.compareTo(version) < 0) {
                     return true;
                 }
@@ -264,50 +243,16 @@ public final class RequireUpperBoundDeps extends AbstractStandardEnforcerRule {
             return false;
         }
 
-        @Override
-        public DependencyNode getParent(DependencyNode node) {
-            return parentsVisitor.getParent(node);
-        }
-    }
-
-    private static class DependencyNodeHopCountPair implements Comparable<DependencyNodeHopCountPair> {
-        private final DependencyNode node;
-        private int hopCount;
-        private final ParentNodeProvider parentNodeProvider;
-
-        private DependencyNodeHopCountPair(DependencyNode node, ParentNodeProvider parentNodeProvider) {
-            this.parentNodeProvider = parentNodeProvider;
-            this.node = node;
-            countHops();
-        }
-
-        private void countHops() {
-            hopCount = 0;
-            DependencyNode parent = parentNodeProvider.getParent(node);
-            while (parent != null) {
-                hopCount++;
-                parent = parentNodeProvider.getParent(parent);
-            }
-        }
-
-        private String constructKey() {
-            Artifact artifact = ArtifactUtils.toArtifact(node);
-            return artifact.getGroupId() + ":" + artifact.getArtifactId();
-        }
-
-        public DependencyNode getNode() {
-            return node;
-        }
-
-        private ArtifactVersion extractArtifactVersion(boolean uniqueVersions, boolean usePremanagedVersion) {
+        private ArtifactVersion extractArtifactVersion(
+                CoordinateTable table, DependencyNode node, boolean usePremanagedVersion) {
             if (usePremanagedVersion && DependencyManagerUtils.getPremanagedVersion(node) != null) {
-                return new DefaultArtifactVersion(DependencyManagerUtils.getPremanagedVersion(node));
+                return table.getVersion(DependencyManagerUtils.getPremanagedVersion(node));
             }
 
             Artifact artifact = ArtifactUtils.toArtifact(node);
             String version = uniqueVersions ? artifact.getVersion() : artifact.getBaseVersion();
             if (version != null) {
-                return new DefaultArtifactVersion(version);
+                return table.getVersion(version);
             }
             try {
                 return artifact.getSelectedVersion();
@@ -315,13 +260,15 @@ public final class RequireUpperBoundDeps extends AbstractStandardEnforcerRule {
                 throw new RuntimeException("Version ranges problem with " + node.getArtifact(), e);
             }
         }
+    }
 
-        public int getHopCount() {
-            return hopCount;
-        }
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.GRAPH_COLLECTION;
+    }
 
-        public int compareTo(DependencyNodeHopCountPair other) {
-            return Integer.compare(hopCount, other.getHopCount());
-        }
+    @Override
+    public String getSharedResource() {
+        return ResolverUtil.dependencyGraph(true, false, true, excludedScopes);
     }
 }
@@ -21,25 +21,39 @@ package org.apache.maven.enforcer.rules.dependency;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.apache.maven.RepositoryUtils;
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
+import org.apache.maven.enforcer.rules.utils.EnforcerEvents;
+import org.apache.maven.enforcer.rules.utils.EventSpan;
+import org.apache.maven.enforcer.rules.utils.ExecutionCounters;
+import org.apache.maven.enforcer.rules.utils.SharedResources;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
-import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.ArtifactTypeRegistry;
 import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionContext;
 import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.collection.DependencySelector;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.resolution.DependencyRequest;
 import org.eclipse.aether.resolution.DependencyResolutionException;
 import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
@@ -80,22 +94,27 @@ class ResolverUtil {
      * </p>
      *
      * @param excludedScopes the scopes of direct dependencies to ignore
+     * @param cancellation a cancellation of the rule execution
      * @return a Dependency Node which is the root of the project's dependency tree
-     * @throws EnforcerRuleException thrown if the lookup fails
+     * @throws EnforcerRuleException thrown if the lookup fails or was cancelled
      */
-    DependencyNode resolveTransitiveDependenciesVerbose(List<String> excludedScopes) throws EnforcerRuleException {
-        return resolveTransitiveDependencies(true, false, true, excludedScopes);
+    DependencyNode resolveTransitiveDependenciesVerbose(
+            List<String> excludedScopes, EnforcerCancellationToken cancellation) throws EnforcerRuleException {
+        return resolveTransitiveDependencies(true, false, true, excludedScopes, cancellation);
     }
 
     /**
      * Retrieves the {@link DependencyNode} instance containing the result of the transitive dependency
      * for the current {@link MavenProject}.
      *
+     * @param cancellation a cancellation of the rule execution
      * @return a Dependency Node which is the root of the project's dependency tree
-     * @throws EnforcerRuleException thrown if the lookup fails
+     * @throws EnforcerRuleException thrown if the lookup fails or was cancelled
      */
-    DependencyNode resolveTransitiveDependencies() throws EnforcerRuleException {
-        return resolveTransitiveDependencies(false, false, true, Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED));
+    DependencyNode resolveTransitiveDependencies(EnforcerCancellationToken cancellation)
+            throws EnforcerRuleException {
+        return resolveTransitiveDependencies(
+                false, false, true, Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED), cancellation);
     }
 
     /**
@@ -104,35 +123,203 @@ class ResolverUtil {
      *
      * @param excludeOptional ignore optional project artifacts
      * @param excludedScopes the scopes of direct dependencies to ignore
+     * @param cancellation a cancellation of the rule execution
      * @return a Dependency Node which is the root of the project's dependency tree
-     * @throws EnforcerRuleException thrown if the lookup fails
+     * @throws EnforcerRuleException thrown if the lookup fails or was cancelled
      */
-    DependencyNode resolveTransitiveDependencies(boolean excludeOptional, List<String> excludedScopes)
+    DependencyNode resolveTransitiveDependencies(
+            boolean excludeOptional, List<String> excludedScopes, EnforcerCancellationToken cancellation)
             throws EnforcerRuleException {
-        return resolveTransitiveDependencies(false, false, excludeOptional, excludedScopes);
+        return resolveTransitiveDependencies(false, false, excludeOptional, excludedScopes, cancellation);
     }
 
-    DependencyNode resolveTransitiveDependencies(boolean verbose, boolean excludeOptional, List<String> excludedScopes)
+    DependencyNode resolveTransitiveDependencies(
+            boolean verbose,
+            boolean excludeOptional,
+            List<String> excludedScopes,
+            EnforcerCancellationToken cancellation)
             throws EnforcerRuleException {
-        return resolveTransitiveDependencies(verbose, false, excludeOptional, excludedScopes);
+        return resolveTransitiveDependencies(verbose, false, excludeOptional, excludedScopes, cancellation);
     }
 
-    DependencyNode resolveTransitiveDependencies(
-            boolean verbose, boolean resolve, boolean excludeOptional, List<String> excludedScopes)
+    /**
+     * Retrieves the {@link DependencyNode} instance containing the result of the transitive dependency
+     * for the current {@link MavenProject}, reusing dependencies already collected by Maven for the project
+     * when they are the same as requested. Otherwise, dependencies are collected again.
+     * <p>
+     * Nodes of a reused graph contain only dependencies, without version constraints, premanaged data
+     * and repositories, so it is only suitable for rules checking artifacts and scopes.
+     * </p>
+     *
+     * @param resolve whether files of artifacts are required
+     * @param excludeOptional ignore optional project artifacts
+     * @param excludedScopes the scopes of direct dependencies to ignore
+     * @param cancellation a cancellation of the rule execution
+     * @return a Dependency Node which is the root of the project's dependency tree
+     * @throws EnforcerRuleException thrown if the lookup fails or was cancelled
+     */
+    DependencyNode resolveProjectDependencies(
+            boolean resolve,
+            boolean excludeOptional,
+            List<String> excludedScopes,
+            EnforcerCancellationToken cancellation)
             throws EnforcerRuleException {
+        MavenProject project = session.getCurrentProject();
+        DependencyNode root = CollectedDependencyGraph.build(
+                project, session.getRepositorySession().getArtifactTypeRegistry(), excludeOptional, excludedScopes);
+        if (root == null) {
+            return resolveTransitiveDependencies(false, resolve, excludeOptional, excludedScopes, cancellation);
+        }
+        try (EventSpan event = EnforcerEvents.dependencyCollection(false, project)) {
+            event.setCacheOutcome(EventSpan.CACHE_HIT);
+        }
+        if (resolve) {
+            resolveArtifacts(root, project);
+        }
+        return root;
+    }
+
+    /**
+     * Resolves files of artifacts in a graph, which were not resolved by Maven for the current mojo.
+     */
+    private void resolveArtifacts(DependencyNode root, MavenProject project) throws EnforcerRuleException {
+        List<DependencyNode> unresolved = new ArrayList<>();
+        root.accept(new TreeDependencyVisitor(new DependencyVisitor() {
+            @Override
+            public boolean visitEnter(DependencyNode node) {
+                if (node != root && node.getArtifact().getFile() == null) {
+                    unresolved.add(node);
+                }
+                return true;
+            }
 
+            @Override
+            public boolean visitLeave(DependencyNode node) {
+                return true;
+            }
+        }));
+        if (unresolved.isEmpty()) {
+            return;
+        }
+
+        List<ArtifactRequest> requests = new ArrayList<>(unresolved.size());
+        for (DependencyNode node : unresolved) {
+            requests.add(new ArtifactRequest(node.getArtifact(), project.getRemoteProjectRepositories(), null));
+        }
         try {
-            RepositorySystemSession repositorySystemSession = session.getRepositorySession();
+            List<ArtifactResult> results = repositorySystem.resolveArtifacts(session.getRepositorySession(), requests);
+            for (int i = 0; i < results.size(); i++) {
+                unresolved.get(i).setArtifact(results.get(i).getArtifact());
+            }
+        } catch (ArtifactResolutionException e) {
+            throw new EnforcerRuleException("Could not resolve dependencies " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves the {@link DependencyNode} instance containing the result of the transitive dependency
+     * for the current {@link MavenProject}. The graph is collected only once for all rules of the plugin execution
+     * requesting the same graph, so rules must not modify it.
+     *
+     * @param verbose whether all nodes participating in a conflict are retained
+     * @param resolve whether files of artifacts are required
+     * @param excludeOptional ignore optional project artifacts
+     * @param excludedScopes the scopes of direct dependencies to ignore
+     * @param cancellation a cancellation of the rule execution
+     * @return a Dependency Node which is the root of the project's dependency tree
+     * @throws EnforcerRuleException thrown if the lookup fails or was cancelled
+     */
+    DependencyNode resolveTransitiveDependencies(
+            boolean verbose,
+            boolean resolve,
+            boolean excludeOptional,
+            List<String> excludedScopes,
+            EnforcerCancellationToken cancellation)
+            throws EnforcerRuleException {
+        return getSharedGraph(verbose, resolve, excludeOptional, excludedScopes, cancellation)
+                .getRoot();
+    }
+
+    /**
+     * Retrieves a compact representation of the verbose dependency graph of the current {@link MavenProject},
+     * it is built only once for all rules of the plugin execution.
+     *
+     * @param excludedScopes the scopes of direct dependencies to ignore
+     * @param cancellation a cancellation of the rule execution
+     * @return a compact graph
+     * @throws EnforcerRuleException thrown if the lookup fails or was cancelled
+     * @see #resolveTransitiveDependenciesVerbose(List, EnforcerCancellationToken)
+     */
+    CompactDependencyGraph resolveCompactGraphVerbose(
+            List<String> excludedScopes, EnforcerCancellationToken cancellation) throws EnforcerRuleException {
+        return getSharedGraph(true, false, true, excludedScopes, cancellation)
+                .getCompactGraph(getCoordinateTable());
+    }
+
+    /**
+     * Get a key of a dependency graph in {@link SharedResources}, rules using the graph return it
+     * as their shared resource.
+     *
+     * @param verbose whether all nodes participating in a conflict are retained
+     * @param resolve whether files of artifacts are required
+     * @param excludeOptional ignore optional project artifacts
+     * @param excludedScopes the scopes of direct dependencies to ignore
+     * @return a key of the graph
+     */
+    static String dependencyGraph(
+            boolean verbose, boolean resolve, boolean excludeOptional, List<String> excludedScopes) {
+        return "dependency-graph[verbose=" + verbose + ", resolve=" + resolve + ", excludeOptional="
+                + excludeOptional + ", excludedScopes=" + new TreeSet<>(excludedScopes) + "]";
+    }
+
+    private SharedDependencyGraph getSharedGraph(
+            boolean verbose,
+            boolean resolve,
+            boolean excludeOptional,
+            List<String> excludedScopes,
+            EnforcerCancellationToken cancellation)
+            throws EnforcerRuleException {
+        MavenProject project = session.getCurrentProject();
+        boolean[] collected = new boolean[1];
+        SharedDependencyGraph graph = SharedResources.of(session.getRepositorySession())
+                .get(project, dependencyGraph(verbose, resolve, excludeOptional, excludedScopes), () -> {
+                    collected[0] = true;
+                    return new SharedDependencyGraph(
+                            collectDependencies(verbose, resolve, excludeOptional, excludedScopes, cancellation));
+                });
+        if (!collected[0]) {
+            try (EventSpan event = EnforcerEvents.dependencyCollection(verbose, project)) {
+                event.setCacheOutcome(EventSpan.CACHE_HIT);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Collects dependencies of the current {@link MavenProject}, each call collects them again.
+     */
+    DependencyNode collectDependencies(
+            boolean verbose,
+            boolean resolve,
+            boolean excludeOptional,
+            List<String> excludedScopes,
+            EnforcerCancellationToken cancellation)
+            throws EnforcerRuleException {
+
+        MavenProject project = session.getCurrentProject();
+        try (EventSpan event = EnforcerEvents.dependencyCollection(verbose, project)) {
+            DefaultRepositorySystemSession repositorySystemSession =
+                    new DefaultRepositorySystemSession(session.getRepositorySession());
+            // the selector is consulted for each collected dependency
+            LongAdder selectedNodes = new LongAdder();
+            repositorySystemSession.setDependencySelector(new CancellableDependencySelector(
+                    repositorySystemSession.getDependencySelector(), cancellation, selectedNodes));
 
             if (verbose) {
-                DefaultRepositorySystemSession defaultRepositorySystemSession =
-                        new DefaultRepositorySystemSession(repositorySystemSession);
-                defaultRepositorySystemSession.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, true);
-                defaultRepositorySystemSession.setConfigProperty(DependencyManagerUtils.CONFIG_PROP_VERBOSE, true);
-                repositorySystemSession = defaultRepositorySystemSession;
+                repositorySystemSession.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, true);
+                repositorySystemSession.setConfigProperty(DependencyManagerUtils.CONFIG_PROP_VERBOSE, true);
             }
 
-            MavenProject project = session.getCurrentProject();
             ArtifactTypeRegistry artifactTypeRegistry =
                     session.getRepositorySession().getArtifactTypeRegistry();
 
@@ -153,23 +340,37 @@ class ResolverUtil {
                     new CollectRequest(dependencies, managedDependencies, project.getRemoteProjectRepositories());
             collectRequest.setRootArtifact(RepositoryUtils.toArtifact(project.getArtifact()));
 
+            DependencyNode root;
             if (resolve) {
                 DependencyRequest dependencyRequest = new DependencyRequest();
                 dependencyRequest.setCollectRequest(collectRequest);
 
-                return repositorySystem
+                root = repositorySystem
                         .resolveDependencies(repositorySystemSession, dependencyRequest)
                         .getRoot();
             } else {
-                return repositorySystem
+                root = repositorySystem
                         .collectDependencies(repositorySystemSession, collectRequest)
                         .getRoot();
             }
+            // selected dependencies and the root
+            ExecutionCounters.graphCollected(selectedNodes.sum() + 1);
+            return root;
         } catch (DependencyCollectionException | DependencyResolutionException e) {
             throw new EnforcerRuleException("Could not build dependency tree " + e.getLocalizedMessage(), e);
+        } catch (CancellationException e) {
+            cancellation.throwIfCancelled();
+            throw e;
         }
     }
 
+    /**
+     * @return a table of coordinates and versions shared by all rules in the current session
+     */
+    CoordinateTable getCoordinateTable() {
+        return CoordinateTable.of(session.getRepositorySession());
+    }
+
     /**
      * Dump a {@link DependencyNode} as a tree.
      *
@@ -201,4 +402,60 @@ class ResolverUtil {
 
         return result;
     }
+
+    /**
+     * Stops a dependency collection when a rule execution is cancelled and counts selected dependencies.
+     */
+    private static final class CancellableDependencySelector implements DependencySelector {
+
+        private final DependencySelector delegate;
+
+        private final EnforcerCancellationToken cancellation;
+
+        // shared by derived selectors, the collector may select dependencies on several threads
+        private final LongAdder selected;
+
+        private CancellableDependencySelector(
+                DependencySelector delegate, EnforcerCancellationToken cancellation, LongAdder selected) {
+            this.delegate = delegate;
+            this.cancellation = Objects.requireNonNull(cancellation, "cancellation");
+            this.selected = selected;
+        }
+
+        @Override
+        public boolean selectDependency(Dependency dependency) {
+            if (cancellation.isCancelled()) {
+                throw new CancellationException(cancellation.getReason());
+            }
+            if (delegate == null || delegate.selectDependency(dependency)) {
+                selected.increment();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public DependencySelector deriveChildSelector(DependencyCollectionContext context) {
+            DependencySelector child = delegate != null ? delegate.deriveChildSelector(context) : null;
+            return child == delegate ? this : new CancellableDependencySelector(child, cancellation, selected);
+        }
+
+        // selectors are a part of keys of the collector caches
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CancellableDependencySelector that = (CancellableDependencySelector) o;
+            return cancellation == that.cancellation && Objects.equals(delegate, that.delegate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(delegate);
+        }
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.util.Objects;
+
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * A dependency graph collected once and shared by all rules of a plugin execution requesting the same graph,
+ * kept in {@link org.apache.maven.enforcer.rules.utils.SharedResources}. Rules must not modify the graph.
+ *
+ * @since 3.6.4
+ */
+final class SharedDependencyGraph {
+
+    private final DependencyNode root;
+
+    private CompactDependencyGraph compactGraph;
+
+    SharedDependencyGraph(DependencyNode root) {
+        this.root = Objects.requireNonNull(root, "root");
+    }
+
+    /**
+     * @return a root of the graph
+     */
+    DependencyNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Get a compact representation of the graph, it is built only once for all rules.
+     *
+     * @param table a table of the session used to intern coordinates
+     * @return a compact graph
+     */
+    synchronized CompactDependencyGraph getCompactGraph(CoordinateTable table) {
+        if (compactGraph == null) {
+            compactGraph = CompactDependencyGraph.build(root, table);
+        }
+        return compactGraph;
+    }
+}
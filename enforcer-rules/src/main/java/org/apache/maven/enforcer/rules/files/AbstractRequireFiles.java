@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleError;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
@@ -131,6 +132,11 @@ abstract class AbstractRequireFiles extends AbstractStandardEnforcerRule {
         this.satisfyAny = satisfyAny;
     }
 
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.FILE_IO;
+    }
+
     @Override
     public String toString() {
         return String.format(
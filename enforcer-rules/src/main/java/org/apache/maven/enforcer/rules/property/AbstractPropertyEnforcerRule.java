@@ -18,6 +18,7 @@
  */
 package org.apache.maven.enforcer.rules.property;
 
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
 
@@ -123,4 +124,9 @@ abstract class AbstractPropertyEnforcerRule extends AbstractStandardEnforcerRule
      * @throws EnforcerRuleException in case of problems
      */
     protected abstract Object resolveValue() throws EnforcerRuleException;
+
+    @Override
+    public EnforcerRuleCost getCost() {
+        return EnforcerRuleCost.PROPERTY_CHECK;
+    }
 }
@@ -26,7 +26,6 @@ import java.util.function.Predicate;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.model.Dependency;
@@ -50,6 +49,10 @@ public final class ArtifactMatcher {
         private final String[] parts;
         private final Predicate<String>[] partsRegex;
 
+        // parsed once, an invalid range is reported only when it is needed to match an artifact
+        private final VersionRange versionRange;
+        private final InvalidVersionSpecificationException invalidVersionRange;
+
         public Pattern(String pattern) {
             if (pattern == null) {
                 throw new NullPointerException("pattern");
@@ -69,6 +72,18 @@ public final class ArtifactMatcher {
                 }
             }
             partsRegex = new Predicate[parts.length];
+
+            VersionRange range = null;
+            InvalidVersionSpecificationException invalidRange = null;
+            if (parts.length > 2) {
+                try {
+                    range = VersionCache.shared().getVersionRange(parts[2]);
+                } catch (InvalidVersionSpecificationException e) {
+                    invalidRange = e;
+                }
+            }
+            versionRange = range;
+            invalidVersionRange = invalidRange;
         }
 
         public boolean match(Artifact artifact) {
@@ -128,8 +143,10 @@ public final class ArtifactMatcher {
 
                 case 3:
                     if (!matches(2, version)) {
-                        if (!containsVersion(
-                                VersionRange.createFromVersionSpec(parts[2]), new DefaultArtifactVersion(version))) {
+                        if (invalidVersionRange != null) {
+                            throw invalidVersionRange;
+                        }
+                        if (!containsVersion(versionRange, VersionCache.shared().getVersion(version))) {
                             return false;
                         }
                     }
@@ -164,8 +181,8 @@ public final class ArtifactMatcher {
                 if (".*".equals(regex)) {
                     partsRegex[index] = test -> true;
                 } else {
-                    partsRegex[index] = test ->
-                            java.util.regex.Pattern.compile(regex).matcher(test).matches();
+                    java.util.regex.Pattern compiled = java.util.regex.Pattern.compile(regex);
+                    partsRegex[index] = test -> compiled.matcher(test).matches();
                 }
             }
             return partsRegex[index].test(input);
@@ -202,8 +219,27 @@ public final class ArtifactMatcher {
     }
 
     private boolean match(Function<Pattern, Boolean> matcher) {
-        return excludePatterns.stream().anyMatch(matcher::apply)
-                && includePatterns.stream().noneMatch(matcher::apply);
+        for (Pattern exclude : excludePatterns) {
+            if (matcher.apply(exclude)) {
+                for (Pattern include : includePatterns) {
+                    if (matcher.apply(include)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if no artifact can match, so callers can skip preparing artifacts to match.
+     *
+     * @return {@code true} if there are no {@link #excludePatterns}
+     * @since 3.6.4
+     */
+    public boolean isEmpty() {
+        return excludePatterns.isEmpty();
     }
 
     /**
@@ -252,27 +288,39 @@ public final class ArtifactMatcher {
      * To be used for artifacts which are equivalent for the purposes of the {@link ArtifactMatcher}.
      */
     public static class MatchingArtifact {
-        String artifactString;
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String version;
+
+        private final String type;
+
+        private final String scope;
+
+        private final String classifier;
+
+        private final int hashCode;
 
         public MatchingArtifact(Artifact artifact) {
-            artifactString = new StringBuilder()
-                    .append(artifact.getGroupId())
-                    .append(":")
-                    .append(artifact.getArtifactId())
-                    .append(":")
-                    .append(artifact.getVersion())
-                    .append(":")
-                    .append(artifact.getType())
-                    .append(":")
-                    .append(artifact.getScope())
-                    .append(":")
-                    .append(artifact.getClassifier())
-                    .toString();
+            // fields are compared directly, no key is built for each visited artifact
+            groupId = artifact.getGroupId();
+            artifactId = artifact.getArtifactId();
+            version = artifact.getVersion();
+            type = artifact.getType();
+            scope = artifact.getScope();
+            classifier = artifact.getClassifier();
+            int result = Objects.hashCode(groupId);
+            result = 31 * result + Objects.hashCode(artifactId);
+            result = 31 * result + Objects.hashCode(version);
+            result = 31 * result + Objects.hashCode(type);
+            result = 31 * result + Objects.hashCode(scope);
+            hashCode = 31 * result + Objects.hashCode(classifier);
         }
 
         @Override
         public int hashCode() {
-            return artifactString.hashCode();
+            return hashCode;
         }
 
         @Override
@@ -287,12 +335,18 @@ public final class ArtifactMatcher {
                 return false;
             }
             MatchingArtifact other = (MatchingArtifact) obj;
-            return Objects.equals(artifactString, other.artifactString);
+            return hashCode == other.hashCode
+                    && Objects.equals(artifactId, other.artifactId)
+                    && Objects.equals(groupId, other.groupId)
+                    && Objects.equals(version, other.version)
+                    && Objects.equals(type, other.type)
+                    && Objects.equals(scope, other.scope)
+                    && Objects.equals(classifier, other.classifier);
         }
 
         @Override
         public String toString() {
-            return artifactString;
+            return groupId + ":" + artifactId + ":" + version + ":" + type + ":" + scope + ":" + classifier;
         }
     }
 }
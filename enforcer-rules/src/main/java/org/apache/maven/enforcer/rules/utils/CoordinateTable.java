@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Table of interned coordinates and parsed versions shared by all rules in a session.
+ * <p>
+ * Coordinates {@code groupId:artifactId} are mapped to small {@code int} ids, so rules can compare and group
+ * artifacts of all modules without building string keys. A lookup of known coordinates, versions and ranges
+ * doesn't allocate. Versions and ranges are kept in the bounded {@link VersionCache}.
+ *
+ * @since 3.6.4
+ */
+public final class CoordinateTable {
+
+    /**
+     * Id returned for unknown coordinates.
+     */
+    public static final int UNKNOWN = -1;
+
+    // groupId -> artifactId -> id, so a lookup doesn't need a concatenated key
+    private final ConcurrentMap<String, ConcurrentMap<String, Integer>> ids = new ConcurrentHashMap<>();
+
+    // written only when holding the lock, an id is published after its coordinates
+    private volatile String[] coordinates = new String[64];
+
+    private int size;
+
+    private final VersionCache versionCache = VersionCache.shared();
+
+    /**
+     * Get the table of given session.
+     *
+     * @param session a repository session
+     * @return a table shared by all rules in the session
+     */
+    public static CoordinateTable of(RepositorySystemSession session) {
+        SessionData sessionData = session.getData();
+        CoordinateTable table = (CoordinateTable) sessionData.get(CoordinateTable.class);
+        if (table == null) {
+            // the first stored instance wins, the same table is used by all rules in the session
+            sessionData.set(CoordinateTable.class, null, new CoordinateTable());
+            table = (CoordinateTable) sessionData.get(CoordinateTable.class);
+        }
+        return table;
+    }
+
+    /**
+     * Get an id of coordinates, a new id is assigned to unknown coordinates.
+     *
+     * @param groupId a groupId
+     * @param artifactId an artifactId
+     * @return an id of the coordinates
+     */
+    public int idOf(String groupId, String artifactId) {
+        int id = find(groupId, artifactId);
+        if (id != UNKNOWN) {
+            return id;
+        }
+        synchronized (this) {
+            id = find(groupId, artifactId);
+            if (id == UNKNOWN) {
+                id = size++;
+                String[] current = coordinates;
+                if (id == current.length) {
+                    current = Arrays.copyOf(current, id * 2);
+                }
+                current[id] = groupId + ":" + artifactId;
+                coordinates = current;
+                ids.computeIfAbsent(groupId, key -> new ConcurrentHashMap<>()).put(artifactId, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Get an id of known coordinates.
+     *
+     * @param groupId a groupId
+     * @param artifactId an artifactId
+     * @return an id of the coordinates, or {@link #UNKNOWN} if no id was assigned yet
+     */
+    public int find(String groupId, String artifactId) {
+        ConcurrentMap<String, Integer> artifactIds = ids.get(groupId);
+        Integer id = artifactIds == null ? null : artifactIds.get(artifactId);
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * @param id an id of coordinates
+     * @return the coordinates in form of {@code groupId:artifactId}
+     */
+    public String getCoordinates(int id) {
+        return coordinates[id];
+    }
+
+    /**
+     * Get a parsed version, the instance is shared and must not be modified.
+     *
+     * @param version a version
+     * @return the parsed version
+     */
+    public ArtifactVersion getVersion(String version) {
+        return versionCache.getVersion(version);
+    }
+
+    /**
+     * Get a parsed version range, the instance is shared and must not be modified.
+     *
+     * @param spec a version range specification
+     * @return the parsed range
+     * @throws InvalidVersionSpecificationException if the specification is invalid
+     */
+    public VersionRange getVersionRange(String spec) throws InvalidVersionSpecificationException {
+        return versionCache.getVersionRange(spec);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache for results of expensive computations of rules which outlives a single Maven session.
+ * <p>
+ * The component is a singleton in the plugin realm, so when the realm is reused by a Maven daemon (e.g. mvnd)
+ * or by embedded Maven, entries are still available for subsequent builds. Each entry is stored with
+ * a fingerprint of its inputs, like size and modification time of a file, and it is only returned
+ * as long as the fingerprint is unchanged.
+ * <p>
+ * Least recently used entries are evicted when the estimated size of all entries exceeds the memory budget.
+ *
+ * @since 3.6.4
+ */
+@Named
+@Singleton
+public final class DaemonCache {
+
+    /**
+     * Default memory budget in bytes.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 32L * 1024 * 1024;
+
+    private final long memoryBudget;
+
+    private final Map<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long estimatedSize;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long invalidations;
+
+    @Inject
+    public DaemonCache() {
+        this(DEFAULT_MEMORY_BUDGET);
+    }
+
+    DaemonCache(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Fingerprint of a file, which is changed when the file is modified, created or deleted.
+     *
+     * @param file a file
+     * @return a fingerprint build from size and modification time of the file
+     */
+    public static Object fingerprint(File file) {
+        return new FileFingerprint(file.length(), file.lastModified());
+    }
+
+    /**
+     * Get a cached value. An entry with a different fingerprint is removed.
+     *
+     * @param key a key of the value
+     * @param fingerprint a current fingerprint of inputs used to compute the value
+     * @param <V> a type of the value
+     * @return the cached value or {@code null} if there is no valid entry
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <V> V get(Object key, Object fingerprint) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            remove(key, entry);
+            invalidations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return (V) entry.value;
+    }
+
+    /**
+     * Store a value, the least recently used entries are evicted if the memory budget is exceeded.
+     * A value bigger than the whole budget is not stored.
+     *
+     * @param key a key of the value
+     * @param fingerprint a fingerprint of inputs used to compute the value
+     * @param value a value, it must not be modified after it is stored
+     * @param estimatedSize an estimated size of the key and value in bytes
+     */
+    public synchronized void put(Object key, Object fingerprint, Object value, long estimatedSize) {
+        Objects.requireNonNull(fingerprint, "fingerprint");
+        Objects.requireNonNull(value, "value");
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            remove(key, previous);
+        }
+        if (estimatedSize > memoryBudget) {
+            return;
+        }
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (this.estimatedSize + estimatedSize > memoryBudget && iterator.hasNext()) {
+            this.estimatedSize -= iterator.next().estimatedSize;
+            iterator.remove();
+            evictions++;
+        }
+        entries.put(key, new Entry(fingerprint, value, estimatedSize));
+        this.estimatedSize += estimatedSize;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        estimatedSize = 0;
+    }
+
+    /**
+     * @return a snapshot of cache statistics
+     */
+    public synchronized String getStats() {
+        return String.format(
+                "hits=%d, misses=%d, evictions=%d, invalidations=%d, size=%d, estimatedBytes=%d",
+                hits, misses, evictions, invalidations, entries.size(), estimatedSize);
+    }
+
+    private void remove(Object key, Entry entry) {
+        entries.remove(key);
+        estimatedSize -= entry.estimatedSize;
+    }
+
+    private static final class Entry {
+
+        private final Object fingerprint;
+
+        private final Object value;
+
+        private final long estimatedSize;
+
+        Entry(Object fingerprint, Object value, long estimatedSize) {
+            this.fingerprint = fingerprint;
+            this.value = value;
+            this.estimatedSize = estimatedSize;
+        }
+    }
+
+    private static final class FileFingerprint {
+
+        private final long length;
+
+        private final long lastModified;
+
+        FileFingerprint(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileFingerprint)) {
+                return false;
+            }
+            FileFingerprint that = (FileFingerprint) o;
+            return length == that.length && lastModified == that.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(length, lastModified);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolation;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolationException;
+import org.eclipse.aether.graph.DependencyNode;
+
+/**
+ * Collects violations found while a rule traverses a dependency graph.
+ * <p>
+ * Only a path of visited nodes is kept during a traversal, coordinates of nodes are computed when a violation
+ * is reported, and a message is rendered only when it is requested from an exception.
+ *
+ * @since 3.6.4
+ */
+public final class DependencyViolationSink {
+
+    private final Function<DependencyNode, String> coordinates;
+
+    private final List<DependencyNode> path = new ArrayList<>();
+
+    private final List<EnforcerRuleViolation> violations = new ArrayList<>();
+
+    /** Violations and notes in order of reporting, notes are rendered with violations. */
+    private final List<EnforcerRuleViolation> entries = new ArrayList<>();
+
+    /**
+     * @param coordinates a function providing coordinates of a node used in reports
+     */
+    public DependencyViolationSink(Function<DependencyNode, String> coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * @param node a node which is visited, a child of a previously entered node
+     */
+    public void enter(DependencyNode node) {
+        path.add(node);
+    }
+
+    /**
+     * Leave the last entered node.
+     */
+    public void leave() {
+        path.remove(path.size() - 1);
+    }
+
+    /**
+     * Report a violation of the last entered node.
+     *
+     * @param reason a reason of the violation
+     */
+    public void report(String reason) {
+        EnforcerRuleViolation violation = new EnforcerRuleViolation(getPathCoordinates(), reason);
+        violations.add(violation);
+        entries.add(violation);
+    }
+
+    /**
+     * Report a note about the last entered node, it is rendered like a violation, but it is not a violation.
+     *
+     * @param note a text rendered like a reason of a violation
+     */
+    public void note(String note) {
+        entries.add(new EnforcerRuleViolation(getPathCoordinates(), note));
+    }
+
+    /**
+     * @return a mark of the current state, to discard violations and notes reported after it
+     * @see #reset(int)
+     */
+    public int mark() {
+        return entries.size();
+    }
+
+    /**
+     * Discard violations and notes reported after a mark.
+     *
+     * @param mark a mark returned by {@link #mark()}
+     */
+    public void reset(int mark) {
+        while (entries.size() > mark) {
+            EnforcerRuleViolation entry = entries.remove(entries.size() - 1);
+            if (!violations.isEmpty() && violations.get(violations.size() - 1) == entry) {
+                violations.remove(violations.size() - 1);
+            }
+        }
+    }
+
+    private List<String> getPathCoordinates() {
+        List<String> pathCoordinates = new ArrayList<>(path.size());
+        for (DependencyNode node : path) {
+            pathCoordinates.add(coordinates.apply(node));
+        }
+        return pathCoordinates;
+    }
+
+    /**
+     * @return {@code true} if no violation was reported
+     */
+    public boolean isEmpty() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * @return reported violations, in order of reporting
+     */
+    public List<EnforcerRuleViolation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Create an exception with reported violations, rendered as a tree together with notes.
+     *
+     * @param header         a beginning of a message, can be {@code null}
+     * @param reasonPrefix   a text between coordinates of a violating node and a reason or a note
+     * @param ancestorSuffix a text after coordinates of nodes without a reason, excluding a root,
+     *                       can be {@code null}
+     * @return a new exception
+     */
+    public EnforcerRuleViolationException toException(String header, String reasonPrefix, String ancestorSuffix) {
+        List<EnforcerRuleViolation> rendered = new ArrayList<>(entries);
+        return new EnforcerRuleViolationException(
+                header, violations, (list, message) -> renderTree(rendered, reasonPrefix, ancestorSuffix, message));
+    }
+
+    /**
+     * Render paths of violations and notes as one tree, reported in order of depth-first traversal, so nodes
+     * shared with a path of a previous entry are rendered only once.
+     */
+    private static void renderTree(
+            List<EnforcerRuleViolation> violations, String reasonPrefix, String ancestorSuffix, StringBuilder message) {
+        List<String> previous = new ArrayList<>();
+        StringBuilder indent = new StringBuilder();
+        for (EnforcerRuleViolation violation : violations) {
+            List<String> current = violation.getPath();
+            int common = 0;
+            while (common < previous.size()
+                    && common < current.size() - 1
+                    && previous.get(common).equals(current.get(common))) {
+                common++;
+            }
+            for (int level = common; level < current.size(); level++) {
+                while (indent.length() < level * 3) {
+                    indent.append("   ");
+                }
+                message.append(indent, 0, level * 3).append(current.get(level));
+                if (level == current.size() - 1 && violation.getReason() != null) {
+                    message.append(reasonPrefix).append(violation.getReason());
+                } else if (level > 0 && ancestorSuffix != null) {
+                    message.append(ancestorSuffix);
+                }
+                message.append(System.lineSeparator());
+            }
+            previous = current;
+        }
+    }
+}
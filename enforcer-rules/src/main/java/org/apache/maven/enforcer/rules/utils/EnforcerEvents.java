@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Events emitted around expensive enforcer operations.
+ * <p>
+ * This implementation records nothing. On Java 11 and newer it is replaced by a multi-release version
+ * which emits Java Flight Recorder events, so the operations can be analyzed in a recording
+ * started with {@code -XX:StartFlightRecording}.
+ *
+ * @since 3.6.4
+ */
+public final class EnforcerEvents {
+
+    private EnforcerEvents() {}
+
+    /**
+     * Start an event for a rule execution.
+     *
+     * @param ruleName  a rule name
+     * @param ruleClass a rule class
+     * @param project   a project for which rule is executed
+     * @return a started event
+     */
+    public static EventSpan ruleExecution(String ruleName, Class<?> ruleClass, MavenProject project) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Start an event for a rule configuration.
+     *
+     * @param ruleName  a rule name
+     * @param ruleClass a rule class
+     * @param project   a project for which rule is configured
+     * @return a started event
+     */
+    public static EventSpan ruleConfiguration(String ruleName, Class<?> ruleClass, MavenProject project) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Start an event for a dependency graph collection.
+     *
+     * @param verbose is verbose graph collected
+     * @param project a project for which graph is collected
+     * @return a started event
+     */
+    public static EventSpan dependencyCollection(boolean verbose, MavenProject project) {
+        return EventSpan.NOOP;
+    }
+
+    /**
+     * Start an event for a jar scan.
+     *
+     * @param artifactId an id of scanned artifact
+     * @param project    a project for which jar is scanned
+     * @return a started event
+     */
+    public static EventSpan jarScan(String artifactId, MavenProject project) {
+        return EventSpan.NOOP;
+    }
+}
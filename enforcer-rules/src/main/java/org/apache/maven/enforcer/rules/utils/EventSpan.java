@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+/**
+ * A started enforcer event, it is committed on close.
+ *
+ * @see EnforcerEvents
+ * @since 3.6.4
+ */
+public interface EventSpan extends AutoCloseable {
+
+    /**
+     * Result was taken from a cache.
+     */
+    String CACHE_HIT = "hit";
+
+    /**
+     * Result was computed and may be cached.
+     */
+    String CACHE_MISS = "miss";
+
+    /**
+     * A span which records nothing.
+     */
+    EventSpan NOOP = new EventSpan() {
+        @Override
+        public void setCacheOutcome(String cacheOutcome) {}
+
+        @Override
+        public void close() {}
+    };
+
+    /**
+     * @param cacheOutcome {@link #CACHE_HIT} or {@link #CACHE_MISS}
+     */
+    void setCacheOutcome(String cacheOutcome);
+
+    /**
+     * End and commit the event.
+     */
+    @Override
+    void close();
+}
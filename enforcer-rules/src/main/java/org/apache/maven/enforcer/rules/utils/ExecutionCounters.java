@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counters of expensive operations done by rules on the current thread.
+ * <p>
+ * Counting is active only between {@link #start()} and {@link #stop()}, otherwise reporting an operation
+ * is a single thread local lookup.
+ *
+ * @since 3.6.4
+ */
+public final class ExecutionCounters {
+
+    private static final ThreadLocal<ExecutionCounters> CURRENT = new ThreadLocal<>();
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final boolean ALLOCATED_BYTES_SUPPORTED = isAllocatedBytesSupported();
+
+    private final long startAllocatedBytes;
+
+    private long allocatedBytes = -1;
+
+    private long graphCollections;
+
+    private long graphNodes;
+
+    private ExecutionCounters() {
+        startAllocatedBytes = currentAllocatedBytes();
+    }
+
+    /**
+     * Start counting on the current thread.
+     *
+     * @return counters for the current thread
+     */
+    public static ExecutionCounters start() {
+        ExecutionCounters counters = new ExecutionCounters();
+        CURRENT.set(counters);
+        return counters;
+    }
+
+    /**
+     * Stop counting on the current thread.
+     */
+    public static void stop() {
+        ExecutionCounters counters = CURRENT.get();
+        if (counters != null) {
+            long endAllocatedBytes = currentAllocatedBytes();
+            if (counters.startAllocatedBytes >= 0 && endAllocatedBytes >= 0) {
+                counters.allocatedBytes = endAllocatedBytes - counters.startAllocatedBytes;
+            }
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Report a collected dependency graph.
+     *
+     * @param nodes number of nodes visited by the collection
+     */
+    public static void graphCollected(long nodes) {
+        ExecutionCounters counters = CURRENT.get();
+        if (counters != null) {
+            counters.graphCollections++;
+            counters.graphNodes += nodes;
+        }
+    }
+
+    /**
+     * @return number of bytes allocated by the current thread while counting, or {@code -1} if not supported by JVM
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return number of dependency graphs collected
+     */
+    public long getGraphCollections() {
+        return graphCollections;
+    }
+
+    /**
+     * @return number of nodes visited by all dependency graph collections
+     */
+    public long getGraphNodes() {
+        return graphNodes;
+    }
+
+    private static long currentAllocatedBytes() {
+        if (ALLOCATED_BYTES_SUPPORTED) {
+            return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    // com.sun.management is not available on every JVM
+    private static boolean isAllocatedBytesSupported() {
+        try {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+            }
+        } catch (LinkageError e) {
+            // not supported
+        }
+        return false;
+    }
+}
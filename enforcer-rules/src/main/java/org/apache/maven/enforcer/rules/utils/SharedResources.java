@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Resources of a project shared by rules of one plugin execution, e.g. a dependency graph collected once
+ * for all rules requesting the same graph.
+ * <p>
+ * A resource is identified by a key, the same key as returned by
+ * {@link org.apache.maven.enforcer.rule.api.AbstractEnforcerRule#getSharedResource()} of rules using it.
+ * It is loaded by the first rule requesting it, concurrent requests wait for the result. A failed or cancelled
+ * load is not kept, so the next request loads the resource again. Resources of a project are kept
+ * until the plugin execution calls {@link #release(MavenProject)}.
+ *
+ * @since 3.6.4
+ */
+public final class SharedResources {
+
+    /**
+     * Loads a resource.
+     *
+     * @param <T> a type of the resource
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * @return a new resource, never {@code null}
+         * @throws EnforcerRuleException if the resource can't be loaded
+         */
+        T load() throws EnforcerRuleException;
+    }
+
+    private final ConcurrentMap<MavenProject, ConcurrentMap<String, Entry>> projects = new ConcurrentHashMap<>();
+
+    /**
+     * Get the resources of given session.
+     *
+     * @param session a repository session
+     * @return resources shared by all rules in the session
+     */
+    public static SharedResources of(RepositorySystemSession session) {
+        SessionData sessionData = session.getData();
+        SharedResources resources = (SharedResources) sessionData.get(SharedResources.class);
+        if (resources == null) {
+            // the first stored instance wins, the same resources are used by all rules in the session
+            sessionData.set(SharedResources.class, null, new SharedResources());
+            resources = (SharedResources) sessionData.get(SharedResources.class);
+        }
+        return resources;
+    }
+
+    /**
+     * Get a resource of a project, it is loaded only when it is not kept yet.
+     *
+     * @param project a project
+     * @param key a key of the resource
+     * @param loader a loader of the resource
+     * @param <T> a type of the resource
+     * @return the shared resource
+     * @throws EnforcerRuleException if the resource can't be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(MavenProject project, String key, Loader<T> loader) throws EnforcerRuleException {
+        return (T) projects.computeIfAbsent(project, p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new Entry())
+                .get(loader);
+    }
+
+    /**
+     * Release all resources of a project.
+     *
+     * @param project a project, can be {@code null}
+     */
+    public void release(MavenProject project) {
+        if (project != null) {
+            projects.remove(project);
+        }
+    }
+
+    private static final class Entry {
+
+        // loaders don't request other resources, so waiting for the lock can't deadlock
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile Object value;
+
+        Object get(Loader<?> loader) throws EnforcerRuleException {
+            Object current = value;
+            if (current != null) {
+                return current;
+            }
+            try {
+                // a timed out rule is interrupted while waiting for another rule
+                lock.lockInterruptibly();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EnforcerRuleException("Interrupted while waiting for a shared resource", e);
+            }
+            try {
+                current = value;
+                if (current == null) {
+                    current = Objects.requireNonNull(loader.load(), "resource");
+                    value = current;
+                }
+                return current;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+/**
+ * Bounded cache of parsed versions and version ranges shared by all rules.
+ * <p>
+ * Rules compare the same versions of artifacts again and again, in each module of a reactor. Parsed instances
+ * are shared, so they must not be modified. The least recently used entries are evicted when the cache is full.
+ * All methods are thread safe.
+ *
+ * @since 3.6.4
+ */
+public final class VersionCache {
+
+    /**
+     * Default maximum number of versions and of version ranges in the cache.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final VersionCache SHARED = new VersionCache(DEFAULT_CAPACITY);
+
+    private final Map<String, ArtifactVersion> versions;
+
+    private final Map<String, VersionRange> versionRanges;
+
+    VersionCache(int capacity) {
+        versions = new LruMap<>(capacity);
+        versionRanges = new LruMap<>(capacity);
+    }
+
+    /**
+     * @return the cache shared by all rules
+     */
+    public static VersionCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Get a parsed version, the instance is shared and must not be modified.
+     *
+     * @param version a version
+     * @return the parsed version
+     */
+    public ArtifactVersion getVersion(String version) {
+        synchronized (versions) {
+            ArtifactVersion artifactVersion = versions.get(version);
+            if (artifactVersion == null) {
+                artifactVersion = new DefaultArtifactVersion(version);
+                versions.put(version, artifactVersion);
+            }
+            return artifactVersion;
+        }
+    }
+
+    /**
+     * Get a parsed version range, the instance is shared and must not be modified.
+     *
+     * @param spec a version range specification
+     * @return the parsed range
+     * @throws InvalidVersionSpecificationException if the specification is invalid
+     */
+    public VersionRange getVersionRange(String spec) throws InvalidVersionSpecificationException {
+        synchronized (versionRanges) {
+            VersionRange range = versionRanges.get(spec);
+            if (range == null) {
+                range = VersionRange.createFromVersionSpec(spec);
+                versionRanges.put(spec, range);
+            }
+            return range;
+        }
+    }
+
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        LruMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
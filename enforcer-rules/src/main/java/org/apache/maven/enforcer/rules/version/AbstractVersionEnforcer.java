@@ -23,6 +23,7 @@ import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.AbstractStandardEnforcerRule;
+import org.apache.maven.enforcer.rules.utils.VersionCache;
 
 import static org.apache.maven.enforcer.rules.utils.ArtifactMatcher.containsVersion;
 
@@ -72,7 +73,7 @@ abstract class AbstractVersionEnforcer extends AbstractStandardEnforcerRule {
                 getLog().debug(msg + " is allowed in the range " + requiredVersionRange + ".");
             } else {
                 try {
-                    VersionRange versionRange = VersionRange.createFromVersionSpec(requiredVersionRange);
+                    VersionRange versionRange = VersionCache.shared().getVersionRange(requiredVersionRange);
 
                     if (containsVersion(versionRange, actualVersion)) {
                         getLog().debug(msg + " is allowed in the range " + toString(versionRange) + ".");
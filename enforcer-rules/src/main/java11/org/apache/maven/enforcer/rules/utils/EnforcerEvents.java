@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Events emitted around expensive enforcer operations as Java Flight Recorder events.
+ * <p>
+ * When an event type is not enabled in a recording, a shared no-op span is returned.
+ *
+ * @since 3.6.4
+ */
+public final class EnforcerEvents {
+
+    private EnforcerEvents() {}
+
+    /**
+     * Start an event for a rule execution.
+     *
+     * @param ruleName  a rule name
+     * @param ruleClass a rule class
+     * @param project   a project for which rule is executed
+     * @return a started event
+     */
+    public static EventSpan ruleExecution(String ruleName, Class<?> ruleClass, MavenProject project) {
+        RuleExecutionEvent event = new RuleExecutionEvent();
+        if (!event.isEnabled()) {
+            return EventSpan.NOOP;
+        }
+        event.ruleName = ruleName;
+        event.ruleClass = ruleClass;
+        return event.start(project);
+    }
+
+    /**
+     * Start an event for a rule configuration.
+     *
+     * @param ruleName  a rule name
+     * @param ruleClass a rule class
+     * @param project   a project for which rule is configured
+     * @return a started event
+     */
+    public static EventSpan ruleConfiguration(String ruleName, Class<?> ruleClass, MavenProject project) {
+        RuleConfigurationEvent event = new RuleConfigurationEvent();
+        if (!event.isEnabled()) {
+            return EventSpan.NOOP;
+        }
+        event.ruleName = ruleName;
+        event.ruleClass = ruleClass;
+        return event.start(project);
+    }
+
+    /**
+     * Start an event for a dependency graph collection.
+     *
+     * @param verbose is verbose graph collected
+     * @param project a project for which graph is collected
+     * @return a started event
+     */
+    public static EventSpan dependencyCollection(boolean verbose, MavenProject project) {
+        DependencyCollectionEvent event = new DependencyCollectionEvent();
+        if (!event.isEnabled()) {
+            return EventSpan.NOOP;
+        }
+        event.verbose = verbose;
+        return event.start(project);
+    }
+
+    /**
+     * Start an event for a jar scan.
+     *
+     * @param artifactId an id of scanned artifact
+     * @param project    a project for which jar is scanned
+     * @return a started event
+     */
+    public static EventSpan jarScan(String artifactId, MavenProject project) {
+        JarScanEvent event = new JarScanEvent();
+        if (!event.isEnabled()) {
+            return EventSpan.NOOP;
+        }
+        event.artifactId = artifactId;
+        return event.start(project);
+    }
+
+    @Category({"Maven", "Enforcer"})
+    abstract static class EnforcerEvent extends Event implements EventSpan {
+
+        @Label("Module")
+        String module;
+
+        @Label("Cache Outcome")
+        String cacheOutcome;
+
+        EventSpan start(MavenProject project) {
+            if (project != null) {
+                module = project.getGroupId() + ":" + project.getArtifactId();
+            }
+            begin();
+            return this;
+        }
+
+        @Override
+        public void setCacheOutcome(String cacheOutcome) {
+            this.cacheOutcome = cacheOutcome;
+        }
+
+        @Override
+        public void close() {
+            end();
+            if (shouldCommit()) {
+                commit();
+            }
+        }
+    }
+
+    @Name("org.apache.maven.enforcer.RuleExecution")
+    @Label("Rule Execution")
+    static final class RuleExecutionEvent extends EnforcerEvent {
+
+        @Label("Rule Name")
+        String ruleName;
+
+        @Label("Rule Class")
+        Class<?> ruleClass;
+    }
+
+    @Name("org.apache.maven.enforcer.RuleConfiguration")
+    @Label("Rule Configuration")
+    static final class RuleConfigurationEvent extends EnforcerEvent {
+
+        @Label("Rule Name")
+        String ruleName;
+
+        @Label("Rule Class")
+        Class<?> ruleClass;
+    }
+
+    @Name("org.apache.maven.enforcer.DependencyCollection")
+    @Label("Dependency Collection")
+    static final class DependencyCollectionEvent extends EnforcerEvent {
+
+        @Label("Verbose")
+        boolean verbose;
+    }
+
+    @Name("org.apache.maven.enforcer.JarScan")
+    @Label("Jar Scan")
+    static final class JarScanEvent extends EnforcerEvent {
+
+        @Label("Artifact")
+        String artifactId;
+    }
+}
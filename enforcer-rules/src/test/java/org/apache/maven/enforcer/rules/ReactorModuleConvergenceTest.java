@@ -29,6 +29,7 @@ import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -50,6 +51,7 @@ class ReactorModuleConvergenceTest {
     @BeforeEach
     public void before() throws ExpressionEvaluationException {
         session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
         rule = new ReactorModuleConvergence(session);
         rule.setLog(mock(EnforcerLogger.class));
     }
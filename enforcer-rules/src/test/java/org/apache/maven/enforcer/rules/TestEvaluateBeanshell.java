@@ -21,7 +21,9 @@ package org.apache.maven.enforcer.rules;
 import org.apache.maven.enforcer.rule.api.EnforcerLogger;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rules.utils.ExpressionEvaluator;
+import org.apache.maven.execution.MavenSession;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,9 +34,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -48,6 +56,11 @@ class TestEvaluateBeanshell {
     @Mock
     private ExpressionEvaluator evaluator;
 
+    @Mock
+    private MavenSession session;
+
+    private final DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+
     @InjectMocks
     private EvaluateBeanshell rule;
 
@@ -56,7 +69,8 @@ class TestEvaluateBeanshell {
         rule.setLog(Mockito.mock(EnforcerLogger.class));
 
         // we need not testing ExpressionEvaluator
-        when(evaluator.evaluate(anyString())).thenAnswer(i -> i.getArgument(0));
+        Mockito.lenient().when(evaluator.evaluate(anyString())).thenAnswer(i -> i.getArgument(0));
+        Mockito.lenient().when(session.getRepositorySession()).thenReturn(repositorySession);
     }
 
     /**
@@ -119,4 +133,78 @@ class TestEvaluateBeanshell {
             assertNotEquals(e.getLocalizedMessage(), rule.getMessage());
         }
     }
+
+    @Test
+    void testVariablesAreNotSharedBetweenConditions() throws Exception {
+        rule.setCondition("value = \"first\"; value.equals(\"first\")");
+        rule.execute();
+
+        rule.setCondition("value == void");
+        rule.execute();
+    }
+
+    @Test
+    void testInterpreterIsReused() throws Exception {
+        rule.setCondition("true");
+        rule.execute();
+
+        EvaluateBeanshell.ConditionCache cache = (EvaluateBeanshell.ConditionCache)
+                repositorySession.getData().get(EvaluateBeanshell.ConditionCache.class);
+        EvaluateBeanshell.PooledInterpreter interpreter = cache.borrow();
+        cache.release(interpreter);
+
+        rule.execute();
+
+        assertSame(interpreter, cache.borrow());
+    }
+
+    @Test
+    void testCompiledConditionIsBoundToValues() throws Exception {
+        rule.setCondition("${project.version} == 1.0 && \"${project.artifactId}\" == \"test\"");
+        when(evaluator.evaluate("${project.version}")).thenReturn("1.0", "2.0");
+        when(evaluator.evaluate("${project.artifactId}")).thenReturn("test");
+
+        rule.execute();
+        assertThrows(EnforcerRuleException.class, rule::execute);
+
+        verify(evaluator, never()).evaluate(rule.getCondition());
+    }
+
+    @Test
+    void testConditionIsCompiledOncePerSession() throws Exception {
+        rule.setCondition("${project.version} == 1.0");
+        when(evaluator.evaluate("${project.version}")).thenReturn("1.0");
+        rule.execute();
+
+        EvaluateBeanshell.ConditionCache cache = (EvaluateBeanshell.ConditionCache)
+                repositorySession.getData().get(EvaluateBeanshell.ConditionCache.class);
+        EvaluateBeanshell.CompiledCondition compiled = cache.compile(rule.getCondition());
+        assertNotNull(compiled);
+
+        rule.execute();
+
+        assertSame(compiled, cache.compile(rule.getCondition()));
+    }
+
+    @Test
+    void testValueChangingSyntaxIsSubstituted() throws Exception {
+        // the value is an identifier, so the condition compares two undefined variables
+        rule.setCondition("${project.artifactId} == test");
+        when(evaluator.evaluate("${project.artifactId}")).thenReturn("test");
+        when(evaluator.evaluate(rule.getCondition())).thenReturn("test == test");
+
+        rule.execute();
+
+        verify(evaluator).evaluate(rule.getCondition());
+    }
+
+    @Test
+    void testConditionsWhichCannotBeCompiled() {
+        assertNull(EvaluateBeanshell.CompiledCondition.compile("${a}b == 1", "c"));
+        assertNull(EvaluateBeanshell.CompiledCondition.compile("'${a}' == 1", "c"));
+        assertNull(EvaluateBeanshell.CompiledCondition.compile("\"\\t${a}\" == null // ${b}", "c"));
+        assertNull(EvaluateBeanshell.CompiledCondition.compile("$${a} == 1", "c"));
+        assertNull(EvaluateBeanshell.CompiledCondition.compile("} c() { true", "c"));
+        assertNotNull(EvaluateBeanshell.CompiledCondition.compile("${a} == 1 // comment", "c"));
+    }
 }
@@ -20,20 +20,24 @@ package org.apache.maven.enforcer.rules;
 
 import org.apache.maven.enforcer.rule.api.EnforcerLogger;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.DaemonCache;
 import org.apache.maven.enforcer.rules.utils.ExpressionEvaluator;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -46,14 +50,19 @@ class TestExternalRules {
     @Mock
     private ExpressionEvaluator evaluator;
 
+    @Mock
+    private MavenSession session;
+
     @Mock
     private EnforcerLogger logger;
 
-    @InjectMocks
+    private final DaemonCache daemonCache = new DaemonCache();
+
     private ExternalRules rule;
 
     @BeforeEach
     void setup() {
+        rule = new ExternalRules(mojoExecution, evaluator, session, daemonCache);
         rule.setLog(logger);
     }
 
@@ -92,6 +101,7 @@ class TestExternalRules {
         MojoDescriptor mojoDescriptor = new MojoDescriptor();
         mojoDescriptor.setRealm(EnforcerTestUtils.getTestClassRealm());
         when(mojoExecution.getMojoDescriptor()).thenReturn(mojoDescriptor);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
         rule.setLocation("classpath:enforcer-rules/pass.xml");
 
         Xpp3Dom rulesConfig = rule.getRulesConfig();
@@ -104,6 +114,7 @@ class TestExternalRules {
         MojoDescriptor mojoDescriptor = new MojoDescriptor();
         mojoDescriptor.setRealm(EnforcerTestUtils.getTestClassRealm());
         when(mojoExecution.getMojoDescriptor()).thenReturn(mojoDescriptor);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
         rule.setLocation("classpath:enforcer-rules/banned-dependencies.xml");
         rule.setXsltLocation("classpath:enforcer-rules/allow-findbugs.xsl");
 
@@ -119,4 +130,42 @@ class TestExternalRules {
                 "com.google.guava:listenablefuture",
                 rulesConfig.getChild(0).getChild(0).getChild(0).getValue());
     }
+
+    @Test
+    void shouldReturnCopyOfCachedRules() throws EnforcerRuleException {
+        MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setRealm(EnforcerTestUtils.getTestClassRealm());
+        when(mojoExecution.getMojoDescriptor()).thenReturn(mojoDescriptor);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+        rule.setLocation("classpath:enforcer-rules/banned-dependencies.xml");
+        rule.setXsltLocation("classpath:enforcer-rules/allow-findbugs.xsl");
+
+        Xpp3Dom firstConfig = rule.getRulesConfig();
+        firstConfig.removeChild(0);
+
+        Xpp3Dom secondConfig = rule.getRulesConfig();
+        assertNotSame(firstConfig, secondConfig);
+        assertEquals(1, secondConfig.getChildCount());
+        assertEquals("bannedDependencies", secondConfig.getChild(0).getName());
+        // served from the session cache, so the daemon cache is only asked on the first call
+        assertThat(daemonCache.getStats()).startsWith("hits=0, misses=1,");
+    }
+
+    @Test
+    void shouldReuseRulesCachedByDaemonInNextSession() throws EnforcerRuleException {
+        MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setRealm(EnforcerTestUtils.getTestClassRealm());
+        when(mojoExecution.getMojoDescriptor()).thenReturn(mojoDescriptor);
+        when(session.getRepositorySession())
+                .thenReturn(new DefaultRepositorySystemSession())
+                .thenReturn(new DefaultRepositorySystemSession());
+        rule.setLocation("classpath:enforcer-rules/banned-dependencies.xml");
+        rule.setXsltLocation("classpath:enforcer-rules/allow-findbugs.xsl");
+
+        Xpp3Dom firstConfig = rule.getRulesConfig();
+        Xpp3Dom secondConfig = rule.getRulesConfig();
+
+        assertEquals(firstConfig, secondConfig);
+        assertThat(daemonCache.getStats()).startsWith("hits=1, misses=1,");
+    }
 }
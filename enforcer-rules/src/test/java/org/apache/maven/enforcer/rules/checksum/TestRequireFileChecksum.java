@@ -65,6 +65,20 @@ class TestRequireFileChecksum {
         rule.execute();
     }
 
+    @Test
+    void testFileChecksumCancelled() throws IOException {
+        File f = File.createTempFile("junit", null, temporaryFolder);
+        FileUtils.fileWrite(f, "message");
+
+        rule.setFile(f);
+        rule.setChecksum("78e731027d8fd50ed642340b7c9a63b3");
+        rule.setType("md5");
+        rule.getCancellationToken().cancel("test");
+
+        Throwable exception = assertThrows(EnforcerRuleException.class, rule::execute);
+        assertTrue(exception.getMessage().contains("cancelled: test"));
+    }
+
     @Test
     void testFileChecksumMd5GivenFileDoesNotExistFailure() {
         File f = new File("nonExistent");
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.util.Arrays;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.enforcer.rule.api.EnforcerLogger;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolation;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolationException;
+import org.apache.maven.enforcer.rules.utils.DependencyNodeBuilder;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BanTransitiveDependenciesTest {
+
+    @Mock
+    private MavenProject project;
+
+    @Mock
+    private MavenSession session;
+
+    @Mock
+    private ResolverUtil resolverUtil;
+
+    @Mock
+    private EnforcerLogger log;
+
+    private BanTransitiveDependencies rule;
+
+    @BeforeEach
+    void setup() throws Exception {
+        RepositorySystemSession repositorySession = MavenRepositorySystemUtils.newSession();
+        Dependency directB = dependency("b");
+
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        when(session.getCurrentProject()).thenReturn(project);
+        when(project.getDependencies()).thenReturn(Arrays.asList(dependency("a"), directB));
+        when(resolverUtil.resolveProjectDependencies(anyBoolean(), anyBoolean(), anyList(), any()))
+                .thenReturn(new DependencyNodeBuilder()
+                        .withType(DependencyNodeBuilder.Type.POM)
+                        .withChildNode(node("x"))
+                        .withChildNode(new DependencyNodeBuilder()
+                                .withArtifactId("a")
+                                .withVersion("1.0.0")
+                                .withChildNode(node("y"))
+                                // declared directly, so it is not reported
+                                .withChildNode(new DefaultDependencyNode(RepositoryUtils.toDependency(
+                                        directB, repositorySession.getArtifactTypeRegistry())))
+                                .withChildNode(node("c"))
+                                .withChildNode(node("d"))
+                                .build())
+                        .withChildNode(new DependencyNodeBuilder()
+                                .withArtifactId("b")
+                                .withVersion("1.0.0")
+                                .withChildNode(node("e"))
+                                .build())
+                        .build());
+
+        rule = new BanTransitiveDependencies(session, resolverUtil);
+        rule.setLog(log);
+    }
+
+    @Test
+    void firstTransitiveDependencyIsReported() {
+        assertThatCode(rule::execute)
+                .isInstanceOfSatisfying(EnforcerRuleViolationException.class, e -> assertThat(e.getViolations())
+                        .extracting(EnforcerRuleViolation::getCoordinates)
+                        .containsExactly("default-group:y:pom:classifier:1.0.0"))
+                .hasMessage("default-group:default-artifact:pom:classifier:default-version" + System.lineSeparator()
+                        + "   default-group:a:pom:classifier:1.0.0 has transitive dependencies:"
+                        + System.lineSeparator()
+                        + "      default-group:y:pom:classifier:1.0.0 has transitive dependencies:"
+                        + System.lineSeparator());
+    }
+
+    @Test
+    void excludedDependenciesAreListed() throws Exception {
+        ReflectionUtils.setVariableValueInObject(rule, "excludes", Arrays.asList("*:x", "*:y", "*:d"));
+
+        assertThatCode(rule::execute)
+                .isInstanceOfSatisfying(EnforcerRuleViolationException.class, e -> assertThat(e.getViolations())
+                        .extracting(EnforcerRuleViolation::getCoordinates)
+                        .containsExactly("default-group:c:pom:classifier:1.0.0"))
+                .hasMessage("default-group:default-artifact:pom:classifier:default-version" + System.lineSeparator()
+                        + "   default-group:x:pom:classifier:1.0.0 [excluded]" + System.lineSeparator()
+                        + "   default-group:a:pom:classifier:1.0.0 has transitive dependencies:"
+                        + System.lineSeparator()
+                        + "      default-group:y:pom:classifier:1.0.0 [excluded]" + System.lineSeparator()
+                        + "      default-group:c:pom:classifier:1.0.0 has transitive dependencies:"
+                        + System.lineSeparator());
+    }
+
+    @Test
+    void excludedDependenciesOfBranchWithoutTransitiveDependenciesAreNotListed() throws Exception {
+        ReflectionUtils.setVariableValueInObject(rule, "excludes", Arrays.asList("*:y", "*:c", "*:d"));
+
+        assertThatCode(rule::execute)
+                .isInstanceOfSatisfying(EnforcerRuleViolationException.class, e -> assertThat(e.getViolations())
+                        .extracting(EnforcerRuleViolation::getCoordinates)
+                        .containsExactly("default-group:e:pom:classifier:1.0.0"))
+                .hasMessage("default-group:default-artifact:pom:classifier:default-version" + System.lineSeparator()
+                        + "   default-group:b:pom:classifier:1.0.0 has transitive dependencies:"
+                        + System.lineSeparator()
+                        + "      default-group:e:pom:classifier:1.0.0 has transitive dependencies:"
+                        + System.lineSeparator());
+    }
+
+    @Test
+    void configuredMessageReplacesGeneratedOne() {
+        rule.setMessage("no transitive dependencies");
+
+        assertThatCode(rule::execute)
+                .isInstanceOfSatisfying(EnforcerRuleViolationException.class, e -> assertThat(e.getViolations())
+                        .hasSize(1))
+                .hasMessage("no transitive dependencies");
+    }
+
+    private static Dependency dependency(String artifactId) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("default-group");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0.0");
+        return dependency;
+    }
+
+    private static DependencyNode node(String artifactId) {
+        return new DependencyNodeBuilder()
+                .withArtifactId(artifactId)
+                .withVersion("1.0.0")
+                .build();
+    }
+}
@@ -21,18 +21,27 @@ package org.apache.maven.enforcer.rules.dependency;
 import java.util.Collections;
 
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolation;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolationException;
 import org.apache.maven.enforcer.rules.utils.DependencyNodeBuilder;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.testing.ArtifactStubFactory;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.graph.DependencyNode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -108,7 +117,7 @@ class BannedDependenciesTest {
     @Test
     void excludesUseTransitiveDependencies() throws Exception {
 
-        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList()))
+        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList(), any()))
                 .thenReturn(new DependencyNodeBuilder()
                         .withType(DependencyNodeBuilder.Type.POM)
                         .withChildNode(new DependencyNodeBuilder()
@@ -141,7 +150,7 @@ class BannedDependenciesTest {
     @Test
     void excludesAndIncludesUseTransitiveDependencies() throws Exception {
 
-        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList()))
+        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList(), any()))
                 .thenReturn(new DependencyNodeBuilder()
                         .withType(DependencyNodeBuilder.Type.POM)
                         .withChildNode(new DependencyNodeBuilder()
@@ -174,7 +183,7 @@ class BannedDependenciesTest {
     @Test
     void excludesReportsRootAndTransitiveDependencies() throws Exception {
 
-        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList()))
+        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList(), any()))
                 .thenReturn(new DependencyNodeBuilder()
                         .withType(DependencyNodeBuilder.Type.POM)
                         .withChildNode(new DependencyNodeBuilder()
@@ -204,6 +213,94 @@ class BannedDependenciesTest {
                         "default-group:childAAA:war:classifier:1.0.0-SNAPSHOT <--- banned via the exclude/include list");
     }
 
+    @Test
+    void violationsAreReportedWithPaths() throws Exception {
+
+        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList(), any()))
+                .thenReturn(new DependencyNodeBuilder()
+                        .withType(DependencyNodeBuilder.Type.POM)
+                        .withChildNode(new DependencyNodeBuilder()
+                                .withArtifactId("childA")
+                                .withVersion("1.0.0")
+                                .withChildNode(new DependencyNodeBuilder()
+                                        .withType(DependencyNodeBuilder.Type.WAR)
+                                        .withArtifactId("childAA")
+                                        .withVersion("1.0.0-SNAPSHOT")
+                                        .withChildNode(new DependencyNodeBuilder()
+                                                .withType(DependencyNodeBuilder.Type.WAR)
+                                                .withArtifactId("childAAA")
+                                                .withVersion("1.0.0-SNAPSHOT")
+                                                .build())
+                                        .build())
+                                .build())
+                        .build());
+
+        rule.setSearchTransitive(true);
+        rule.setExcludes(Collections.singletonList("*:*:*:war"));
+
+        assertThatCode(rule::execute)
+                .isInstanceOfSatisfying(EnforcerRuleViolationException.class, e -> {
+                    assertThat(e.getViolations())
+                            .extracting(EnforcerRuleViolation::getCoordinates)
+                            .containsExactly(
+                                    "default-group:childAA:war:classifier:1.0.0-SNAPSHOT",
+                                    "default-group:childAAA:war:classifier:1.0.0-SNAPSHOT");
+                    assertThat(e.getViolations().get(1).getPath()).hasSize(4);
+                    assertThat(e.getViolations().get(1).getReason())
+                            .isEqualTo("banned via the exclude/include list");
+                })
+                .hasMessageContaining(System.lineSeparator()
+                        + "   default-group:childA:jar:classifier:1.0.0" + System.lineSeparator()
+                        + "      default-group:childAA:war:classifier:1.0.0-SNAPSHOT"
+                        + " <--- banned via the exclude/include list" + System.lineSeparator()
+                        + "         default-group:childAAA:war:classifier:1.0.0-SNAPSHOT <--- banned");
+    }
+
+    @Test
+    void subtreeOfSharedNodeIsTraversedOnce() throws Exception {
+        // the same node instance is a child of two nodes, as in graphs collected by the resolver
+        DependencyNode banned = mock(
+                DependencyNode.class,
+                delegatesTo(new DependencyNodeBuilder()
+                        .withType(DependencyNodeBuilder.Type.WAR)
+                        .withArtifactId("banned")
+                        .withVersion("1.0.0")
+                        .build()));
+        DependencyNode shared = new DependencyNodeBuilder()
+                .withArtifactId("shared")
+                .withVersion("1.0.0")
+                .withChildNode(banned)
+                .build();
+
+        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList(), any()))
+                .thenReturn(new DependencyNodeBuilder()
+                        .withType(DependencyNodeBuilder.Type.POM)
+                        .withChildNode(new DependencyNodeBuilder()
+                                .withArtifactId("childA")
+                                .withVersion("1.0.0")
+                                .withChildNode(shared)
+                                .build())
+                        .withChildNode(new DependencyNodeBuilder()
+                                .withArtifactId("childB")
+                                .withVersion("1.0.0")
+                                .withChildNode(shared)
+                                .build())
+                        .build());
+
+        rule.setSearchTransitive(true);
+        rule.setExcludes(Collections.singletonList("*:*:*:war"));
+
+        assertThatCode(rule::execute).isInstanceOfSatisfying(EnforcerRuleViolationException.class, e -> {
+            assertThat(e.getViolations())
+                    .extracting(EnforcerRuleViolation::getCoordinates)
+                    .containsExactly("default-group:banned:war:classifier:1.0.0");
+            assertThat(e.getViolations().get(0).getPath())
+                    .contains("default-group:childA:jar:classifier:1.0.0")
+                    .doesNotContain("default-group:childB:jar:classifier:1.0.0");
+        });
+        verify(banned, times(1)).getChildren();
+    }
+
     @Test
     void invalidExcludeFormat() throws Exception {
         rule.setSearchTransitive(false);
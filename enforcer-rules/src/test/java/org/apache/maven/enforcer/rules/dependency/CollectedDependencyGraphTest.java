@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CollectedDependencyGraphTest {
+
+    private final ArtifactTypeRegistry artifactTypeRegistry = new DefaultArtifactTypeRegistry();
+
+    private MavenProject project;
+
+    private Artifact direct;
+
+    private Artifact transitive;
+
+    @BeforeEach
+    void setup() {
+        project = new MavenProject();
+        project.setArtifact(artifact("org.example", "project", "1.0", null));
+        direct = artifact("org.example", "direct", "1.0", Artifact.SCOPE_COMPILE);
+        direct.setDependencyTrail(Arrays.asList("org.example:project:jar:1.0", "org.example:direct:jar:1.0"));
+        transitive = artifact("org.example", "transitive", "2.0", Artifact.SCOPE_RUNTIME);
+        transitive.setDependencyTrail(Arrays.asList(
+                "org.example:project:jar:1.0", "org.example:direct:jar:1.0", "org.example:transitive:jar:2.0"));
+        project.setArtifacts(new LinkedHashSet<>(Arrays.asList(direct, transitive)));
+        project.setDependencies(Collections.singletonList(dependency("direct", Artifact.SCOPE_COMPILE)));
+    }
+
+    @Test
+    void graphIsBuiltFromTrailsOfCollectedArtifacts() {
+        DependencyNode root = build(false, Collections.emptyList());
+
+        assertThat(root.getArtifact().getArtifactId()).isEqualTo("project");
+        assertThat(root.getChildren()).hasSize(1);
+        DependencyNode directNode = root.getChildren().get(0);
+        assertThat(directNode.getDependency())
+                .isEqualTo(RepositoryUtils.toDependency(project.getDependencies().get(0), artifactTypeRegistry)
+                        .setOptional(false));
+        assertThat(directNode.getChildren()).hasSize(1);
+        DependencyNode transitiveNode = directNode.getChildren().get(0);
+        assertThat(transitiveNode.getArtifact().getArtifactId()).isEqualTo("transitive");
+        assertThat(transitiveNode.getArtifact().getVersion()).isEqualTo("2.0");
+        assertThat(transitiveNode.getDependency().getScope()).isEqualTo(Artifact.SCOPE_RUNTIME);
+    }
+
+    @Test
+    void excludedScopeIsRemovedWithItsSubtree() {
+        addTestDependency(Artifact.SCOPE_TEST);
+
+        DependencyNode root = build(false, Collections.singletonList(Artifact.SCOPE_TEST));
+
+        assertThat(root.getChildren())
+                .extracting(node -> node.getArtifact().getArtifactId())
+                .containsExactly("direct");
+    }
+
+    @Test
+    void graphIsNotBuiltWhenRemovedSubtreeHasRequestedScope() {
+        // hamcrest is reachable from a compile dependency too, so Maven widened its scope
+        addTestDependency(Artifact.SCOPE_COMPILE);
+
+        assertThat(build(false, Collections.singletonList(Artifact.SCOPE_TEST))).isNull();
+    }
+
+    @Test
+    void optionalDependencyWithoutDependenciesIsRemoved() {
+        Artifact optional = artifact("org.example", "optional", "1.0", Artifact.SCOPE_COMPILE);
+        optional.setOptional(true);
+        optional.setDependencyTrail(Arrays.asList("org.example:project:jar:1.0", "org.example:optional:jar:1.0"));
+        Dependency optionalDependency = dependency("optional", Artifact.SCOPE_COMPILE);
+        optionalDependency.setOptional(true);
+        project.getArtifacts().add(optional);
+        project.setDependencies(Arrays.asList(dependency("direct", Artifact.SCOPE_COMPILE), optionalDependency));
+
+        DependencyNode root = build(true, Collections.emptyList());
+
+        assertThat(root.getChildren())
+                .extracting(node -> node.getArtifact().getArtifactId())
+                .containsExactly("direct");
+    }
+
+    @Test
+    void graphIsNotBuiltWhenDeclaredDependencyIsNotCollected() {
+        project.setArtifacts(Collections.emptySet());
+
+        assertThat(build(false, Collections.emptyList())).isNull();
+    }
+
+    @Test
+    void filesOfResolvedArtifactsAreKept() {
+        direct.setFile(new File("direct.jar"));
+        transitive.setFile(new File("transitive.jar"));
+
+        DependencyNode root = build(false, Collections.emptyList());
+
+        DependencyNode directNode = root.getChildren().get(0);
+        assertThat(directNode.getArtifact().getFile()).isEqualTo(new File("direct.jar"));
+        assertThat(directNode.getChildren().get(0).getArtifact().getFile()).isEqualTo(new File("transitive.jar"));
+    }
+
+    private void addTestDependency(String hamcrestScope) {
+        Artifact junit = artifact("org.example", "junit", "4.13", Artifact.SCOPE_TEST);
+        junit.setDependencyTrail(Arrays.asList("org.example:project:jar:1.0", "org.example:junit:jar:4.13"));
+        Artifact hamcrest = artifact("org.example", "hamcrest", "1.3", hamcrestScope);
+        hamcrest.setDependencyTrail(Arrays.asList(
+                "org.example:project:jar:1.0", "org.example:junit:jar:4.13", "org.example:hamcrest:jar:1.3"));
+        project.getArtifacts().add(junit);
+        project.getArtifacts().add(hamcrest);
+        Dependency junitDependency = dependency("junit", Artifact.SCOPE_TEST);
+        junitDependency.setVersion("4.13");
+        project.setDependencies(Arrays.asList(dependency("direct", Artifact.SCOPE_COMPILE), junitDependency));
+    }
+
+    private DependencyNode build(boolean excludeOptional, List<String> excludedScopes) {
+        return CollectedDependencyGraph.build(project, artifactTypeRegistry, excludeOptional, excludedScopes);
+    }
+
+    private static Artifact artifact(String groupId, String artifactId, String version, String scope) {
+        return new DefaultArtifact(groupId, artifactId, version, scope, "jar", null, new DefaultArtifactHandler("jar"));
+    }
+
+    private static Dependency dependency(String artifactId, String scope) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0");
+        dependency.setScope(scope);
+        return dependency;
+    }
+}
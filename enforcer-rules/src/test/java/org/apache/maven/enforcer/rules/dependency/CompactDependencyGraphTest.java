@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
+import org.apache.maven.enforcer.rules.utils.DependencyNodeBuilder;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactDependencyGraphTest {
+
+    private final CoordinateTable table = new CoordinateTable();
+
+    private DependencyNode root;
+
+    private DependencyNode shared;
+
+    @BeforeEach
+    void setup() {
+        // the same node instance is a child of two nodes, as in graphs collected by the resolver
+        shared = new DependencyNodeBuilder()
+                .withArtifactId("shared")
+                .withVersion("1.0")
+                .build();
+        root = new DependencyNodeBuilder()
+                .withArtifactId("project")
+                .withChildNode(new DependencyNodeBuilder()
+                        .withArtifactId("a")
+                        .withChildNode(shared)
+                        .build())
+                .withChildNode(new DependencyNodeBuilder()
+                        .withArtifactId("b")
+                        .withChildNode(shared)
+                        .build())
+                .withChildNode(new DependencyNodeBuilder()
+                        .withArtifactId("shared")
+                        .withVersion("2.0")
+                        .build())
+                .build();
+    }
+
+    @Test
+    void nodesAreIndexedInPreOrder() {
+        CompactDependencyGraph graph = CompactDependencyGraph.build(root, table);
+
+        assertThat(graph.size()).isEqualTo(6);
+        assertThat(graph.getNode(0)).isSameAs(root);
+        assertThat(graph.getNode(2)).isSameAs(shared);
+        assertThat(graph.getNode(4)).isSameAs(shared);
+
+        assertThat(graph.getParent(0)).isEqualTo(-1);
+        assertThat(graph.getParent(2)).isEqualTo(1);
+        assertThat(graph.getParent(4)).isEqualTo(3);
+        assertThat(graph.getParent(5)).isEqualTo(0);
+
+        assertThat(graph.getDepth(0)).isZero();
+        assertThat(graph.getDepth(4)).isEqualTo(2);
+        assertThat(graph.getDepth(5)).isEqualTo(1);
+
+        assertThat(graph.getSubtreeEnd(0)).isEqualTo(6);
+        assertThat(graph.getSubtreeEnd(1)).isEqualTo(3);
+        assertThat(graph.getSubtreeEnd(2)).isEqualTo(3);
+    }
+
+    @Test
+    void nodesAreGroupedByCoordinates() {
+        CompactDependencyGraph graph = CompactDependencyGraph.build(root, table);
+
+        assertThat(graph.getCoordinateCount()).isEqualTo(4);
+        int sharedId = graph.getCoordinateId(2);
+        assertThat(graph.getCoordinates(sharedId)).isEqualTo("default-group:shared");
+        assertThat(graph.getCoordinateId(4)).isEqualTo(sharedId);
+        assertThat(graph.getCoordinateId(5)).isEqualTo(sharedId);
+        assertThat(graph.getNodeCountOf(sharedId)).isEqualTo(3);
+        assertThat(graph.getNodeOf(sharedId, 0)).isEqualTo(2);
+        assertThat(graph.getNodeOf(sharedId, 1)).isEqualTo(4);
+        assertThat(graph.getNodeOf(sharedId, 2)).isEqualTo(5);
+        assertThat(table.find("default-group", "shared")).isNotEqualTo(CoordinateTable.UNKNOWN);
+    }
+
+    @Test
+    void pathOfSharedNodeFollowsEachOccurrence() {
+        CompactDependencyGraph graph = CompactDependencyGraph.build(root, table);
+
+        assertThat(graph.getPath(2)).containsExactly(root, root.getChildren().get(0), shared);
+        assertThat(graph.getPath(4)).containsExactly(root, root.getChildren().get(1), shared);
+    }
+
+    @Test
+    void graphIsBuiltOncePerSharedGraph() {
+        SharedDependencyGraph sharedGraph = new SharedDependencyGraph(root);
+
+        assertThat(sharedGraph.getCompactGraph(table)).isSameAs(sharedGraph.getCompactGraph(table));
+        assertThat(root.getData()).isEmpty();
+    }
+}
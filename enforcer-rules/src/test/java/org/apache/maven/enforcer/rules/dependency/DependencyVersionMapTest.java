@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
+import org.apache.maven.enforcer.rules.utils.DependencyNodeBuilder;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyVersionMapTest {
+
+    private CompactDependencyGraph graph;
+
+    @BeforeEach
+    void setup() {
+        // indexes: project 0, a:1.0 1, b:1.0 2, a:2.0 3, c:1.0 4, b:2.0 5, c:2.0 6
+        DependencyNode root = new DependencyNodeBuilder()
+                .withArtifactId("project")
+                .withChildNode(node("a", "1.0"))
+                .withChildNode(new DependencyNodeBuilder()
+                        .withArtifactId("b")
+                        .withVersion("1.0")
+                        .withChildNode(new DependencyNodeBuilder()
+                                .withArtifactId("a")
+                                .withVersion("2.0")
+                                .withChildNode(node("c", "1.0"))
+                                .build())
+                        .build())
+                .withChildNode(node("b", "2.0"))
+                .withChildNode(node("c", "2.0"))
+                .build();
+        graph = CompactDependencyGraph.build(root, new CoordinateTable());
+    }
+
+    @Test
+    void childrenOfConflictingNodeAreNotVisited() {
+        List<List<Integer>> conflicts =
+                new DependencyVersionMap(graph).visitGraph().getConflictedVersionNumbers(null, null);
+
+        // c:1.0 is a child of a:2.0, which is already in conflict with a:1.0
+        assertThat(conflicts).containsExactly(Arrays.asList(1, 3), Arrays.asList(2, 5));
+    }
+
+    @Test
+    void conflictsAreFilteredByPatterns() {
+        DependencyVersionMap map = new DependencyVersionMap(graph).visitGraph();
+
+        assertThat(map.getConflictedVersionNumbers(null, Collections.singletonList("default-group:a")))
+                .containsExactly(Arrays.asList(2, 5));
+        assertThat(map.getConflictedVersionNumbers(Collections.singletonList("default-group:a"), null))
+                .containsExactly(Arrays.asList(1, 3));
+        assertThat(map.getConflictedVersionNumbers(Collections.singletonList("*:*:[1.0,2.0)"), null))
+                .isEmpty();
+    }
+
+    private static DependencyNode node(String artifactId, String version) {
+        return new DependencyNodeBuilder()
+                .withArtifactId(artifactId)
+                .withVersion(version)
+                .build();
+    }
+}
@@ -20,7 +20,9 @@ package org.apache.maven.enforcer.rules.dependency;
 
 import org.apache.maven.enforcer.rule.api.EnforcerLogger;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.CoordinateTable;
 import org.apache.maven.enforcer.rules.utils.DependencyNodeBuilder;
+import org.eclipse.aether.graph.DependencyNode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -28,6 +30,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -46,18 +49,19 @@ class RequireUpperBoundDepsTest {
 
         rule.setLog(mock(EnforcerLogger.class));
 
-        when(resolverUtil.resolveTransitiveDependenciesVerbose(anyList()))
-                .thenReturn(new DependencyNodeBuilder()
-                        .withType(DependencyNodeBuilder.Type.POM)
-                        .withChildNode(new DependencyNodeBuilder()
-                                .withArtifactId("childA")
-                                .withVersion("1.0.0")
-                                .build())
-                        .withChildNode(new DependencyNodeBuilder()
-                                .withArtifactId("childA")
-                                .withVersion("2.0.0")
-                                .build())
-                        .build());
+        DependencyNode root = new DependencyNodeBuilder()
+                .withType(DependencyNodeBuilder.Type.POM)
+                .withChildNode(new DependencyNodeBuilder()
+                        .withArtifactId("childA")
+                        .withVersion("1.0.0")
+                        .build())
+                .withChildNode(new DependencyNodeBuilder()
+                        .withArtifactId("childA")
+                        .withVersion("2.0.0")
+                        .build())
+                .build();
+        when(resolverUtil.resolveCompactGraphVerbose(anyList(), any()))
+                .thenReturn(CompactDependencyGraph.build(root, new CoordinateTable()));
 
         assertThatCode(rule::execute)
                 .isInstanceOf(EnforcerRuleException.class)
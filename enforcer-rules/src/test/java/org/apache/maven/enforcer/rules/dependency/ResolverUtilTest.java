@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.utils.SharedResources;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.apache.maven.artifact.Artifact.SCOPE_PROVIDED;
+import static org.apache.maven.artifact.Artifact.SCOPE_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResolverUtilTest {
+
+    private static final String PROJECT = "org.example:project:jar:1.0";
+
+    private static final String JUNIT = "org.example:junit:jar:4.13";
+
+    @Mock
+    private RepositorySystem repositorySystem;
+
+    @Mock
+    private MavenSession session;
+
+    private ResolverUtil resolverUtil;
+
+    @BeforeEach
+    void setup() {
+        MavenProject project = new MavenProject();
+        project.setArtifact(artifact("project", "1.0", null));
+        project.setArtifacts(new LinkedHashSet<>(Arrays.asList(
+                artifact("direct", "1.0", Artifact.SCOPE_COMPILE, PROJECT, "org.example:direct:jar:1.0"),
+                artifact("junit", "4.13", SCOPE_TEST, PROJECT, JUNIT),
+                artifact("hamcrest", "1.3", SCOPE_TEST, PROJECT, JUNIT, "org.example:hamcrest:jar:1.3"))));
+        project.setDependencies(Arrays.asList(
+                dependency("direct", "1.0", Artifact.SCOPE_COMPILE), dependency("junit", "4.13", SCOPE_TEST)));
+
+        when(session.getCurrentProject()).thenReturn(project);
+        when(session.getRepositorySession()).thenReturn(MavenRepositorySystemUtils.newSession());
+        resolverUtil = new ResolverUtil(repositorySystem, session);
+    }
+
+    @Test
+    void testDependenciesAreRemovedFromCollectedGraph() throws Exception {
+        DependencyNode root = resolverUtil.resolveProjectDependencies(
+                false, true, Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED), new EnforcerCancellationToken());
+
+        assertThat(root.getChildren())
+                .extracting(node -> node.getArtifact().getArtifactId())
+                .containsExactly("direct");
+        verifyNoInteractions(repositorySystem);
+    }
+
+    @Test
+    void filesAreResolvedWithoutCollection() throws Exception {
+        when(repositorySystem.resolveArtifacts(any(), anyCollection())).thenAnswer(invocation -> {
+            Collection<ArtifactRequest> requests = invocation.getArgument(1);
+            return requests.stream()
+                    .map(request -> new ArtifactResult(request)
+                            .setArtifact(request.getArtifact().setFile(new File("resolved.jar"))))
+                    .collect(Collectors.toList());
+        });
+
+        DependencyNode root = resolverUtil.resolveProjectDependencies(
+                true, false, Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED), new EnforcerCancellationToken());
+
+        assertThat(root.getChildren().get(0).getArtifact().getFile()).isEqualTo(new File("resolved.jar"));
+        verify(repositorySystem, never()).collectDependencies(any(), any());
+        verify(repositorySystem, never()).resolveDependencies(any(), any());
+    }
+
+    @Test
+    void collectedGraphIsSharedUntilReleased() throws Exception {
+        when(repositorySystem.collectDependencies(any(), any(CollectRequest.class)))
+                .thenAnswer(invocation -> new CollectResult(invocation.getArgument(1))
+                        .setRoot(new DefaultDependencyNode(new org.eclipse.aether.artifact.DefaultArtifact(PROJECT))));
+        EnforcerCancellationToken cancellation = new EnforcerCancellationToken();
+        List<String> excludedScopes = Arrays.asList(SCOPE_TEST, SCOPE_PROVIDED);
+
+        DependencyNode root = resolverUtil.resolveTransitiveDependenciesVerbose(excludedScopes, cancellation);
+        // the order of scopes doesn't matter
+        CompactDependencyGraph graph =
+                resolverUtil.resolveCompactGraphVerbose(Arrays.asList(SCOPE_PROVIDED, SCOPE_TEST), cancellation);
+
+        assertThat(graph.getNode(0)).isSameAs(root);
+        assertThat(resolverUtil.resolveCompactGraphVerbose(excludedScopes, cancellation)).isSameAs(graph);
+        assertThat(resolverUtil.resolveTransitiveDependencies(cancellation)).isNotSameAs(root);
+        verify(repositorySystem, times(2)).collectDependencies(any(), any(CollectRequest.class));
+
+        SharedResources.of(session.getRepositorySession()).release(session.getCurrentProject());
+
+        assertThat(resolverUtil.resolveTransitiveDependenciesVerbose(excludedScopes, cancellation))
+                .isNotSameAs(root);
+        verify(repositorySystem, times(3)).collectDependencies(any(), any(CollectRequest.class));
+    }
+
+    @Test
+    void failedCollectionIsNotShared() throws Exception {
+        when(repositorySystem.collectDependencies(any(), any(CollectRequest.class)))
+                .thenThrow(new DependencyCollectionException(new CollectResult(new CollectRequest())))
+                .thenAnswer(invocation -> new CollectResult(invocation.getArgument(1))
+                        .setRoot(new DefaultDependencyNode(new org.eclipse.aether.artifact.DefaultArtifact(PROJECT))));
+        EnforcerCancellationToken cancellation = new EnforcerCancellationToken();
+
+        assertThatCode(() -> resolverUtil.resolveTransitiveDependencies(cancellation))
+                .isInstanceOf(EnforcerRuleException.class)
+                .hasMessageStartingWith("Could not build dependency tree");
+        assertThat(resolverUtil.resolveTransitiveDependencies(cancellation)).isNotNull();
+    }
+
+    private static Artifact artifact(String artifactId, String version, String scope, String... trail) {
+        Artifact artifact = new DefaultArtifact(
+                "org.example", artifactId, version, scope, "jar", null, new DefaultArtifactHandler("jar"));
+        artifact.setDependencyTrail(Arrays.asList(trail));
+        return artifact;
+    }
+
+    private static Dependency dependency(String artifactId, String version, String scope) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setScope(scope);
+        return dependency;
+    }
+}
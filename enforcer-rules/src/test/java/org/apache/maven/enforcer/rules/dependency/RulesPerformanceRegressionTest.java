@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.dependency;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.enforcer.rule.api.AbstractEnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
+import org.apache.maven.enforcer.rule.api.EnforcerLogger;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rules.ReactorModuleConvergence;
+import org.apache.maven.enforcer.rules.utils.DaemonCache;
+import org.apache.maven.enforcer.rules.utils.ExecutionCounters;
+import org.apache.maven.enforcer.rules.utils.SharedResources;
+import org.apache.maven.enforcer.rules.utils.SyntheticDependencyGraph;
+import org.apache.maven.enforcer.rules.utils.SyntheticDependencyGraphBuilder;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.DependencyVisitor;
+import org.eclipse.aether.repository.LocalRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Regression gate for the cost of rules on a large synthetic reactor and dependency graph.
+ * <p>
+ * The gate covers the built-in rules whose cost grows with the dependency graph or the reactor: all rules collecting
+ * dependency graphs and {@link ReactorModuleConvergence}. Other rules only inspect the model of the current project.
+ * Each rule must report the expected outcome, rules collecting a graph must collect exactly one non-empty graph.
+ * <p>
+ * Bounds are checked with {@link ExecutionCounters} - collected graphs and allocated bytes - instead of a wall-clock
+ * time, so the results are stable on any machine. Each rule is executed twice and only the second execution is
+ * measured; dependency graphs are collected from a local repository only once and then reused, so allocations of the
+ * resolver do not hide allocations of rules. Allocation bounds are deliberately loose, they are expected to catch
+ * complexity regressions, not small changes.
+ */
+class RulesPerformanceRegressionTest {
+
+    private static final int REACTOR_SIZE = 200;
+
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    static File localRepository;
+
+    private static RepositorySystemSession repositorySession;
+
+    private static List<MavenProject> reactor;
+
+    private static ProjectDependencyGraph projectDependencyGraph;
+
+    private static MavenSession resolverSession;
+
+    private static CachingResolverUtil resolverUtil;
+
+    @BeforeAll
+    @SuppressWarnings("deprecation")
+    static void setup() throws Exception {
+        SyntheticDependencyGraph graph = new SyntheticDependencyGraphBuilder()
+                .withSharedArtifacts(1_000)
+                .withFanOut(6)
+                .withVersions(3)
+                .withConflictDensity(0.3)
+                .withRangeDensity(0.02)
+                .withSeed(35)
+                .build();
+        graph.writeRepository(localRepository, 52);
+
+        RepositorySystem repositorySystem =
+                MavenRepositorySystemUtils.newServiceLocator().getService(RepositorySystem.class);
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setOffline(true);
+        session.setLocalRepositoryManager(
+                repositorySystem.newLocalRepositoryManager(session, new LocalRepository(localRepository)));
+        repositorySession = session;
+
+        MavenProject parent = createProject("parent", null);
+        reactor = new ArrayList<>(REACTOR_SIZE);
+        reactor.add(parent);
+        for (int i = 1; i < REACTOR_SIZE; i++) {
+            MavenProject module = createProject("module-" + i, parent);
+            module.setDependencies(graph.getProjectDependencies());
+            reactor.add(module);
+        }
+        projectDependencyGraph = mock(ProjectDependencyGraph.class);
+        when(projectDependencyGraph.getSortedProjects()).thenReturn(reactor);
+
+        resolverSession = createSession();
+        resolverUtil = new CachingResolverUtil(repositorySystem, resolverSession);
+    }
+
+    private static MavenProject createProject(String artifactId, MavenProject parent) {
+        Model model = new Model();
+        model.setGroupId("org.example.reactor");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0.0");
+        model.setPackaging("jar");
+        if (parent != null) {
+            Parent parentModel = new Parent();
+            parentModel.setGroupId(parent.getGroupId());
+            parentModel.setArtifactId(parent.getArtifactId());
+            parentModel.setVersion(parent.getVersion());
+            model.setParent(parentModel);
+        }
+        MavenProject project = new MavenProject(model);
+        project.setParent(parent);
+        project.setArtifact(new DefaultArtifact(
+                model.getGroupId(), artifactId, "1.0.0", "compile", "jar", null, new DefaultArtifactHandler("jar")));
+        project.setRemoteArtifactRepositories(Collections.emptyList());
+        return project;
+    }
+
+    /**
+     * A new session for each execution, so caches of rules stored in session data are not reused.
+     */
+    @SuppressWarnings("deprecation")
+    private static MavenSession createSession() {
+        DefaultRepositorySystemSession executionRepositorySession =
+                new DefaultRepositorySystemSession(repositorySession);
+        executionRepositorySession.setData(new DefaultSessionData());
+        MavenSession session = new MavenSession(
+                null,
+                executionRepositorySession,
+                new DefaultMavenExecutionRequest(),
+                new DefaultMavenExecutionResult());
+        session.setProjects(reactor);
+        session.setProjectDependencyGraph(projectDependencyGraph);
+        session.setCurrentProject(reactor.get(1));
+        return session;
+    }
+
+    @Test
+    void bannedDependencies() throws Exception {
+        ExecutionCounters counters = execute(Outcome.VIOLATION, session -> {
+            BannedDependencies rule = new BannedDependencies(session, resolverUtil);
+            rule.setExcludes(Arrays.asList("org.example.group1", "*:artifact-2*:[1.1.0,1.2.0]"));
+            rule.setIncludes(Collections.singletonList("org.example.group1:artifact-1"));
+            return rule;
+        });
+
+        assertCost(counters, 1, 16 * MB);
+    }
+
+    @Test
+    void requireReleaseDeps() throws Exception {
+        ExecutionCounters counters = execute(Outcome.PASS, session -> {
+            RequireReleaseDeps rule = new RequireReleaseDeps(session, resolverUtil);
+            rule.setExcludes(Collections.singletonList("org.example.group2:*"));
+            return rule;
+        });
+
+        assertCost(counters, 1, 16 * MB);
+    }
+
+    @Test
+    void requireUpperBoundDeps() throws Exception {
+        ExecutionCounters counters = execute(Outcome.VIOLATION, session -> {
+            RequireUpperBoundDeps rule = new RequireUpperBoundDeps(resolverUtil);
+            rule.setExcludes(Collections.singletonList("org.example.group3:artifact-3"));
+            return rule;
+        });
+
+        assertCost(counters, 1, 64 * MB);
+    }
+
+    @Test
+    void dependencyConvergence() throws Exception {
+        ExecutionCounters counters = execute(Outcome.VIOLATION, session -> new DependencyConvergence(resolverUtil));
+
+        assertCost(counters, 1, 8 * MB);
+    }
+
+    @Test
+    void banTransitiveDependencies() throws Exception {
+        ExecutionCounters counters =
+                execute(Outcome.VIOLATION, session -> new BanTransitiveDependencies(session, resolverUtil));
+
+        assertCost(counters, 1, 4 * MB);
+    }
+
+    @Test
+    void banDynamicVersions() throws Exception {
+        ExecutionCounters counters =
+                execute(Outcome.VIOLATION, session -> new BanDynamicVersions(null, null, session, resolverUtil));
+
+        assertCost(counters, 1, 8 * MB);
+    }
+
+    @Test
+    void enforceBytecodeVersion() throws Exception {
+        ExecutionCounters counters = execute(Outcome.PASS, session -> {
+            EnforceBytecodeVersion rule = new EnforceBytecodeVersion(session, resolverUtil, new DaemonCache());
+            ReflectionUtils.setVariableValueInObject(rule, "maxJdkVersion", "1.8");
+            return rule;
+        });
+
+        assertCost(counters, 1, 32 * MB);
+    }
+
+    @Test
+    void reactorModuleConvergence() throws Exception {
+        ExecutionCounters counters = execute(Outcome.VIOLATION, ReactorModuleConvergence::new);
+
+        assertCost(counters, 0, 4 * MB);
+    }
+
+    private static void assertCost(ExecutionCounters counters, long expectedCollections, long maxAllocatedBytes) {
+        assertThat(counters.getGraphCollections()).as("graph collections").isEqualTo(expectedCollections);
+        if (expectedCollections > 0) {
+            assertThat(counters.getGraphNodes()).as("graph nodes").isPositive();
+        }
+        if (counters.getAllocatedBytes() >= 0) {
+            assertThat(counters.getAllocatedBytes()).as("allocated bytes").isLessThanOrEqualTo(maxAllocatedBytes);
+        }
+    }
+
+    private static ExecutionCounters execute(Outcome outcome, RuleFactory ruleFactory) throws Exception {
+        // the first execution collects graphs and warms up the JVM
+        executeRule(outcome, ruleFactory);
+        ExecutionCounters counters = ExecutionCounters.start();
+        try {
+            executeRule(outcome, ruleFactory);
+        } finally {
+            ExecutionCounters.stop();
+        }
+        return counters;
+    }
+
+    private static void executeRule(Outcome outcome, RuleFactory ruleFactory) throws Exception {
+        AbstractEnforcerRule rule = ruleFactory.create(createSession());
+        rule.setLog(mock(EnforcerLogger.class));
+        try {
+            if (outcome == Outcome.VIOLATION) {
+                // building a message is a part of the measured work
+                assertThatThrownBy(rule::execute).isInstanceOf(EnforcerRuleException.class);
+            } else {
+                rule.execute();
+            }
+        } finally {
+            // as at the end of a plugin execution, the next execution collects graphs again
+            SharedResources.of(resolverSession.getRepositorySession()).release(resolverSession.getCurrentProject());
+        }
+    }
+
+    /**
+     * Expected result of a rule on the synthetic reactor.
+     */
+    private enum Outcome {
+        PASS,
+        VIOLATION
+    }
+
+    @FunctionalInterface
+    private interface RuleFactory {
+        AbstractEnforcerRule create(MavenSession session) throws IllegalAccessException;
+    }
+
+    /**
+     * Collects each distinct request only once, but still reports every collection to {@link ExecutionCounters}.
+     */
+    private static final class CachingResolverUtil extends ResolverUtil {
+
+        private final Map<List<Object>, DependencyNode> graphs = new HashMap<>();
+
+        private final Map<DependencyNode, Long> graphNodes = new HashMap<>();
+
+        private CachingResolverUtil(RepositorySystem repositorySystem, MavenSession session) {
+            super(repositorySystem, session);
+        }
+
+        @Override
+        DependencyNode collectDependencies(
+                boolean verbose,
+                boolean resolve,
+                boolean excludeOptional,
+                List<String> excludedScopes,
+                EnforcerCancellationToken cancellation)
+                throws EnforcerRuleException {
+            List<Object> key = Arrays.asList(verbose, resolve, excludeOptional, new ArrayList<>(excludedScopes));
+            DependencyNode root = graphs.get(key);
+            if (root == null) {
+                root = super.collectDependencies(verbose, resolve, excludeOptional, excludedScopes, cancellation);
+                graphs.put(key, root);
+                graphNodes.put(root, countNodes(root));
+            } else {
+                ExecutionCounters.graphCollected(graphNodes.get(root));
+            }
+            return root;
+        }
+
+        private static long countNodes(DependencyNode root) {
+            long[] nodes = new long[1];
+            root.accept(new DependencyVisitor() {
+                @Override
+                public boolean visitEnter(DependencyNode node) {
+                    nodes[0]++;
+                    return true;
+                }
+
+                @Override
+                public boolean visitLeave(DependencyNode node) {
+                    return true;
+                }
+            });
+            return nodes[0];
+        }
+    }
+}
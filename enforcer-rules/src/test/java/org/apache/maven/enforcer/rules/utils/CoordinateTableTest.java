@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoordinateTableTest {
+
+    @Test
+    void coordinatesAreInterned() {
+        CoordinateTable table = new CoordinateTable();
+
+        assertThat(table.find("org.example", "a")).isEqualTo(CoordinateTable.UNKNOWN);
+        int id = table.idOf("org.example", "a");
+        assertThat(table.idOf("org.example", "b")).isNotEqualTo(id);
+        assertThat(table.idOf("org.example", "a")).isEqualTo(id);
+        assertThat(table.find("org.example", "a")).isEqualTo(id);
+        assertThat(table.getCoordinates(id)).isEqualTo("org.example:a");
+    }
+
+    @Test
+    void idsGrowBeyondInitialCapacity() {
+        CoordinateTable table = new CoordinateTable();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(table.idOf("org.example", "a" + i)).isEqualTo(i);
+        }
+        assertThat(table.getCoordinates(999)).isEqualTo("org.example:a999");
+    }
+
+    @Test
+    void versionsAndRangesAreParsedOnce() throws InvalidVersionSpecificationException {
+        CoordinateTable table = new CoordinateTable();
+
+        assertThat(table.getVersion("1.0")).isSameAs(table.getVersion("1.0"));
+        assertThat(table.getVersion("1.0").compareTo(table.getVersion("1.0.1"))).isNegative();
+        assertThat(table.getVersionRange("[1.0,2.0)")).isSameAs(table.getVersionRange("[1.0,2.0)"));
+    }
+
+    @Test
+    void tableIsSharedInSession() {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+        assertThat(CoordinateTable.of(session)).isSameAs(CoordinateTable.of(session));
+    }
+}
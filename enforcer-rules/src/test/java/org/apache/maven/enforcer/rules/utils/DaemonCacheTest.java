@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DaemonCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void entryIsInvalidatedWhenFileIsModified() throws IOException {
+        DaemonCache cache = new DaemonCache();
+        File file = Files.write(tempDir.resolve("a.jar"), new byte[] {1}).toFile();
+
+        cache.put("a", DaemonCache.fingerprint(file), "value", 10);
+        assertThat(cache.<String>get("a", DaemonCache.fingerprint(file))).isEqualTo("value");
+
+        Files.write(file.toPath(), "modified".getBytes(StandardCharsets.UTF_8));
+        assertThat(cache.<String>get("a", DaemonCache.fingerprint(file))).isNull();
+        assertThat(cache.<String>get("a", DaemonCache.fingerprint(file))).isNull();
+
+        assertThat(cache.getStats()).isEqualTo("hits=1, misses=2, evictions=0, invalidations=1, size=0, "
+                + "estimatedBytes=0");
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedOverBudget() {
+        DaemonCache cache = new DaemonCache(30);
+
+        cache.put("a", 1, "a", 10);
+        cache.put("b", 1, "b", 10);
+        cache.put("c", 1, "c", 10);
+        // access makes "a" the most recently used entry
+        assertThat(cache.<String>get("a", 1)).isEqualTo("a");
+        cache.put("d", 1, "d", 10);
+
+        assertThat(cache.<String>get("b", 1)).isNull();
+        assertThat(cache.<String>get("a", 1)).isEqualTo("a");
+        assertThat(cache.<String>get("c", 1)).isEqualTo("c");
+        assertThat(cache.<String>get("d", 1)).isEqualTo("d");
+    }
+
+    @Test
+    void valueBiggerThanBudgetIsNotStored() {
+        DaemonCache cache = new DaemonCache(30);
+
+        cache.put("a", 1, "a", 10);
+        cache.put("b", 1, "b", 40);
+
+        assertThat(cache.<String>get("b", 1)).isNull();
+        assertThat(cache.<String>get("a", 1)).isEqualTo("a");
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.maven.enforcer.rules.utils.SyntheticDependencyGraphBuilder.Declaration;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+
+import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
+
+/**
+ * A dependency tree generated by {@link SyntheticDependencyGraphBuilder} together with its repository model.
+ */
+public final class SyntheticDependencyGraph {
+
+    private final DependencyNode root;
+
+    private final int nodeCount;
+
+    private final Artifact[][] artifacts;
+
+    private final Declaration[][][] declarations;
+
+    private final Declaration[] directDeclarations;
+
+    SyntheticDependencyGraph(
+            DependencyNode root,
+            int nodeCount,
+            Artifact[][] artifacts,
+            Declaration[][][] declarations,
+            Declaration[] directDeclarations) {
+        this.root = root;
+        this.nodeCount = nodeCount;
+        this.artifacts = artifacts;
+        this.declarations = declarations;
+        this.directDeclarations = directDeclarations;
+    }
+
+    /**
+     * @return a root node, which represents the project
+     */
+    public DependencyNode getRoot() {
+        return root;
+    }
+
+    /**
+     * @return number of nodes in the tree, including the root
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return direct dependencies of the project, as declared in its model
+     */
+    public List<org.apache.maven.model.Dependency> getProjectDependencies() {
+        List<org.apache.maven.model.Dependency> result = new ArrayList<>(directDeclarations.length);
+        for (Declaration declaration : directDeclarations) {
+            result.add(toModelDependency(declaration));
+        }
+        return result;
+    }
+
+    /**
+     * Write all artifacts of the model to a local repository, so the same graph can be collected and resolved
+     * by the resolver without network access. Each artifact has a pom, a jar with a single class of given version
+     * and local metadata, so version ranges can be resolved as well.
+     *
+     * @param localRepository a base directory of the local repository
+     * @param classMajorVersion a major version of classes in jars, e.g. 52 for Java 8
+     * @throws IOException in case of write failure
+     */
+    public void writeRepository(File localRepository, int classMajorVersion) throws IOException {
+        byte[] classBytes = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, (byte) classMajorVersion};
+
+        for (int a = 0; a < artifacts.length; a++) {
+            Path artifactDirectory = localRepository
+                    .toPath()
+                    .resolve(artifacts[a][0].getGroupId().replace('.', '/'))
+                    .resolve(artifacts[a][0].getArtifactId());
+
+            for (int v = 0; v < artifacts[a].length; v++) {
+                Artifact artifact = artifacts[a][v];
+                Path versionDirectory = artifactDirectory.resolve(artifact.getVersion());
+                Files.createDirectories(versionDirectory);
+                String baseName = artifact.getArtifactId() + "-" + artifact.getVersion();
+                writePom(versionDirectory.resolve(baseName + ".pom"), artifact, declarations[a][v]);
+                writeJar(versionDirectory.resolve(baseName + ".jar"), artifact, classBytes);
+            }
+            writeMetadata(artifactDirectory.resolve("maven-metadata-local.xml"), artifacts[a]);
+        }
+    }
+
+    private void writePom(Path file, Artifact artifact, Declaration[] dependencies) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("<project>\n  <modelVersion>4.0.0</modelVersion>\n");
+            writer.write("  <groupId>" + artifact.getGroupId() + "</groupId>\n");
+            writer.write("  <artifactId>" + artifact.getArtifactId() + "</artifactId>\n");
+            writer.write("  <version>" + artifact.getVersion() + "</version>\n");
+            writer.write("  <dependencies>\n");
+            for (Declaration declaration : dependencies) {
+                org.apache.maven.model.Dependency dependency = toModelDependency(declaration);
+                writer.write("    <dependency>\n");
+                writer.write("      <groupId>" + dependency.getGroupId() + "</groupId>\n");
+                writer.write("      <artifactId>" + dependency.getArtifactId() + "</artifactId>\n");
+                writer.write("      <version>" + dependency.getVersion() + "</version>\n");
+                writer.write("    </dependency>\n");
+            }
+            writer.write("  </dependencies>\n</project>\n");
+        }
+    }
+
+    private static void writeJar(Path file, Artifact artifact, byte[] classBytes) throws IOException {
+        String className = artifact.getArtifactId().replace('-', '_');
+        try (OutputStream out = Files.newOutputStream(file);
+                JarOutputStream jar = new JarOutputStream(out)) {
+            jar.putNextEntry(new JarEntry("org/example/" + className + "/Synthetic.class"));
+            jar.write(classBytes);
+            jar.closeEntry();
+        }
+    }
+
+    private static void writeMetadata(Path file, Artifact[] versions) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("<metadata>\n");
+            writer.write("  <groupId>" + versions[0].getGroupId() + "</groupId>\n");
+            writer.write("  <artifactId>" + versions[0].getArtifactId() + "</artifactId>\n");
+            writer.write("  <versioning>\n    <versions>\n");
+            for (Artifact version : versions) {
+                writer.write("      <version>" + version.getVersion() + "</version>\n");
+            }
+            writer.write("    </versions>\n  </versioning>\n</metadata>\n");
+        }
+    }
+
+    private org.apache.maven.model.Dependency toModelDependency(Declaration declaration) {
+        Artifact artifact = artifacts[declaration.artifact][declaration.version];
+        org.apache.maven.model.Dependency dependency = new org.apache.maven.model.Dependency();
+        dependency.setGroupId(artifact.getGroupId());
+        dependency.setArtifactId(artifact.getArtifactId());
+        dependency.setVersion(declaration.constraint(artifacts[declaration.artifact].length));
+        dependency.setScope(SCOPE_COMPILE);
+        return dependency;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionScheme;
+
+import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
+
+/**
+ * Builds large dependency graphs of configurable shape, for tests of scaling behaviour and benchmarks.
+ * <p>
+ * First a model of a repository is generated: a pool of shared artifacts, each of them in several versions, where
+ * each artifact version declares a fixed list of dependencies on artifacts in a window following it in the pool,
+ * so the model is acyclic and consistent - the same artifact version has always the same children - and almost
+ * the whole pool is reachable from the project, which depends on the first artifacts of the pool. The tree is then
+ * expanded breadth-first from the direct dependencies of the project, up to the given depth and number of nodes.
+ * <p>
+ * Generating is deterministic for the same configuration and seed.
+ */
+public class SyntheticDependencyGraphBuilder {
+
+    static final String PROJECT_GROUP_ID = "org.example";
+
+    static final String PROJECT_ARTIFACT_ID = "project";
+
+    static final String PROJECT_VERSION = "1.0.0";
+
+    private static final VersionScheme VERSION_SCHEME = new GenericVersionScheme();
+
+    private int nodes = 10_000;
+
+    private int depth = 20;
+
+    private int fanOut = 6;
+
+    private int sharedArtifacts = 1_000;
+
+    private int versions = 3;
+
+    private double conflictDensity = 0.2;
+
+    private double rangeDensity = 0.0;
+
+    private long seed = 1L;
+
+    /**
+     * @param val maximal number of nodes in the tree, including the root
+     */
+    public SyntheticDependencyGraphBuilder withNodes(int val) {
+        nodes = val;
+        return this;
+    }
+
+    /**
+     * @param val maximal depth of the tree, direct dependencies have depth 1
+     */
+    public SyntheticDependencyGraphBuilder withDepth(int val) {
+        depth = val;
+        return this;
+    }
+
+    /**
+     * @param val maximal number of dependencies declared by each artifact and by the project
+     */
+    public SyntheticDependencyGraphBuilder withFanOut(int val) {
+        fanOut = val;
+        return this;
+    }
+
+    /**
+     * @param val number of distinct artifacts in the graph, smaller pool means more shared subtrees
+     */
+    public SyntheticDependencyGraphBuilder withSharedArtifacts(int val) {
+        sharedArtifacts = val;
+        return this;
+    }
+
+    /**
+     * @param val number of versions of each artifact
+     */
+    public SyntheticDependencyGraphBuilder withVersions(int val) {
+        versions = val;
+        return this;
+    }
+
+    /**
+     * @param val probability, that a declared dependency uses other than the first version of artifact
+     */
+    public SyntheticDependencyGraphBuilder withConflictDensity(double val) {
+        conflictDensity = val;
+        return this;
+    }
+
+    /**
+     * @param val probability, that a declared dependency uses a version range
+     */
+    public SyntheticDependencyGraphBuilder withRangeDensity(double val) {
+        rangeDensity = val;
+        return this;
+    }
+
+    public SyntheticDependencyGraphBuilder withSeed(long val) {
+        seed = val;
+        return this;
+    }
+
+    public SyntheticDependencyGraph build() {
+        Random random = new Random(seed);
+
+        Artifact[][] artifacts = new Artifact[sharedArtifacts][versions];
+        for (int a = 0; a < sharedArtifacts; a++) {
+            for (int v = 0; v < versions; v++) {
+                artifacts[a][v] = new DefaultArtifact(
+                        PROJECT_GROUP_ID + ".group" + (a % 16), "artifact-" + a, "jar", versionOf(v));
+            }
+        }
+
+        // declared dependencies of each artifact version, targets are always later in the pool
+        Declaration[][][] declarations = new Declaration[sharedArtifacts][versions][];
+        for (int a = 0; a < sharedArtifacts; a++) {
+            for (int v = 0; v < versions; v++) {
+                declarations[a][v] = declare(random, a + 1, 1 + random.nextInt(fanOut));
+            }
+        }
+
+        Artifact projectArtifact = new DefaultArtifact(PROJECT_GROUP_ID, PROJECT_ARTIFACT_ID, "jar", PROJECT_VERSION);
+        Declaration[] directDeclarations = declare(random, 0, fanOut);
+
+        DependencyNode root = new DefaultDependencyNode(new Dependency(projectArtifact, SCOPE_COMPILE));
+        Deque<Expansion> queue = new ArrayDeque<>();
+        queue.add(new Expansion(root, directDeclarations, 1));
+
+        int created = 1;
+        while (!queue.isEmpty() && created < nodes) {
+            Expansion expansion = queue.poll();
+            int count = Math.min(expansion.declarations.length, nodes - created);
+            List<DependencyNode> children = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Declaration declaration = expansion.declarations[i];
+                DependencyNode child = createNode(artifacts[declaration.artifact][declaration.version], declaration);
+                children.add(child);
+                if (expansion.depth < depth) {
+                    queue.add(new Expansion(
+                            child, declarations[declaration.artifact][declaration.version], expansion.depth + 1));
+                }
+            }
+            expansion.node.setChildren(children);
+            created += count;
+        }
+
+        return new SyntheticDependencyGraph(root, created, artifacts, declarations, directDeclarations);
+    }
+
+    private Declaration[] declare(Random random, int firstTarget, int maxCount) {
+        int window = Math.max(fanOut, sharedArtifacts / 8);
+        int available = Math.min(sharedArtifacts - firstTarget, window);
+        if (available <= 0) {
+            return new Declaration[0];
+        }
+        int count = Math.min(maxCount, available);
+        Declaration[] result = new Declaration[count];
+        Set<Integer> targets = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int artifact;
+            do {
+                artifact = firstTarget + random.nextInt(available);
+            } while (!targets.add(artifact));
+            int version = random.nextDouble() < conflictDensity ? random.nextInt(versions) : 0;
+            boolean range = random.nextDouble() < rangeDensity;
+            result[i] = new Declaration(artifact, range ? versions - 1 : version, range);
+        }
+        return result;
+    }
+
+    private DependencyNode createNode(Artifact artifact, Declaration declaration) {
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(artifact, SCOPE_COMPILE));
+        try {
+            node.setVersion(VERSION_SCHEME.parseVersion(artifact.getVersion()));
+            node.setVersionConstraint(VERSION_SCHEME.parseVersionConstraint(declaration.constraint(versions)));
+        } catch (InvalidVersionSpecificationException e) {
+            throw new IllegalStateException(e);
+        }
+        return node;
+    }
+
+    static String versionOf(int version) {
+        return "1." + version + ".0";
+    }
+
+    /**
+     * A dependency declared in a model, the version of ranges is the highest version in the range.
+     */
+    static final class Declaration {
+
+        final int artifact;
+
+        final int version;
+
+        final boolean range;
+
+        Declaration(int artifact, int version, boolean range) {
+            this.artifact = artifact;
+            this.version = version;
+            this.range = range;
+        }
+
+        String constraint(int versions) {
+            return range ? "[" + versionOf(0) + "," + versionOf(versions - 1) + "]" : versionOf(version);
+        }
+    }
+
+    private static final class Expansion {
+
+        private final DependencyNode node;
+
+        private final Declaration[] declarations;
+
+        private final int depth;
+
+        private Expansion(DependencyNode node, Declaration[] declarations, int depth) {
+            this.node = node;
+            this.declarations = declarations;
+            this.depth = depth;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDependencyGraphBuilderTest {
+
+    @TempDir
+    private File localRepository;
+
+    @Test
+    void largeGraphHasRequestedSize() {
+        SyntheticDependencyGraph graph = new SyntheticDependencyGraphBuilder()
+                .withNodes(20_000)
+                .withDepth(10)
+                .withSharedArtifacts(2_000)
+                .build();
+
+        assertThat(graph.getNodeCount()).isEqualTo(20_000);
+        assertThat(nodes(graph.getRoot())).hasSize(20_000);
+        assertThat(maxDepth(graph.getRoot(), 0)).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void sameSeedGeneratesSameGraph() {
+        SyntheticDependencyGraphBuilder builder =
+                new SyntheticDependencyGraphBuilder().withNodes(1_000).withSeed(7);
+
+        assertThat(ids(builder.build().getRoot())).isEqualTo(ids(builder.build().getRoot()));
+        assertThat(ids(builder.withSeed(8).build().getRoot()))
+                .isNotEqualTo(ids(builder.withSeed(7).build().getRoot()));
+    }
+
+    @Test
+    void conflictDensityControlsVersionConflicts() {
+        SyntheticDependencyGraphBuilder builder = new SyntheticDependencyGraphBuilder()
+                .withNodes(5_000)
+                .withSharedArtifacts(200)
+                .withVersions(4);
+
+        assertThat(conflictingArtifacts(builder.withConflictDensity(0.0).build()))
+                .isZero();
+        assertThat(conflictingArtifacts(builder.withConflictDensity(0.5).build()))
+                .isPositive();
+    }
+
+    @Test
+    void rangeDensityControlsVersionRanges() {
+        SyntheticDependencyGraph graph = new SyntheticDependencyGraphBuilder()
+                .withNodes(1_000)
+                .withRangeDensity(1.0)
+                .build();
+
+        List<DependencyNode> nodes = nodes(graph.getRoot());
+        assertThat(nodes.subList(1, nodes.size()))
+                .allSatisfy(node -> assertThat(node.getVersionConstraint().getRange())
+                        .isNotNull());
+        assertThat(graph.getProjectDependencies())
+                .allSatisfy(dependency -> assertThat(dependency.getVersion()).isEqualTo("[1.0.0,1.2.0]"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void repositoryCanBeResolvedOffline() throws Exception {
+        SyntheticDependencyGraph graph = new SyntheticDependencyGraphBuilder()
+                .withNodes(2_000)
+                .withSharedArtifacts(100)
+                .withRangeDensity(0.1)
+                .build();
+        graph.writeRepository(localRepository, 52);
+
+        RepositorySystem repositorySystem =
+                MavenRepositorySystemUtils.newServiceLocator().getService(RepositorySystem.class);
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setOffline(true);
+        session.setLocalRepositoryManager(
+                repositorySystem.newLocalRepositoryManager(session, new LocalRepository(localRepository)));
+
+        List<Dependency> dependencies = new ArrayList<>();
+        for (org.apache.maven.model.Dependency dependency : graph.getProjectDependencies()) {
+            dependencies.add(RepositoryUtils.toDependency(dependency, session.getArtifactTypeRegistry()));
+        }
+        CollectRequest collectRequest = new CollectRequest(dependencies, null, new ArrayList<>());
+        collectRequest.setRootArtifact(graph.getRoot().getArtifact());
+
+        DependencyResult result =
+                repositorySystem.resolveDependencies(session, new DependencyRequest(collectRequest, null));
+
+        assertThat(result.getRoot().getChildren()).hasSameSizeAs(dependencies);
+        assertThat(result.getArtifactResults()).isNotEmpty();
+        for (ArtifactResult artifactResult : result.getArtifactResults()) {
+            assertThat(artifactResult.getArtifact().getFile()).isFile();
+            assertThat(artifactResult.getArtifact().getGroupId())
+                    .startsWith(SyntheticDependencyGraphBuilder.PROJECT_GROUP_ID);
+        }
+    }
+
+    private static List<DependencyNode> nodes(DependencyNode root) {
+        PreorderNodeListGenerator generator = new PreorderNodeListGenerator();
+        root.accept(generator);
+        return generator.getNodes();
+    }
+
+    private static List<String> ids(DependencyNode root) {
+        List<String> ids = new ArrayList<>();
+        for (DependencyNode node : nodes(root)) {
+            ids.add(node.getArtifact().toString());
+        }
+        return ids;
+    }
+
+    private static int maxDepth(DependencyNode node, int depth) {
+        int max = depth;
+        for (DependencyNode child : node.getChildren()) {
+            max = Math.max(max, maxDepth(child, depth + 1));
+        }
+        return max;
+    }
+
+    private static long conflictingArtifacts(SyntheticDependencyGraph graph) {
+        Map<String, Set<String>> versions = new HashMap<>();
+        for (DependencyNode node : nodes(graph.getRoot())) {
+            Artifact artifact = node.getArtifact();
+            versions.computeIfAbsent(artifact.getGroupId() + ":" + artifact.getArtifactId(), k -> new HashSet<>())
+                    .add(artifact.getVersion());
+        }
+        return versions.values().stream().filter(v -> v.size() > 1).count();
+    }
+}
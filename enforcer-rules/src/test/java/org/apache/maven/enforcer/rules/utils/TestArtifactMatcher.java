@@ -35,6 +35,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -104,6 +105,16 @@ class TestArtifactMatcher {
         assertPatternDoesMatch("org.apache.*:maven-*:*", "org.apache.maven", "maven-core", "3.0", "", "");
     }
 
+    @Test
+    void testInvalidVersionRangeIsReportedWhenMatching() {
+        Pattern pattern = new Pattern("groupId:artifactId:[1.0");
+
+        Artifact artifact = createMockArtifact("groupId", "artifactId", "1.1", "", "", "");
+
+        assertThrows(IllegalArgumentException.class, () -> pattern.match(artifact));
+        assertThrows(IllegalArgumentException.class, () -> pattern.match(artifact));
+    }
+
     @Test
     void testMatch() {
         patterns.add("groupId:artifactId:1.0");
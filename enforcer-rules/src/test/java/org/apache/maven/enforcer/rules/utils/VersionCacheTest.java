@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.enforcer.rules.utils;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VersionCacheTest {
+
+    @Test
+    void leastRecentlyUsedVersionsAreEvicted() {
+        VersionCache cache = new VersionCache(2);
+
+        ArtifactVersion first = cache.getVersion("1.0");
+        ArtifactVersion second = cache.getVersion("2.0");
+        // access makes "1.0" the most recently used entry
+        assertThat(cache.getVersion("1.0")).isSameAs(first);
+        cache.getVersion("3.0");
+
+        assertThat(cache.getVersion("1.0")).isSameAs(first);
+        assertThat(cache.getVersion("2.0")).isNotSameAs(second).isEqualTo(second);
+    }
+
+    @Test
+    void rangesAreParsedOnce() throws InvalidVersionSpecificationException {
+        VersionCache cache = new VersionCache(2);
+
+        VersionRange range = cache.getVersionRange("[1.0,2.0)");
+
+        assertThat(cache.getVersionRange("[1.0,2.0)")).isSameAs(range);
+        assertThat(range.containsVersion(cache.getVersion("1.5"))).isTrue();
+    }
+
+    @Test
+    void invalidRangeIsNotCached() {
+        VersionCache cache = new VersionCache(2);
+
+        assertThatThrownBy(() -> cache.getVersionRange("[1.0"))
+                .isInstanceOf(InvalidVersionSpecificationException.class);
+        assertThatThrownBy(() -> cache.getVersionRange("[1.0"))
+                .isInstanceOf(InvalidVersionSpecificationException.class);
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.maven.extensions.enforcer;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 
 import java.io.IOException;
@@ -29,7 +30,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 
 import org.apache.maven.AbstractMavenLifecycleParticipant;
@@ -46,6 +50,15 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 /**
  * Extends every MavenProject with the maven-enforcer-plugin, adding executions as defined in
  * <code>.mvn/enforcer-extension.xml</code>
+ * <p>
+ * With <code>preBuild</code> enabled, executions are not added to projects, but run for all projects
+ * right after projects are read, so a rule failure stops the build before any project is built.
+ * <p>
+ * Projects can be limited with <code>projects/includes</code> and <code>projects/excludes</code>
+ * <code>groupId:artifactId</code> patterns.
+ * <p>
+ * At the end of the session the slowest rules of the whole build are logged from metrics
+ * of the enforcer plugin, collected when <code>enforcer.metrics</code> is enabled.
  *
  * @since 3.0.0
  */
@@ -56,6 +69,20 @@ public class EnforceExtension extends AbstractMavenLifecycleParticipant {
     private static final String POM_PROPERTIES =
             "/META-INF/maven/org.apache.maven.extensions/maven-enforcer-extension/pom.properties";
 
+    private static final String ENFORCER_PLUGIN_GROUP_ID = "org.apache.maven.plugins";
+
+    private static final String ENFORCER_PLUGIN_ARTIFACT_ID = "maven-enforcer-plugin";
+
+    private final ReactorEnforcer reactorEnforcer;
+
+    private final MetricsSummary metricsSummary;
+
+    @Inject
+    public EnforceExtension(ReactorEnforcer reactorEnforcer, MetricsSummary metricsSummary) {
+        this.reactorEnforcer = Objects.requireNonNull(reactorEnforcer);
+        this.metricsSummary = Objects.requireNonNull(metricsSummary);
+    }
+
     @Override
     public void afterProjectsRead(MavenSession session) throws MavenExecutionException {
         Xpp3Dom configuration;
@@ -83,29 +110,40 @@ public class EnforceExtension extends AbstractMavenLifecycleParticipant {
             return;
         }
 
-        for (MavenProject project : session.getProjects()) {
-            Plugin enforcerPlugin = null;
-            for (Plugin plugin : project.getBuildPlugins()) {
-                if ("maven-enforcer-plugin".equals(plugin.getArtifactId())
-                        && "org.apache.maven.plugins".equals(plugin.getGroupId())) {
-                    enforcerPlugin = plugin;
+        ProjectSelector projectSelector = ProjectSelector.of(configuration.getChild("projects"));
+
+        if (Boolean.parseBoolean(get(configuration, "preBuild", "false"))) {
+            Map<MavenProject, Plugin> projects = new LinkedHashMap<>();
+            for (MavenProject project : session.getProjects()) {
+                if (!projectSelector.isSelected(project)) {
+                    continue;
                 }
+                Plugin enforcerPlugin = findEnforcerPlugin(project);
+                projects.put(project, enforcerPlugin != null ? enforcerPlugin : createEnforcerPlugin());
+            }
+            if (projects.isEmpty()) {
+                return;
+            }
+            int threads = Integer.parseInt(get(
+                    configuration, "threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+            reactorEnforcer.enforce(session, projects, executions, Math.max(1, Math.min(threads, projects.size())));
+            return;
+        }
+
+        // executions are not modified by Maven, so the same instances are shared by all projects
+        for (MavenProject project : session.getProjects()) {
+            if (!projectSelector.isSelected(project)) {
+                continue;
             }
 
+            Plugin enforcerPlugin = findEnforcerPlugin(project);
+
             if (enforcerPlugin == null) {
-                enforcerPlugin = new Plugin();
-                enforcerPlugin.setGroupId("org.apache.maven.plugins");
-                enforcerPlugin.setArtifactId("maven-enforcer-plugin");
-
-                try (InputStream is = EnforceExtension.class.getResourceAsStream(POM_PROPERTIES)) {
-                    Properties properties = new Properties();
-                    properties.load(is);
-                    enforcerPlugin.setVersion(properties.getProperty("version"));
-                } catch (IOException e) {
-                    // noop
-                }
+                enforcerPlugin = createEnforcerPlugin();
+                enforcerPlugin.setExecutions(new ArrayList<>(executions));
 
-                if (project.getBuildPlugins().isEmpty()) {
+                List<Plugin> buildPlugins = project.getBuildPlugins();
+                if (buildPlugins.isEmpty()) {
                     Build build = project.getBuild();
                     if (build == null) {
                         build = new Build();
@@ -113,16 +151,41 @@ public class EnforceExtension extends AbstractMavenLifecycleParticipant {
                     }
                     build.setPlugins(Collections.singletonList(enforcerPlugin));
                 } else {
-                    List<Plugin> buildPlugins = new ArrayList<>(project.getBuildPlugins());
-                    buildPlugins.add(enforcerPlugin);
-                    project.getBuild().setPlugins(buildPlugins);
+                    List<Plugin> newBuildPlugins = new ArrayList<>(buildPlugins.size() + 1);
+                    newBuildPlugins.addAll(buildPlugins);
+                    newBuildPlugins.add(enforcerPlugin);
+                    project.getBuild().setPlugins(newBuildPlugins);
+                }
+            } else {
+                for (PluginExecution pe : executions) {
+                    enforcerPlugin.addExecution(pe);
                 }
             }
+        }
+    }
+
+    @Override
+    public void afterSessionEnd(MavenSession session) {
+        metricsSummary.log(session);
+    }
 
-            for (PluginExecution pe : executions) {
-                enforcerPlugin.addExecution(pe);
+    private static Plugin findEnforcerPlugin(MavenProject project) {
+        Plugin enforcerPlugin = null;
+        for (Plugin plugin : project.getBuildPlugins()) {
+            if (ENFORCER_PLUGIN_ARTIFACT_ID.equals(plugin.getArtifactId())
+                    && ENFORCER_PLUGIN_GROUP_ID.equals(plugin.getGroupId())) {
+                enforcerPlugin = plugin;
             }
         }
+        return enforcerPlugin;
+    }
+
+    private static Plugin createEnforcerPlugin() {
+        Plugin enforcerPlugin = new Plugin();
+        enforcerPlugin.setGroupId(ENFORCER_PLUGIN_GROUP_ID);
+        enforcerPlugin.setArtifactId(ENFORCER_PLUGIN_ARTIFACT_ID);
+        enforcerPlugin.setVersion(PluginVersionHolder.VERSION);
+        return enforcerPlugin;
     }
 
     private static PluginExecution getPluginExecution(Xpp3Dom execution) {
@@ -142,4 +205,25 @@ public class EnforceExtension extends AbstractMavenLifecycleParticipant {
             return elm.getChild(name).getValue();
         }
     }
+
+    /**
+     * Version of the enforcer plugin, the same as version of this extension, loaded once on first use.
+     */
+    private static final class PluginVersionHolder {
+
+        private static final String VERSION = loadVersion();
+
+        private static String loadVersion() {
+            try (InputStream is = EnforceExtension.class.getResourceAsStream(POM_PROPERTIES)) {
+                if (is == null) {
+                    return null;
+                }
+                Properties properties = new Properties();
+                properties.load(is);
+                return properties.getProperty("version");
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.extensions.enforcer;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.maven.execution.MavenSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the slowest rules of the whole build at the end of the session, from metrics published in session data
+ * by the enforce goal with <code>enforcer.metrics</code> enabled.
+ *
+ * @since 3.6.4
+ */
+@Named
+@Singleton
+class MetricsSummary {
+
+    /**
+     * Key of session data with metrics of rule executions, the same as <code>EnforcerMetrics.SUMMARY_KEY</code>
+     * of <code>maven-enforcer-plugin</code>. The plugin is loaded by another class loader, so its value is
+     * a collection of maps with JDK types only.
+     */
+    static final String SUMMARY_KEY = "maven-enforcer-plugin.ruleMetrics";
+
+    private static final int SUMMARY_SIZE = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(MetricsSummary.class);
+
+    /**
+     * Log the slowest rules executed in the session, nothing is logged without metrics.
+     *
+     * @param session a Maven session
+     */
+    void log(MavenSession session) {
+        List<RuleMetrics> all = collect(session);
+        if (all.isEmpty()) {
+            return;
+        }
+
+        all.sort(Comparator.comparingLong(RuleMetrics::getWallTimeNanos).reversed());
+        List<RuleMetrics> slowest = all.subList(0, Math.min(SUMMARY_SIZE, all.size()));
+        logger.info("Enforcer rules summary, {} slowest of {} rule executions:", slowest.size(), all.size());
+        logger.info(String.format(
+                Locale.ROOT,
+                "%10s %10s %12s %8s  %-7s %s",
+                "wall ms",
+                "cpu ms",
+                "alloc KB",
+                "nodes",
+                "result",
+                "rule"));
+        for (RuleMetrics metrics : slowest) {
+            logger.info(String.format(
+                    Locale.ROOT,
+                    "%10.1f %10s %12s %8d  %-7s %s @ %s",
+                    metrics.wallTimeNanos / 1_000_000.0,
+                    metrics.cpuTimeNanos < 0
+                            ? "-"
+                            : String.format(Locale.ROOT, "%.1f", metrics.cpuTimeNanos / 1_000_000.0),
+                    metrics.allocatedBytes < 0 ? "-" : String.valueOf(metrics.allocatedBytes / 1024),
+                    metrics.graphNodes,
+                    metrics.outcome,
+                    metrics.rule,
+                    metrics.projectId));
+        }
+    }
+
+    /**
+     * Collect metrics of rules executed in the session.
+     *
+     * @param session a Maven session
+     * @return metrics of rules executed in the session
+     */
+    List<RuleMetrics> collect(MavenSession session) {
+        List<RuleMetrics> all = new ArrayList<>();
+        Object summary = session.getRepositorySession().getData().get(SUMMARY_KEY);
+        if (!(summary instanceof Collection)) {
+            return all;
+        }
+        for (Object item : (Collection<?>) summary) {
+            if (item instanceof Map) {
+                Map<?, ?> fields = (Map<?, ?>) item;
+                all.add(new RuleMetrics(
+                        getString(fields, "project"),
+                        getString(fields, "rule"),
+                        getString(fields, "outcome"),
+                        getLong(fields, "wallTimeNanos"),
+                        getLong(fields, "cpuTimeNanos"),
+                        getLong(fields, "allocatedBytes"),
+                        getLong(fields, "graphNodes")));
+            }
+        }
+        return all;
+    }
+
+    private static String getString(Map<?, ?> fields, String key) {
+        Object value = fields.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static long getLong(Map<?, ?> fields, String key) {
+        Object value = fields.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+
+    /**
+     * Metrics of a rule execution used by the summary.
+     */
+    static final class RuleMetrics {
+
+        private final String projectId;
+
+        private final String rule;
+
+        private final String outcome;
+
+        private final long wallTimeNanos;
+
+        private final long cpuTimeNanos;
+
+        private final long allocatedBytes;
+
+        private final long graphNodes;
+
+        RuleMetrics(
+                String projectId,
+                String rule,
+                String outcome,
+                long wallTimeNanos,
+                long cpuTimeNanos,
+                long allocatedBytes,
+                long graphNodes) {
+            this.projectId = projectId;
+            this.rule = rule;
+            this.outcome = outcome;
+            this.wallTimeNanos = wallTimeNanos;
+            this.cpuTimeNanos = cpuTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.graphNodes = graphNodes;
+        }
+
+        String getRule() {
+            return rule;
+        }
+
+        String getOutcome() {
+            return outcome;
+        }
+
+        long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.extensions.enforcer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Selects reactor projects by <code>groupId:artifactId</code> patterns, where <code>*</code> matches any
+ * sequence of characters and a missing <code>artifactId</code> part matches every artifact.
+ * <p>
+ * A project is selected when it matches any include, or no includes are given, and it does not match any exclude.
+ *
+ * @since 3.6.4
+ */
+final class ProjectSelector {
+
+    /**
+     * Selects every project.
+     */
+    static final ProjectSelector ALL = new ProjectSelector(Collections.emptyList(), Collections.emptyList());
+
+    private final List<Pattern> includes;
+
+    private final List<Pattern> excludes;
+
+    private ProjectSelector(List<Pattern> includes, List<Pattern> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    /**
+     * Create a selector from <code>projects</code> element with optional <code>includes</code>
+     * and <code>excludes</code> children.
+     *
+     * @param projects a configuration element, may be {@code null}
+     * @return a selector
+     */
+    static ProjectSelector of(Xpp3Dom projects) {
+        if (projects == null) {
+            return ALL;
+        }
+        List<Pattern> includes = compile(projects.getChild("includes"), "include");
+        List<Pattern> excludes = compile(projects.getChild("excludes"), "exclude");
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return ALL;
+        }
+        return new ProjectSelector(includes, excludes);
+    }
+
+    boolean isSelected(MavenProject project) {
+        if (this == ALL) {
+            return true;
+        }
+        String id = project.getGroupId() + ":" + project.getArtifactId();
+        return (includes.isEmpty() || matches(includes, id)) && !matches(excludes, id);
+    }
+
+    private static boolean matches(List<Pattern> patterns, String id) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(id).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(Xpp3Dom parent, String name) {
+        if (parent == null) {
+            return Collections.emptyList();
+        }
+        List<Pattern> patterns = new ArrayList<>();
+        for (Xpp3Dom child : parent.getChildren(name)) {
+            String value = child.getValue();
+            if (value != null && !value.trim().isEmpty()) {
+                patterns.add(compile(value.trim()));
+            }
+        }
+        return patterns;
+    }
+
+    private static Pattern compile(String pattern) {
+        if (pattern.indexOf(':') < 0) {
+            pattern = pattern + ":*";
+        }
+        StringBuilder regex = new StringBuilder(pattern.length() + 8);
+        int start = 0;
+        for (int i = pattern.indexOf('*'); i >= 0; i = pattern.indexOf('*', start)) {
+            if (i > start) {
+                regex.append(Pattern.quote(pattern.substring(start, i)));
+            }
+            regex.append(".*");
+            start = i + 1;
+        }
+        if (start < pattern.length()) {
+            regex.append(Pattern.quote(pattern.substring(start)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
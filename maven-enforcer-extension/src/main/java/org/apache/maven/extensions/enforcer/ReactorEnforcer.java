@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.extensions.enforcer;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifecycleExecutionException;
+import org.apache.maven.lifecycle.internal.DependencyContext;
+import org.apache.maven.lifecycle.internal.ExecutionEventCatapult;
+import org.apache.maven.lifecycle.internal.MojoDescriptorCreator;
+import org.apache.maven.lifecycle.internal.MojoExecutor;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.PluginConfigurationException;
+import org.apache.maven.plugin.PluginManagerException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the enforcer goal for all reactor projects right after projects are read,
+ * before any project is built.
+ *
+ * @since 3.6.4
+ */
+@Named
+@Singleton
+class ReactorEnforcer {
+
+    private static final String ENFORCE_GOAL = "enforce";
+
+    private final Logger logger = LoggerFactory.getLogger(ReactorEnforcer.class);
+
+    private final BuildPluginManager buildPluginManager;
+
+    private final MojoExecutor mojoExecutor;
+
+    private final ExecutionEventCatapult eventCatapult;
+
+    @Inject
+    ReactorEnforcer(
+            BuildPluginManager buildPluginManager, MojoExecutor mojoExecutor, ExecutionEventCatapult eventCatapult) {
+        this.buildPluginManager = Objects.requireNonNull(buildPluginManager);
+        this.mojoExecutor = Objects.requireNonNull(mojoExecutor);
+        this.eventCatapult = Objects.requireNonNull(eventCatapult);
+    }
+
+    /**
+     * Execute given executions for each project, the first failure stops the remaining work.
+     *
+     * @param session    a Maven session
+     * @param projects   projects to check with the enforcer plugin used for each of them
+     * @param executions executions to run
+     * @param threads    number of projects checked in parallel
+     * @throws MavenExecutionException in case of first rule failure
+     */
+    void enforce(
+            MavenSession session, Map<MavenProject, Plugin> projects, List<PluginExecution> executions, int threads)
+            throws MavenExecutionException {
+
+        logger.info("Enforcing rules for {} projects with {} threads", projects.size(), threads);
+
+        Map<String, MojoDescriptor> mojoDescriptors = new ConcurrentHashMap<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CompletionService<MavenProject> completionService = new ExecutorCompletionService<>(executorService);
+
+        try {
+            for (Map.Entry<MavenProject, Plugin> entry : projects.entrySet()) {
+                completionService.submit(() -> {
+                    enforce(session, entry.getKey(), entry.getValue(), executions, mojoDescriptors);
+                    return entry.getKey();
+                });
+            }
+
+            for (int i = 0; i < projects.size(); i++) {
+                MavenProject project = completionService.take().get();
+                logger.debug("Enforcer rules passed for {}", project.getId());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+            throw new MavenExecutionException(message, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MavenExecutionException("Enforcing rules was interrupted", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void enforce(
+            MavenSession session,
+            MavenProject project,
+            Plugin enforcerPlugin,
+            List<PluginExecution> executions,
+            Map<String, MojoDescriptor> mojoDescriptors)
+            throws Exception {
+
+        // most projects use the same plugin, so its descriptor is resolved only once
+        String pluginKey = getPluginKey(enforcerPlugin);
+        MojoDescriptor mojoDescriptor = mojoDescriptors.get(pluginKey);
+        if (mojoDescriptor == null) {
+            mojoDescriptor = buildPluginManager.getMojoDescriptor(
+                    enforcerPlugin,
+                    ENFORCE_GOAL,
+                    project.getRemotePluginRepositories(),
+                    session.getRepositorySession());
+            MojoDescriptor previous = mojoDescriptors.putIfAbsent(pluginKey, mojoDescriptor);
+            if (previous != null) {
+                mojoDescriptor = previous;
+            }
+        }
+
+        List<MojoExecution> mojoExecutions = new ArrayList<>(executions.size());
+        for (PluginExecution execution : executions) {
+            // as for executions planned by the Maven lifecycle, an execution of the project with the same id wins
+            PluginExecution projectExecution = findExecution(enforcerPlugin, execution.getId());
+            Xpp3Dom configuration =
+                    (Xpp3Dom) (projectExecution != null ? projectExecution : execution).getConfiguration();
+
+            MojoExecution mojoExecution =
+                    new MojoExecution(mojoDescriptor, execution.getId(), MojoExecution.Source.LIFECYCLE);
+            mojoExecution.setConfiguration(createMojoConfiguration(mojoDescriptor, configuration));
+            mojoExecutions.add(mojoExecution);
+        }
+
+        // current project is kept per thread, so the session can be shared the same way as by parallel builds
+        session.setCurrentProject(project);
+        try {
+            DependencyContext dependencyContext = mojoExecutor.newDependencyContext(session, mojoExecutions);
+            for (MojoExecution mojoExecution : mojoExecutions) {
+                execute(session, project, mojoExecution, dependencyContext);
+            }
+        } finally {
+            session.setCurrentProject(null);
+        }
+    }
+
+    /**
+     * Execute a mojo with events and dependency resolution as done by the Maven lifecycle. Used components are
+     * injected, so nothing is looked up in context of the calling thread, which runs outside of a project build.
+     */
+    private void execute(
+            MavenSession session,
+            MavenProject project,
+            MojoExecution mojoExecution,
+            DependencyContext dependencyContext)
+            throws LifecycleExecutionException {
+        eventCatapult.fire(ExecutionEvent.Type.MojoStarted, session, mojoExecution);
+        try {
+            mojoExecutor.ensureDependenciesAreResolved(
+                    mojoExecution.getMojoDescriptor(), session, dependencyContext);
+            buildPluginManager.executeMojo(session, mojoExecution);
+        } catch (LifecycleExecutionException e) {
+            eventCatapult.fire(ExecutionEvent.Type.MojoFailed, session, mojoExecution, e);
+            throw e;
+        } catch (MojoFailureException
+                | MojoExecutionException
+                | PluginConfigurationException
+                | PluginManagerException e) {
+            eventCatapult.fire(ExecutionEvent.Type.MojoFailed, session, mojoExecution, e);
+            throw new LifecycleExecutionException(mojoExecution, project, e);
+        }
+        eventCatapult.fire(ExecutionEvent.Type.MojoSucceeded, session, mojoExecution);
+    }
+
+    /**
+     * A plugin realm depends on plugin dependencies, so projects share a descriptor only when those are the same.
+     */
+    private static String getPluginKey(Plugin plugin) {
+        StringBuilder key = new StringBuilder(plugin.getId());
+        for (Dependency dependency : plugin.getDependencies()) {
+            key.append(',').append(dependency.getManagementKey()).append(':').append(dependency.getVersion());
+        }
+        return key.toString();
+    }
+
+    private static PluginExecution findExecution(Plugin plugin, String executionId) {
+        for (PluginExecution execution : plugin.getExecutions()) {
+            if (Objects.equals(executionId, execution.getId())) {
+                return execution;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Merge execution configuration with mojo parameters defaults, in the same way as it is done
+     * for executions planned by the Maven lifecycle.
+     */
+    private static Xpp3Dom createMojoConfiguration(MojoDescriptor mojoDescriptor, Xpp3Dom executionConfiguration) {
+        Xpp3Dom defaultConfiguration = MojoDescriptorCreator.convert(mojoDescriptor);
+        Xpp3Dom finalConfiguration = new Xpp3Dom("configuration");
+
+        if (mojoDescriptor.getParameters() == null) {
+            return finalConfiguration;
+        }
+
+        for (Parameter parameter : mojoDescriptor.getParameters()) {
+            Xpp3Dom parameterConfiguration = null;
+            if (executionConfiguration != null) {
+                parameterConfiguration = executionConfiguration.getChild(parameter.getName());
+                if (parameterConfiguration == null && parameter.getAlias() != null) {
+                    parameterConfiguration = executionConfiguration.getChild(parameter.getAlias());
+                }
+            }
+
+            // merge is done in place, executions are shared between projects, so use a copy
+            parameterConfiguration = Xpp3Dom.mergeXpp3Dom(
+                    parameterConfiguration != null ? new Xpp3Dom(parameterConfiguration) : null,
+                    defaultConfiguration.getChild(parameter.getName()),
+                    Boolean.TRUE);
+
+            if (parameterConfiguration != null) {
+                parameterConfiguration = new Xpp3Dom(parameterConfiguration, parameter.getName());
+                String implementation = parameterConfiguration.getAttribute("implementation");
+                if ((implementation == null || implementation.isEmpty()) && parameter.getImplementation() != null) {
+                    parameterConfiguration.setAttribute("implementation", parameter.getImplementation());
+                }
+                finalConfiguration.addChild(parameterConfiguration);
+            }
+        }
+        return finalConfiguration;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.extensions.enforcer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EnforceExtensionTest {
+
+    @Mock
+    private ReactorEnforcer reactorEnforcer;
+
+    @Mock
+    private MetricsSummary metricsSummary;
+
+    @Mock
+    private MavenSession session;
+
+    @TempDir
+    private Path rootDirectory;
+
+    private MavenProject project1;
+
+    private MavenProject project2;
+
+    private EnforceExtension extension;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.createDirectories(rootDirectory.resolve(".mvn"));
+        project1 = ReactorEnforcerTest.project("module1");
+        project2 = ReactorEnforcerTest.project("module2");
+        when(session.getExecutionRootDirectory()).thenReturn(rootDirectory.toString());
+        when(session.getProjects()).thenReturn(Arrays.asList(project1, project2));
+        extension = new EnforceExtension(reactorEnforcer, metricsSummary);
+    }
+
+    @Test
+    void preBuildShouldEnforceSelectedProjectsWithoutAddingExecutions() throws Exception {
+        writeConfiguration("<extension>"
+                + "<preBuild>true</preBuild>"
+                + "<threads>4</threads>"
+                + "<projects><excludes><exclude>*:module2</exclude></excludes></projects>"
+                + "<executions><execution><id>check</id><configuration><rules><alwaysPass/></rules></configuration>"
+                + "</execution></executions>"
+                + "</extension>");
+
+        extension.afterProjectsRead(session);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<MavenProject, Plugin>> projects = ArgumentCaptor.forClass(Map.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PluginExecution>> executions = ArgumentCaptor.forClass(List.class);
+        // threads are limited by number of selected projects
+        verify(reactorEnforcer).enforce(eq(session), projects.capture(), executions.capture(), eq(1));
+
+        assertThat(projects.getValue()).containsOnlyKeys(project1);
+        assertThat(projects.getValue().get(project1).getArtifactId()).isEqualTo("maven-enforcer-plugin");
+        assertThat(executions.getValue()).extracting(PluginExecution::getId).containsExactly("check");
+        assertThat(project1.getBuildPlugins()).isEmpty();
+        assertThat(project2.getBuildPlugins()).isEmpty();
+    }
+
+    @Test
+    void preBuildShouldUseEnforcerPluginOfProject() throws Exception {
+        writeConfiguration("<extension><preBuild>true</preBuild><threads>1</threads>"
+                + "<executions><execution/></executions></extension>");
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.apache.maven.plugins");
+        plugin.setArtifactId("maven-enforcer-plugin");
+        plugin.setVersion("3.0.0");
+        project2.getBuild().addPlugin(plugin);
+
+        extension.afterProjectsRead(session);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<MavenProject, Plugin>> projects = ArgumentCaptor.forClass(Map.class);
+        verify(reactorEnforcer).enforce(eq(session), projects.capture(), anyList(), eq(1));
+
+        assertThat(projects.getValue()).containsOnlyKeys(project1, project2);
+        assertThat(projects.getValue().get(project2)).isSameAs(plugin);
+        assertThat(plugin.getExecutions()).isEmpty();
+    }
+
+    @Test
+    void withoutPreBuildExecutionsShouldBeAddedToProjects() throws Exception {
+        writeConfiguration("<extension><executions><execution><id>check</id></execution></executions></extension>");
+
+        extension.afterProjectsRead(session);
+
+        verify(reactorEnforcer, never()).enforce(eq(session), anyMap(), anyList(), anyInt());
+        assertThat(project1.getBuildPlugins())
+                .singleElement()
+                .satisfies(plugin -> assertThat(plugin.getExecutionsAsMap()).containsOnlyKeys("check"));
+    }
+
+    private void writeConfiguration(String configuration) throws Exception {
+        Files.write(
+                rootDirectory.resolve(".mvn/enforcer-extension.xml"), configuration.getBytes(StandardCharsets.UTF_8));
+    }
+}
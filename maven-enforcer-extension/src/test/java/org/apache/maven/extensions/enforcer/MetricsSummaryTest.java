@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.extensions.enforcer;
+
+import java.util.List;
+
+import org.apache.maven.enforcer.rule.api.EnforcerLevel;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.enforcer.internal.EnforcerMetrics;
+import org.apache.maven.plugins.enforcer.internal.RuleMetrics;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsSummaryTest {
+
+    private MavenSession session;
+
+    @BeforeEach
+    void setup() {
+        session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+    }
+
+    @Test
+    void rulesShouldBeCollectedFromPluginMetrics() {
+        EnforcerMetrics enforcerMetrics = new EnforcerMetrics(() -> session);
+        enforcerMetrics.record(enforcerMetrics
+                .start()
+                .stop(
+                        "org.example:test:jar:1.0",
+                        "default",
+                        0,
+                        "org.example.\"Rule\"",
+                        EnforcerLevel.WARN,
+                        RuleMetrics.Outcome.WARNED));
+        enforcerMetrics.record(enforcerMetrics
+                .start()
+                .stop("org.example:other:jar:1.0", "default", 0, "other", null, RuleMetrics.Outcome.PASSED));
+
+        List<MetricsSummary.RuleMetrics> rules = new MetricsSummary().collect(session);
+
+        assertThat(MetricsSummary.SUMMARY_KEY).isEqualTo(EnforcerMetrics.SUMMARY_KEY);
+        assertThat(rules)
+                .extracting(MetricsSummary.RuleMetrics::getRule)
+                .containsExactly("org.example.\"Rule\"", "other");
+        assertThat(rules)
+                .extracting(MetricsSummary.RuleMetrics::getOutcome)
+                .containsExactly("WARNED", "PASSED");
+        assertThat(rules)
+                .extracting(MetricsSummary.RuleMetrics::getWallTimeNanos)
+                .allSatisfy(wallTimeNanos -> assertThat(wallTimeNanos).isNotNegative());
+    }
+
+    @Test
+    void nothingShouldBeCollectedWithoutMetrics() {
+        assertThat(new MetricsSummary().collect(session)).isEmpty();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.extensions.enforcer;
+
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectSelectorTest {
+
+    @Test
+    void withoutPatternsAllProjectsShouldBeSelected() {
+        assertThat(ProjectSelector.of(null)).isSameAs(ProjectSelector.ALL);
+        assertThat(ProjectSelector.of(new Xpp3Dom("projects"))).isSameAs(ProjectSelector.ALL);
+        assertThat(ProjectSelector.ALL.isSelected(project("org.example", "module1"))).isTrue();
+    }
+
+    @Test
+    void includesShouldSelectMatchingProjects() {
+        ProjectSelector selector =
+                ProjectSelector.of(projects(new String[] {"org.example:module*", "org.other:exact"}, new String[0]));
+
+        assertThat(selector.isSelected(project("org.example", "module1"))).isTrue();
+        assertThat(selector.isSelected(project("org.example", "other"))).isFalse();
+        assertThat(selector.isSelected(project("org.other", "exact"))).isTrue();
+        assertThat(selector.isSelected(project("org.other", "exactly"))).isFalse();
+    }
+
+    @Test
+    void excludesShouldWinOverIncludes() {
+        ProjectSelector selector = ProjectSelector.of(projects(new String[] {"*"}, new String[] {"*:module2"}));
+
+        assertThat(selector.isSelected(project("org.example", "module1"))).isTrue();
+        assertThat(selector.isSelected(project("org.example", "module2"))).isFalse();
+    }
+
+    @Test
+    void patternWithoutArtifactIdShouldMatchGroupId() {
+        ProjectSelector selector = ProjectSelector.of(projects(new String[0], new String[] {"org.example"}));
+
+        assertThat(selector.isSelected(project("org.example", "module1"))).isFalse();
+        assertThat(selector.isSelected(project("org.example.sub", "module1"))).isTrue();
+    }
+
+    @Test
+    void patternCharactersShouldBeMatchedLiterally() {
+        ProjectSelector selector = ProjectSelector.of(projects(new String[] {"org.example:module.1"}, new String[0]));
+
+        assertThat(selector.isSelected(project("org.example", "module.1"))).isTrue();
+        assertThat(selector.isSelected(project("org.example", "module11"))).isFalse();
+    }
+
+    private static Xpp3Dom projects(String[] includes, String[] excludes) {
+        Xpp3Dom projects = new Xpp3Dom("projects");
+        projects.addChild(patterns("includes", "include", includes));
+        projects.addChild(patterns("excludes", "exclude", excludes));
+        return projects;
+    }
+
+    private static Xpp3Dom patterns(String name, String childName, String[] values) {
+        Xpp3Dom patterns = new Xpp3Dom(name);
+        for (String value : values) {
+            Xpp3Dom pattern = new Xpp3Dom(childName);
+            pattern.setValue(value);
+            patterns.addChild(pattern);
+        }
+        return patterns;
+    }
+
+    private static MavenProject project(String groupId, String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setGroupId(groupId);
+        project.setArtifactId(artifactId);
+        return project;
+    }
+}
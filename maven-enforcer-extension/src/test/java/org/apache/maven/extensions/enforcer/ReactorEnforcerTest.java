@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.extensions.enforcer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.internal.ExecutionEventCatapult;
+import org.apache.maven.lifecycle.internal.MojoExecutor;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.Parameter;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactorEnforcerTest {
+
+    @Mock
+    private BuildPluginManager buildPluginManager;
+
+    @Mock
+    private MojoExecutor mojoExecutor;
+
+    @Mock
+    private ExecutionEventCatapult eventCatapult;
+
+    private MojoDescriptor mojoDescriptor;
+
+    private MavenSession session;
+
+    private ReactorEnforcer reactorEnforcer;
+
+    @BeforeEach
+    @SuppressWarnings("deprecation")
+    void setup() throws Exception {
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId("org.apache.maven.plugins");
+        pluginDescriptor.setArtifactId("maven-enforcer-plugin");
+        pluginDescriptor.setVersion("1.0");
+
+        Parameter rules = new Parameter();
+        rules.setName("rules");
+        mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal("enforce");
+        mojoDescriptor.setPluginDescriptor(pluginDescriptor);
+        mojoDescriptor.addParameter(rules);
+
+        when(buildPluginManager.getMojoDescriptor(any(), eq("enforce"), any(), any())).thenReturn(mojoDescriptor);
+
+        session = new MavenSession(
+                null,
+                new DefaultRepositorySystemSession(),
+                new DefaultMavenExecutionRequest(),
+                new DefaultMavenExecutionResult());
+        reactorEnforcer = new ReactorEnforcer(buildPluginManager, mojoExecutor, eventCatapult);
+    }
+
+    @Test
+    void eachProjectShouldBeEnforcedAsCurrentProject() throws Exception {
+        MavenProject project1 = project("module1");
+        MavenProject project2 = project("module2");
+        session.setProjects(Arrays.asList(project1, project2));
+        Map<MavenProject, MojoExecution> executed = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+                    executed.put(session.getCurrentProject(), invocation.getArgument(1));
+                    return null;
+                })
+                .when(buildPluginManager)
+                .executeMojo(eq(session), any());
+
+        reactorEnforcer.enforce(session, projects(project1, project2), executions("requireJavaVersion"), 2);
+
+        assertThat(executed).containsOnlyKeys(project1, project2);
+        for (MojoExecution mojoExecution : executed.values()) {
+            assertThat(mojoExecution.getExecutionId()).isEqualTo("default-extension");
+            assertThat(mojoExecution.getMojoDescriptor()).isSameAs(mojoDescriptor);
+            assertThat(mojoExecution.getConfiguration().getChild("rules").getChild("requireJavaVersion"))
+                    .isNotNull();
+        }
+        verify(mojoExecutor, times(2)).ensureDependenciesAreResolved(eq(mojoDescriptor), eq(session), any());
+        verify(eventCatapult, times(2)).fire(eq(ExecutionEvent.Type.MojoStarted), eq(session), any());
+        verify(eventCatapult, times(2)).fire(eq(ExecutionEvent.Type.MojoSucceeded), eq(session), any());
+    }
+
+    @Test
+    void eachProjectShouldUseItsOwnExecutionConfiguration() throws Exception {
+        MavenProject project1 = project("module1");
+        MavenProject project2 = project("module2");
+        session.setProjects(Arrays.asList(project1, project2));
+        Map<MavenProject, Plugin> projects = projects(project1, project2);
+        projects.get(project2).addExecution(execution("default-extension", "bannedPlugins"));
+        projects.get(project2).addExecution(execution("module-only", "requireMavenVersion"));
+
+        Map<MavenProject, List<MojoExecution>> executed = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+                    executed.computeIfAbsent(session.getCurrentProject(), p -> new ArrayList<>())
+                            .add(invocation.getArgument(1));
+                    return null;
+                })
+                .when(buildPluginManager)
+                .executeMojo(eq(session), any());
+
+        List<PluginExecution> executions = Arrays.asList(
+                execution("default-extension", "requireJavaVersion"), execution("other", "alwaysPass"));
+        reactorEnforcer.enforce(session, projects, executions, 1);
+
+        assertThat(executed.get(project1))
+                .extracting(mojoExecution -> mojoExecution.getExecutionId() + ":"
+                        + mojoExecution.getConfiguration().getChild("rules").getChild(0).getName())
+                .containsExactly("default-extension:requireJavaVersion", "other:alwaysPass");
+        assertThat(executed.get(project2))
+                .extracting(mojoExecution -> mojoExecution.getExecutionId() + ":"
+                        + mojoExecution.getConfiguration().getChild("rules").getChild(0).getName())
+                .containsExactly("default-extension:bannedPlugins", "other:alwaysPass");
+    }
+
+    @Test
+    void descriptorShouldBeSharedByProjectsWithSamePluginDependencies() throws Exception {
+        MavenProject project1 = project("module1");
+        MavenProject project2 = project("module2");
+        MavenProject project3 = project("module3");
+        session.setProjects(Arrays.asList(project1, project2, project3));
+        Map<MavenProject, Plugin> projects = projects(project1, project2, project3);
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId("custom-rules");
+        dependency.setVersion("1.0");
+        projects.get(project3).addDependency(dependency);
+
+        reactorEnforcer.enforce(session, projects, executions("requireJavaVersion"), 1);
+
+        verify(buildPluginManager, times(2)).getMojoDescriptor(any(), eq("enforce"), any(), any());
+        verify(buildPluginManager).getMojoDescriptor(same(projects.get(project1)), eq("enforce"), any(), any());
+        verify(buildPluginManager).getMojoDescriptor(same(projects.get(project3)), eq("enforce"), any(), any());
+    }
+
+    @Test
+    void ruleFailureShouldStopBuild() throws Exception {
+        MavenProject project = project("module1");
+        session.setProjects(Collections.singletonList(project));
+        MojoFailureException failure = new MojoFailureException("Rule 0 failed");
+        doThrow(failure).when(buildPluginManager).executeMojo(eq(session), any());
+
+        assertThatThrownBy(() ->
+                        reactorEnforcer.enforce(session, projects(project), executions("requireJavaVersion"), 1))
+                .isInstanceOf(MavenExecutionException.class)
+                .hasMessageContaining("Rule 0 failed")
+                .hasRootCause(failure);
+        verify(eventCatapult).fire(eq(ExecutionEvent.Type.MojoFailed), eq(session), any(), any());
+    }
+
+    @Test
+    void failureWithoutMessageShouldBeReported() throws Exception {
+        MavenProject project = project("module1");
+        session.setProjects(Collections.singletonList(project));
+        doThrow(new IllegalStateException()).when(buildPluginManager).executeMojo(eq(session), any());
+
+        assertThatThrownBy(() ->
+                        reactorEnforcer.enforce(session, projects(project), executions("requireJavaVersion"), 1))
+                .isInstanceOf(MavenExecutionException.class)
+                .hasMessage(IllegalStateException.class.getName())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    static MavenProject project(String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setRemoteArtifactRepositories(Collections.emptyList());
+        project.setPluginArtifactRepositories(Collections.emptyList());
+        return project;
+    }
+
+    static Map<MavenProject, Plugin> projects(MavenProject... projects) {
+        Map<MavenProject, Plugin> result = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            Plugin plugin = new Plugin();
+            plugin.setGroupId("org.apache.maven.plugins");
+            plugin.setArtifactId("maven-enforcer-plugin");
+            plugin.setVersion("1.0");
+            result.put(project, plugin);
+        }
+        return result;
+    }
+
+    static List<PluginExecution> executions(String rule) {
+        return Collections.singletonList(execution("default-extension", rule));
+    }
+
+    static PluginExecution execution(String id, String rule) {
+        Xpp3Dom rules = new Xpp3Dom("rules");
+        rules.addChild(new Xpp3Dom(rule));
+        Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(rules);
+
+        PluginExecution execution = new PluginExecution();
+        execution.setId(id);
+        execution.addGoal("enforce");
+        execution.setConfiguration(configuration);
+        return execution;
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+File report = new File( basedir, 'module1/target/enforcer-metrics.json' )
+assert report.isFile()
+assert report.text.contains( '"project": "org.apache.maven.its.enforcer:module1:jar:1.0-SNAPSHOT"' )
+assert report.text.contains( '"rule": "org.apache.maven.enforcer.rules.AlwaysPass"' )
+assert report.text.contains( '"rule": "org.apache.maven.enforcer.rules.dependency.DependencyConvergence"' )
+assert report.text.contains( '"graphCollections": 1' )
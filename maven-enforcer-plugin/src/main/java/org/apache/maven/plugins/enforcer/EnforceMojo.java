@@ -18,22 +18,39 @@
  */
 package org.apache.maven.plugins.enforcer;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
+import org.apache.maven.enforcer.rule.api.AbstractAsyncEnforcerRule;
 import org.apache.maven.enforcer.rule.api.AbstractEnforcerRule;
 import org.apache.maven.enforcer.rule.api.AbstractEnforcerRuleConfigProvider;
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
 import org.apache.maven.enforcer.rule.api.EnforcerLevel;
 import org.apache.maven.enforcer.rule.api.EnforcerRule;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleBase;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleError;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolation;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleViolationException;
+import org.apache.maven.enforcer.rules.utils.EnforcerEvents;
+import org.apache.maven.enforcer.rules.utils.EventSpan;
+import org.apache.maven.enforcer.rules.utils.ExecutionCounters;
+import org.apache.maven.enforcer.rules.utils.SharedResources;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecution;
@@ -45,11 +62,20 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.enforcer.internal.AsyncRuleExecutor;
+import org.apache.maven.plugins.enforcer.internal.BoundedCache;
+import org.apache.maven.plugins.enforcer.internal.CacheScope;
 import org.apache.maven.plugins.enforcer.internal.DefaultEnforcementRuleHelper;
+import org.apache.maven.plugins.enforcer.internal.EnforcerLegacyRuleCache;
+import org.apache.maven.plugins.enforcer.internal.EnforcerMetrics;
 import org.apache.maven.plugins.enforcer.internal.EnforcerRuleCache;
 import org.apache.maven.plugins.enforcer.internal.EnforcerRuleDesc;
 import org.apache.maven.plugins.enforcer.internal.EnforcerRuleManager;
 import org.apache.maven.plugins.enforcer.internal.EnforcerRuleManagerException;
+import org.apache.maven.plugins.enforcer.internal.IncrementalState;
+import org.apache.maven.plugins.enforcer.internal.RuleMetrics;
+import org.apache.maven.plugins.enforcer.internal.RuleScheduler;
+import org.apache.maven.plugins.enforcer.internal.RuleWatchdog;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
@@ -68,10 +94,12 @@ import org.codehaus.plexus.util.StringUtils;
         requiresDependencyCollection = ResolutionScope.TEST,
         threadSafe = true)
 public class EnforceMojo extends AbstractMojo {
+
     /**
-     * This is a static variable used to persist the cached results across plugin invocations.
+     * System properties with JDK, Maven and OS versions included in a digest of the incremental mode.
      */
-    protected static Map<String, EnforcerRule> cache = new ConcurrentHashMap<>();
+    private static final List<String> INCREMENTAL_SYSTEM_PROPERTIES = Arrays.asList(
+            "java.version", "java.vendor", "java.home", "maven.version", "os.name", "os.arch", "os.version");
 
     /**
      * MojoExecution needed by the ExpressionEvaluator
@@ -152,6 +180,42 @@ public class EnforceMojo extends AbstractMojo {
     @Parameter(property = "enforcer.ignoreCache", defaultValue = "false")
     protected boolean ignoreCache = false;
 
+    /**
+     * Lifetime of cached results of rules implementing the deprecated <code>EnforcerRule</code> API:
+     * <code>SESSION</code> keeps them during one build, <code>DAEMON</code> keeps them across builds
+     * while Maven runs as a daemon, e.g. with mvnd. Caches are limited by number and age of entries.
+     *
+     * @since 3.6.4
+     */
+    @Parameter(property = "enforcer.cacheScope", defaultValue = "SESSION")
+    private CacheScope cacheScope = CacheScope.SESSION;
+
+    /**
+     * Flag to collect metrics of rule executions: wall time, CPU time, allocated bytes, cache usage and
+     * size of collected dependency graphs. Metrics are written to <code>target/enforcer-metrics.json</code>
+     * of each project. With <code>maven-enforcer-extension</code> registered the slowest rules of the whole build
+     * are logged at the end of the session.
+     *
+     * @since 3.6.4
+     */
+    @Parameter(property = "enforcer.metrics", defaultValue = "false")
+    private boolean metrics = false;
+
+    /**
+     * Flag to skip rules of a project when their inputs are unchanged since the last execution in which all rules
+     * passed. Inputs are the effective POM, resolved dependencies with their files, rules configuration,
+     * user properties and JDK, Maven and OS versions. A digest of them is stored in
+     * <code>target/enforcer-incremental</code>.
+     * <p>
+     * Other inputs, like files checked by rules or environment variables, are not tracked, so rules observing
+     * them should not be used with this flag. Environment variables referenced in the POM are tracked as a part
+     * of the effective POM.
+     *
+     * @since 3.6.4
+     */
+    @Parameter(property = "enforcer.incremental", defaultValue = "false")
+    private boolean incremental = false;
+
     @Component
     private PlexusContainer container;
 
@@ -161,8 +225,16 @@ public class EnforceMojo extends AbstractMojo {
     @Component
     private EnforcerRuleCache ruleCache;
 
+    @Component
+    private EnforcerLegacyRuleCache legacyRuleCache;
+
+    @Component
+    private EnforcerMetrics enforcerMetrics;
+
     private List<String> rulesToExecute;
 
+    private boolean rulesWarned;
+
     /**
      * List of strings that matches the EnforcerRules to execute. Replacement for the <code>rules</code> property.
      *
@@ -211,12 +283,15 @@ public class EnforceMojo extends AbstractMojo {
         List<EnforcerRuleDesc> rulesList;
 
         // current behavior - rules from command line override all other configured rules.
-        List<EnforcerRuleDesc> allRules = enforcerRuleManager.createRules(rulesFromCommandLine.orElse(rules), log);
+        PlexusConfiguration rulesConfig = rulesFromCommandLine.orElse(rules);
+        List<EnforcerRuleDesc> allRules = enforcerRuleManager.createRules(rulesConfig, log);
         rulesList = filterOutSkippedRules(allRules);
 
-        List<EnforcerRuleDesc> additionalRules = processRuleConfigProviders(rulesList);
+        List<XmlPlexusConfiguration> providedRulesConfigs = processRuleConfigProviders(rulesList);
         rulesList = filterOutRuleConfigProviders(rulesList);
-        rulesList.addAll(additionalRules);
+        for (XmlPlexusConfiguration providedRulesConfig : providedRulesConfigs) {
+            rulesList.addAll(enforcerRuleManager.createRules(providedRulesConfig, log));
+        }
 
         if (rulesList.isEmpty()) {
             if (failIfNoRules) {
@@ -228,6 +303,17 @@ public class EnforceMojo extends AbstractMojo {
             }
         }
 
+        IncrementalState incrementalState = incremental ? IncrementalState.of(project, getExecutionId()) : null;
+        String inputsDigest = null;
+        if (incrementalState != null) {
+            inputsDigest = computeInputsDigest(rulesConfig, providedRulesConfigs, rulesList);
+            if (incrementalState.isUpToDate(inputsDigest)) {
+                log.info("Skipping Rule Enforcement, inputs are unchanged since the last successful execution.");
+                return;
+            }
+            invalidateIncrementalState(incrementalState);
+        }
+
         // create my helper
         PluginParameterExpressionEvaluator evaluator = new PluginParameterExpressionEvaluator(session, mojoExecution);
         EnforcerRuleHelper helper = new DefaultEnforcementRuleHelper(session, evaluator, log, container);
@@ -238,50 +324,222 @@ public class EnforceMojo extends AbstractMojo {
             failFast = false;
         }
 
-        List<String> errorMessages = new ArrayList<>();
+        // messages are kept in order of rules, also when asynchronous rules complete later
+        Map<Integer, String> errorMessages = new TreeMap<>();
+        List<PendingRule> pendingRules = new ArrayList<>();
 
-        // go through each rule
-        for (int ruleIndex = 0; ruleIndex < rulesList.size(); ruleIndex++) {
+        // rules still running in background are asked to stop when the build is broken by another rule
+        EnforcerCancellationToken cancellationToken = new EnforcerCancellationToken();
+        rulesList.stream()
+                .map(EnforcerRuleDesc::getRule)
+                .filter(AbstractEnforcerRule.class::isInstance)
+                .forEach(rule -> ((AbstractEnforcerRule) rule).setCancellationToken(cancellationToken));
 
-            EnforcerRuleDesc ruleDesc = rulesList.get(ruleIndex);
-            EnforcerLevel level = ruleDesc.getLevel();
+        try (AsyncRuleExecutor asyncRuleExecutor = AsyncRuleExecutor.forAsyncRules(session, project);
+                AsyncRuleExecutor expensiveRuleExecutor = AsyncRuleExecutor.forExpensiveRules(session, project);
+                RuleWatchdog ruleWatchdog = new RuleWatchdog()) {
             try {
-                executeRule(ruleIndex, ruleDesc, helper);
-            } catch (EnforcerRuleError e) {
-                String ruleMessage = createRuleMessage(ruleIndex, ruleDesc, EnforcerLevel.ERROR, e);
-                throw new MojoExecutionException(System.lineSeparator() + ruleMessage, e);
-            } catch (EnforcerRuleException e) {
-
-                String ruleMessage = createRuleMessage(ruleIndex, ruleDesc, level, e);
-
-                if (failFast && level == EnforcerLevel.ERROR) {
-                    throw new MojoExecutionException(System.lineSeparator() + ruleMessage, e);
+                // go through each rule, cheap rules first with failFast
+                for (int ruleIndex : RuleScheduler.executionOrder(rulesList, failFast)) {
+
+                    EnforcerRuleDesc ruleDesc = rulesList.get(ruleIndex);
+                    RuleMetrics.Probe probe = metrics ? enforcerMetrics.start() : null;
+                    RuleMetrics.Outcome outcome = RuleMetrics.Outcome.FAILED;
+                    try {
+                        // with failFast an expensive rule doesn't delay cheaper rules configured after it
+                        if (ruleDesc.getRule() instanceof AbstractAsyncEnforcerRule
+                                || (failFast && ruleDesc.getCost() == EnforcerRuleCost.JAR_SCAN)) {
+                            PendingRule pendingRule = startRuleInBackground(
+                                    ruleIndex,
+                                    ruleDesc,
+                                    helper,
+                                    asyncRuleExecutor,
+                                    expensiveRuleExecutor,
+                                    ruleWatchdog,
+                                    probe);
+                            if (pendingRule != null) {
+                                // the result is handled when all rules are started
+                                pendingRules.add(pendingRule);
+                                probe = null;
+                                continue;
+                            }
+                            outcome = RuleMetrics.Outcome.CACHED;
+                        } else if (ruleDesc.getTimeout() != null) {
+                            // the rule is executed on another thread, so the build is not blocked when it hangs
+                            PendingRule pendingRule = startRuleInBackground(
+                                    ruleIndex,
+                                    ruleDesc,
+                                    helper,
+                                    asyncRuleExecutor,
+                                    asyncRuleExecutor,
+                                    ruleWatchdog,
+                                    probe);
+                            if (pendingRule != null) {
+                                probe = null;
+                                completeRule(pendingRule, errorMessages);
+                                continue;
+                            }
+                            outcome = RuleMetrics.Outcome.CACHED;
+                        } else {
+                            outcome = executeRule(ruleIndex, ruleDesc, helper)
+                                    ? RuleMetrics.Outcome.PASSED
+                                    : RuleMetrics.Outcome.CACHED;
+                        }
+                    } catch (EnforcerRuleException e) {
+                        outcome = handleRuleFailure(ruleIndex, ruleDesc, e, errorMessages);
+                    } finally {
+                        recordMetrics(probe, ruleIndex, ruleDesc, outcome);
+                    }
                 }
 
-                if (level == EnforcerLevel.ERROR) {
-                    errorMessages.add(ruleMessage);
-                } else {
-                    log.warn(ruleMessage);
+                for (PendingRule pendingRule : pendingRules) {
+                    completeRule(pendingRule, errorMessages);
                 }
+            } catch (MojoExecutionException | RuntimeException e) {
+                // executors are closed afterwards, so rules get a reason before their threads are interrupted
+                cancellationToken.cancel("execution of rules was stopped by a failure of another rule");
+                throw e;
+            }
+        } finally {
+            // e.g. dependency graphs shared by rules are not needed by other executions
+            SharedResources.of(session.getRepositorySession()).release(project);
+            if (metrics) {
+                writeMetricsReport();
             }
         }
 
         if (!errorMessages.isEmpty()) {
             if (fail) {
                 throw new MojoExecutionException(
-                        System.lineSeparator() + String.join(System.lineSeparator(), errorMessages));
+                        System.lineSeparator() + String.join(System.lineSeparator(), errorMessages.values()));
             } else {
-                errorMessages.forEach(log::warn);
+                errorMessages.values().forEach(log::warn);
+            }
+        } else if (incrementalState != null && !rulesWarned) {
+            storeIncrementalState(incrementalState, inputsDigest);
+        }
+    }
+
+    private String computeInputsDigest(
+            PlexusConfiguration rulesConfig,
+            List<XmlPlexusConfiguration> providedRulesConfigs,
+            List<EnforcerRuleDesc> rulesList)
+            throws MojoExecutionException {
+        IncrementalState.Digest digest = new IncrementalState.Digest()
+                .add("plugin", mojoExecution.getMojoDescriptor().getPluginDescriptor().getId())
+                .add("execution", getExecutionId())
+                .add("rules", rulesList.stream().map(EnforcerRuleDesc::getName).collect(Collectors.toList()))
+                .addConfiguration(rulesConfig);
+        providedRulesConfigs.forEach(digest::addConfiguration);
+        try {
+            digest.addModel(project.getModel());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not compute digest of project model", e);
+        }
+        // environment variables, also in system properties, change with each shell, e.g. OLDPWD or SHLVL
+        Properties systemProperties = session.getSystemProperties();
+        Properties facts = new Properties();
+        for (String key : INCREMENTAL_SYSTEM_PROPERTIES) {
+            String value = systemProperties.getProperty(key);
+            if (value != null) {
+                facts.setProperty(key, value);
+            }
+        }
+        return digest.addArtifacts(project.getArtifacts())
+                .addProperties("user", session.getUserProperties())
+                .addProperties("system", facts)
+                .toHex();
+    }
+
+    private void invalidateIncrementalState(IncrementalState incrementalState) throws MojoExecutionException {
+        try {
+            incrementalState.invalidate();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not delete " + incrementalState.getStateFile(), e);
+        }
+    }
+
+    private void storeIncrementalState(IncrementalState incrementalState, String inputsDigest) {
+        try {
+            incrementalState.passed(inputsDigest);
+        } catch (IOException e) {
+            getLog().warn("Could not write " + incrementalState.getStateFile() + ": " + e.getMessage());
+        }
+    }
+
+    private String getExecutionId() {
+        return mojoExecution.getExecutionId() == null ? "default" : mojoExecution.getExecutionId();
+    }
+
+    /**
+     * Apply the rule level and {@code failFast} on a failed rule.
+     *
+     * @return an outcome of the rule for metrics
+     */
+    private RuleMetrics.Outcome handleRuleFailure(
+            int ruleIndex, EnforcerRuleDesc ruleDesc, EnforcerRuleException e, Map<Integer, String> errorMessages)
+            throws MojoExecutionException {
+
+        if (e instanceof EnforcerRuleError) {
+            String ruleMessage = createRuleMessage(ruleIndex, ruleDesc, EnforcerLevel.ERROR, e);
+            throw new MojoExecutionException(System.lineSeparator() + ruleMessage, e);
+        }
+
+        EnforcerLevel level = ruleDesc.getLevel();
+        String ruleMessage = createRuleMessage(ruleIndex, ruleDesc, level, e);
+
+        if (e instanceof EnforcerRuleViolationException && getLog().isDebugEnabled()) {
+            for (EnforcerRuleViolation violation : ((EnforcerRuleViolationException) e).getViolations()) {
+                getLog().debug(String.format("Rule %d: %s violation: %s", ruleIndex, getRuleName(ruleDesc), violation));
             }
         }
+
+        if (failFast && level == EnforcerLevel.ERROR) {
+            throw new MojoExecutionException(System.lineSeparator() + ruleMessage, e);
+        }
+
+        if (level == EnforcerLevel.ERROR) {
+            errorMessages.put(ruleIndex, ruleMessage);
+            return RuleMetrics.Outcome.FAILED;
+        } else {
+            getLog().warn(ruleMessage);
+            rulesWarned = true;
+            return RuleMetrics.Outcome.WARNED;
+        }
     }
 
-    private List<EnforcerRuleDesc> processRuleConfigProviders(List<EnforcerRuleDesc> rulesList) {
+    private void completeRule(PendingRule pendingRule, Map<Integer, String> errorMessages)
+            throws MojoExecutionException {
+        RuleMetrics.Outcome outcome = RuleMetrics.Outcome.FAILED;
+        try {
+            awaitRule(pendingRule);
+            outcome = RuleMetrics.Outcome.PASSED;
+        } catch (EnforcerRuleException e) {
+            outcome = handleRuleFailure(pendingRule.ruleIndex, pendingRule.ruleDesc, e, errorMessages);
+        } finally {
+            pendingRule.event.close();
+            recordMetrics(pendingRule.probe, pendingRule.ruleIndex, pendingRule.ruleDesc, outcome);
+        }
+    }
+
+    private void recordMetrics(
+            RuleMetrics.Probe probe, int ruleIndex, EnforcerRuleDesc ruleDesc, RuleMetrics.Outcome outcome) {
+        if (probe != null) {
+            enforcerMetrics.record(probe.stop(
+                    project.getId(),
+                    mojoExecution.getExecutionId(),
+                    ruleIndex,
+                    getRuleName(ruleDesc),
+                    ruleDesc.getLevel(),
+                    outcome));
+        }
+    }
+
+    private List<XmlPlexusConfiguration> processRuleConfigProviders(List<EnforcerRuleDesc> rulesList) {
         return rulesList.stream()
                 .filter(Objects::nonNull)
                 .filter(rd -> rd.getRule() instanceof AbstractEnforcerRuleConfigProvider)
                 .map(this::executeRuleConfigProvider)
-                .flatMap(xml -> enforcerRuleManager.createRules(xml, getLog()).stream())
                 .collect(Collectors.toList());
     }
 
@@ -309,7 +567,18 @@ public class EnforceMojo extends AbstractMojo {
         }
     }
 
-    private void executeRule(int ruleIndex, EnforcerRuleDesc ruleDesc, EnforcerRuleHelper helper)
+    private void writeMetricsReport() {
+        try {
+            enforcerMetrics.writeReport(project);
+        } catch (IOException e) {
+            getLog().warn("Unable to write enforcer metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return {@code false} if the rule was not executed because of a cached result
+     */
+    private boolean executeRule(int ruleIndex, EnforcerRuleDesc ruleDesc, EnforcerRuleHelper helper)
             throws EnforcerRuleException {
 
         if (getLog().isDebugEnabled()) {
@@ -318,12 +587,16 @@ public class EnforceMojo extends AbstractMojo {
 
         long startTime = System.currentTimeMillis();
 
-        try {
+        try (EventSpan event = EnforcerEvents.ruleExecution(
+                ruleDesc.getName(), ruleDesc.getRule().getClass(), project)) {
+            boolean executed = true;
             if (ruleDesc.getRule() instanceof EnforcerRule) {
-                executeRuleOld(ruleIndex, ruleDesc, helper);
+                executed = executeRuleOld(ruleIndex, ruleDesc, helper);
             } else if (ruleDesc.getRule() instanceof AbstractEnforcerRule) {
-                executeRuleNew(ruleIndex, ruleDesc);
+                executed = executeRuleNew(ruleIndex, ruleDesc);
             }
+            event.setCacheOutcome(executed ? EventSpan.CACHE_MISS : EventSpan.CACHE_HIT);
+            return executed;
         } finally {
             if (getLog().isDebugEnabled()) {
                 long workTime = System.currentTimeMillis() - startTime;
@@ -333,7 +606,7 @@ public class EnforceMojo extends AbstractMojo {
         }
     }
 
-    private void executeRuleOld(int ruleIndex, EnforcerRuleDesc ruleDesc, EnforcerRuleHelper helper)
+    private boolean executeRuleOld(int ruleIndex, EnforcerRuleDesc ruleDesc, EnforcerRuleHelper helper)
             throws EnforcerRuleException {
 
         EnforcerRule rule = (EnforcerRule) ruleDesc.getRule();
@@ -341,16 +614,161 @@ public class EnforceMojo extends AbstractMojo {
         if (ignoreCache || shouldExecute(rule)) {
             rule.execute(helper);
             getLog().info(String.format("Rule %d: %s passed", ruleIndex, getRuleName(ruleDesc)));
+            return true;
         }
+        return false;
     }
 
-    private void executeRuleNew(int ruleIndex, EnforcerRuleDesc ruleDesc) throws EnforcerRuleException {
+    private boolean executeRuleNew(int ruleIndex, EnforcerRuleDesc ruleDesc) throws EnforcerRuleException {
 
         AbstractEnforcerRule rule = (AbstractEnforcerRule) ruleDesc.getRule();
         if (ignoreCache || !ruleCache.isCached(rule)) {
             rule.execute();
             getLog().info(String.format("Rule %d: %s passed", ruleIndex, getRuleName(ruleDesc)));
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Start an asynchronous rule, or an expensive rule or a rule with a timeout on a separate thread.
+     *
+     * @return a started rule, or {@code null} if the rule was not executed because of a cached result
+     */
+    private PendingRule startRuleInBackground(
+            int ruleIndex,
+            EnforcerRuleDesc ruleDesc,
+            EnforcerRuleHelper helper,
+            Executor asyncRuleExecutor,
+            Executor threadExecutor,
+            RuleWatchdog ruleWatchdog,
+            RuleMetrics.Probe probe) {
+
+        EnforcerRuleBase rule = ruleDesc.getRule();
+        boolean cached = !ignoreCache
+                && (rule instanceof EnforcerRule
+                        ? !shouldExecute((EnforcerRule) rule)
+                        : ruleCache.isCached((AbstractEnforcerRule) rule));
+        if (cached) {
+            try (EventSpan event = EnforcerEvents.ruleExecution(ruleDesc.getName(), rule.getClass(), project)) {
+                event.setCacheOutcome(EventSpan.CACHE_HIT);
+            }
+            return null;
+        }
+
+        if (getLog().isDebugEnabled()) {
+            getLog().debug(String.format("Executing Rule %d in background: %s", ruleIndex, ruleDesc));
+        }
+
+        Duration timeout = ruleDesc.getTimeout();
+        EnforcerCancellationToken cancellationToken;
+        if (rule instanceof AbstractEnforcerRule) {
+            AbstractEnforcerRule abstractRule = (AbstractEnforcerRule) rule;
+            if (timeout != null) {
+                abstractRule.setCancellationToken(new EnforcerCancellationToken(abstractRule.getCancellationToken()));
+            }
+            cancellationToken = abstractRule.getCancellationToken();
+        } else {
+            // rules implementing an old API don't know a cancellation token, they are only interrupted
+            cancellationToken = new EnforcerCancellationToken();
+        }
+
+        EventSpan event = EnforcerEvents.ruleExecution(ruleDesc.getName(), rule.getClass(), project);
+        event.setCacheOutcome(EventSpan.CACHE_MISS);
+        CompletableFuture<Void> result;
+        try {
+            if (rule instanceof AbstractAsyncEnforcerRule) {
+                result = Objects.requireNonNull(
+                                ((AbstractAsyncEnforcerRule) rule).executeAsync(asyncRuleExecutor),
+                                "executeAsync returned null for " + getRuleName(ruleDesc))
+                        .toCompletableFuture();
+                if (timeout != null) {
+                    // a separate result, so the watchdog doesn't complete a stage owned by the rule
+                    CompletableFuture<Void> ruleResult = result;
+                    result = new CompletableFuture<>();
+                    ruleResult.whenComplete(completeWith(result));
+                    ruleWatchdog.watch(timeout, null, result, cancellationToken);
+                }
+            } else {
+                RuleExecution execution = rule instanceof EnforcerRule
+                        ? () -> ((EnforcerRule) rule).execute(helper)
+                        : ((AbstractEnforcerRule) rule)::execute;
+                CompletableFuture<Void> ruleResult = new CompletableFuture<>();
+                threadExecutor.execute(() -> executeRuleOnThread(
+                        execution, timeout, cancellationToken, probe, ruleWatchdog, ruleResult));
+                result = ruleResult;
+            }
+        } catch (RuntimeException e) {
+            event.close();
+            throw e;
+        }
+        if (probe != null) {
+            probe.detach();
+        }
+        return new PendingRule(ruleIndex, ruleDesc, result, event, probe);
+    }
+
+    private static void executeRuleOnThread(
+            RuleExecution execution,
+            Duration timeout,
+            EnforcerCancellationToken cancellationToken,
+            RuleMetrics.Probe probe,
+            RuleWatchdog ruleWatchdog,
+            CompletableFuture<Void> result) {
+        RuleWatchdog.Watch watch =
+                timeout != null ? ruleWatchdog.watch(timeout, Thread.currentThread(), result, cancellationToken) : null;
+        ExecutionCounters counters = probe != null ? ExecutionCounters.start() : null;
+        Throwable failure = null;
+        try {
+            execution.execute();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            // the watch is stopped before the result is completed, so the thread is clean for a next rule
+            if (watch != null) {
+                watch.stop();
+            }
+            if (counters != null) {
+                ExecutionCounters.stop();
+                probe.include(counters);
+            }
+        }
+        if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(null);
+        }
+    }
+
+    private static BiConsumer<Void, Throwable> completeWith(CompletableFuture<Void> result) {
+        return (value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        };
+    }
+
+    private void awaitRule(PendingRule pendingRule) throws EnforcerRuleException, MojoExecutionException {
+        try {
+            pendingRule.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException(
+                    "Waiting for rule " + getRuleName(pendingRule.ruleDesc) + " was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof EnforcerRuleException) {
+                throw (EnforcerRuleException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new EnforcerRuleError(cause);
+        }
+        getLog().info(String.format("Rule %d: %s passed", pendingRule.ruleIndex, getRuleName(pendingRule.ruleDesc)));
     }
 
     /**
@@ -413,9 +831,11 @@ public class EnforceMojo extends AbstractMojo {
             Log log = this.getLog();
             log.debug("Rule " + rule.getClass().getName() + " is cacheable.");
             String key = rule.getClass().getName() + " " + rule.getCacheId();
-            if (EnforceMojo.cache.containsKey(key)) {
+            BoundedCache<String, EnforcerRule> cache = legacyRuleCache.getCache(cacheScope);
+            EnforcerRule cachedRule = cache.get(key);
+            if (cachedRule != null) {
                 log.debug("Key " + key + " was found in the cache");
-                if (rule.isResultValid(cache.get(key))) {
+                if (rule.isResultValid(cachedRule)) {
                     log.debug("The cached results are still valid. Skipping the rule: "
                             + rule.getClass().getName());
                     return false;
@@ -423,7 +843,10 @@ public class EnforceMojo extends AbstractMojo {
             }
 
             // add it to the cache of executed rules
-            EnforceMojo.cache.put(key, rule);
+            cache.put(key, rule);
+            if (log.isDebugEnabled()) {
+                log.debug("Cache of rules for " + cacheScope + " scope: " + cache.getStats());
+            }
         }
         return true;
     }
@@ -470,7 +893,11 @@ public class EnforceMojo extends AbstractMojo {
             result.append(" warned");
         }
 
-        if (e.getMessage() != null) {
+        if (e instanceof EnforcerRuleViolationException) {
+            // violations are rendered directly into the rule message
+            result.append(" with message:").append(System.lineSeparator());
+            ((EnforcerRuleViolationException) e).renderMessage(result);
+        } else if (e.getMessage() != null) {
             result.append(" with message:").append(System.lineSeparator()).append(e.getMessage());
         } else {
             result.append(" without a message");
@@ -498,4 +925,48 @@ public class EnforceMojo extends AbstractMojo {
     public void setFailIfNoRules(boolean failIfNoRules) {
         this.failIfNoRules = failIfNoRules;
     }
+
+    /**
+     * @param incremental whether to skip rules with unchanged inputs
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * An execution of a rule of the current or the old API.
+     */
+    @FunctionalInterface
+    private interface RuleExecution {
+        void execute() throws EnforcerRuleException;
+    }
+
+    /**
+     * A rule which was started in background and whose result is not handled yet.
+     */
+    private static final class PendingRule {
+
+        private final int ruleIndex;
+
+        private final EnforcerRuleDesc ruleDesc;
+
+        private final CompletableFuture<Void> result;
+
+        private final EventSpan event;
+
+        private final RuleMetrics.Probe probe;
+
+        private PendingRule(
+                int ruleIndex,
+                EnforcerRuleDesc ruleDesc,
+                CompletableFuture<Void> result,
+                EventSpan event,
+                RuleMetrics.Probe probe) {
+            this.ruleIndex = ruleIndex;
+            this.ruleDesc = ruleDesc;
+            this.result = result;
+            this.event = event;
+            this.probe = probe;
+        }
+    }
 }
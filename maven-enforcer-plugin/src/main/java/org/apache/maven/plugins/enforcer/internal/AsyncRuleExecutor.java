@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Executor for rules of one plugin execution which are executed in background.
+ * <p>
+ * Threads are started on demand, so executions without such rules don't start any thread.
+ * The current project of a session is kept per thread, so it is set for each executed task.
+ *
+ * @since 3.6.4
+ */
+public final class AsyncRuleExecutor implements Executor, AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final MavenSession session;
+
+    private final MavenProject project;
+
+    private final String threadNamePrefix;
+
+    private final Function<ThreadFactory, ExecutorService> executorServiceFactory;
+
+    private ExecutorService executorService;
+
+    private AsyncRuleExecutor(
+            MavenSession session,
+            MavenProject project,
+            String threadNamePrefix,
+            Function<ThreadFactory, ExecutorService> executorServiceFactory) {
+        this.session = session;
+        this.project = project;
+        this.threadNamePrefix = threadNamePrefix;
+        this.executorServiceFactory = executorServiceFactory;
+    }
+
+    /**
+     * Executor for {@link org.apache.maven.enforcer.rule.api.AbstractAsyncEnforcerRule}, a new thread is started
+     * for each task when no idle thread is available, as asynchronous rules are expected to wait for I/O.
+     *
+     * @param session a Maven session
+     * @param project a project checked by rules
+     * @return a new executor
+     */
+    public static AsyncRuleExecutor forAsyncRules(MavenSession session, MavenProject project) {
+        return new AsyncRuleExecutor(session, project, "enforcer-rule-", Executors::newCachedThreadPool);
+    }
+
+    /**
+     * Executor for rules with {@link org.apache.maven.enforcer.rule.api.EnforcerRuleCost#JAR_SCAN} cost,
+     * which are executed one by one on a single thread.
+     *
+     * @param session a Maven session
+     * @param project a project checked by rules
+     * @return a new executor
+     */
+    public static AsyncRuleExecutor forExpensiveRules(MavenSession session, MavenProject project) {
+        return new AsyncRuleExecutor(session, project, "enforcer-expensive-rule-", Executors::newSingleThreadExecutor);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        getExecutorService().execute(() -> {
+            MavenProject previousProject = session.getCurrentProject();
+            session.setCurrentProject(project);
+            try {
+                command.run();
+            } finally {
+                session.setCurrentProject(previousProject);
+            }
+        });
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, threadNamePrefix + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            executorService = executorServiceFactory.apply(threadFactory);
+        }
+        return executorService;
+    }
+
+    /**
+     * Stop all threads, tasks of rules which are still running are interrupted.
+     */
+    @Override
+    public synchronized void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+}
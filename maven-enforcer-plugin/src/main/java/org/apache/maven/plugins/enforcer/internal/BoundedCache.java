@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread safe cache limited by a number of entries and by an age of entries.
+ * <p>
+ * When the cache is full, the oldest entry is evicted. Entries older than a maximum age are expired
+ * when they are requested, or when a new entry is added.
+ *
+ * @param <K> a type of keys
+ * @param <V> a type of values
+ * @since 3.6.4
+ */
+public final class BoundedCache<K, V> {
+
+    private final int maxSize;
+
+    private final long maxAgeNanos;
+
+    private final LongSupplier clock;
+
+    /**
+     * Entries in order of insertion, so the first one is also the oldest one.
+     */
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private long expirations;
+
+    /**
+     * @param maxSize a maximum number of entries
+     * @param maxAge  a maximum age of entries
+     */
+    public BoundedCache(int maxSize, Duration maxAge) {
+        this(maxSize, maxAge, System::nanoTime);
+    }
+
+    BoundedCache(int maxSize, Duration maxAge, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * @param key a key
+     * @return a cached value, or {@code null} when there is no entry or the entry is expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && isExpired(entry, clock.getAsLong())) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Add or replace an entry, the entry becomes the newest one.
+     *
+     * @param key   a key
+     * @param value a value
+     */
+    public synchronized void put(K key, V value) {
+        long now = clock.getAsLong();
+        entries.remove(key);
+        expireEntries(now);
+        while (entries.size() >= maxSize) {
+            Iterator<Map.Entry<K, Entry<V>>> oldest = entries.entrySet().iterator();
+            oldest.next();
+            oldest.remove();
+            evictions++;
+        }
+        entries.put(key, new Entry<>(value, now));
+    }
+
+    /**
+     * Remove all entries, statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return a number of entries, including expired ones which were not removed yet
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return statistics of the cache usage
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, expirations, entries.size());
+    }
+
+    private void expireEntries(long now) {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext() && isExpired(iterator.next(), now)) {
+            iterator.remove();
+            expirations++;
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.created > maxAgeNanos;
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long created;
+
+        private Entry(V value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+    }
+
+    /**
+     * Statistics of a cache usage.
+     */
+    public static final class Stats {
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long evictions;
+
+        private final long expirations;
+
+        private final int size;
+
+        Stats(long hits, long misses, long evictions, long expirations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return a number of entries removed because the cache was full
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * @return a number of entries removed because they were too old
+         */
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "hits=%d, misses=%d, evictions=%d, expirations=%d, size=%d",
+                    hits, misses, evictions, expirations, size);
+        }
+    }
+}
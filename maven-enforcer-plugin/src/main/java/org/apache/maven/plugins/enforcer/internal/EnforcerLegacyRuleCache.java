@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.time.Duration;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRule;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Storage of cacheable rules implementing the deprecated {@link EnforcerRule} API,
+ * used to check {@link EnforcerRule#isResultValid(EnforcerRule)} of later executions.
+ * <p>
+ * Caches are bounded by a number of entries and by an age of entries, so rules and objects referenced by them
+ * are not kept forever by long-lived processes.
+ *
+ * @since 3.6.4
+ */
+@Named
+@Singleton
+public class EnforcerLegacyRuleCache {
+
+    static final int MAX_SIZE = 1000;
+
+    static final Duration MAX_AGE = Duration.ofHours(1);
+
+    private static final String SESSION_DATA_KEY = "enforcer-legacy-cache";
+
+    private final Provider<MavenSession> sessionProvider;
+
+    private final BoundedCache<String, EnforcerRule> daemonCache = new BoundedCache<>(MAX_SIZE, MAX_AGE);
+
+    @Inject
+    public EnforcerLegacyRuleCache(Provider<MavenSession> sessionProvider) {
+        this.sessionProvider = sessionProvider;
+    }
+
+    /**
+     * @param scope a lifetime of cached rules
+     * @return a cache of rules for given scope
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache<String, EnforcerRule> getCache(CacheScope scope) {
+        if (scope == CacheScope.DAEMON) {
+            return daemonCache;
+        }
+
+        SessionData sessionData = sessionProvider.get().getRepositorySession().getData();
+        synchronized (this) {
+            // sessionData.computeIfAbsent() is available in Maven 3.9.x, so do it manually
+            BoundedCache<String, EnforcerRule> cache =
+                    (BoundedCache<String, EnforcerRule>) sessionData.get(SESSION_DATA_KEY);
+            if (cache == null) {
+                cache = new BoundedCache<>(MAX_SIZE, MAX_AGE);
+                sessionData.set(SESSION_DATA_KEY, cache);
+            }
+            return cache;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.SessionData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects metrics of rule executions in a session and writes them as JSON report for each project.
+ * Metrics are also published in session data under {@value #SUMMARY_KEY}, for the summary logged by
+ * <code>maven-enforcer-extension</code>.
+ *
+ * @since 3.6.4
+ */
+@Named
+@Singleton
+public class EnforcerMetrics {
+
+    /**
+     * Name of the report file in the project build directory.
+     */
+    public static final String REPORT_FILE = "enforcer-metrics.json";
+
+    /**
+     * Key of session data with a {@code Collection<Map<String, Object>>}, one map for each rule execution
+     * with keys <code>project</code>, <code>rule</code>, <code>outcome</code> as {@link String} and
+     * <code>wallTimeNanos</code>, <code>cpuTimeNanos</code>, <code>allocatedBytes</code>, <code>graphNodes</code>
+     * as {@link Long}. Only JDK types are used, as the reader is loaded by another class loader.
+     */
+    public static final String SUMMARY_KEY = "maven-enforcer-plugin.ruleMetrics";
+
+    private final Logger logger = LoggerFactory.getLogger(EnforcerMetrics.class);
+
+    private final Provider<MavenSession> sessionProvider;
+
+    @Inject
+    public EnforcerMetrics(Provider<MavenSession> sessionProvider) {
+        this.sessionProvider = sessionProvider;
+    }
+
+    /**
+     * Start measurement of a rule execution on the current thread.
+     *
+     * @return a probe to stop
+     */
+    public RuleMetrics.Probe start() {
+        return new RuleMetrics.Probe();
+    }
+
+    /**
+     * Add metrics of a rule execution.
+     *
+     * @param metrics metrics to add
+     */
+    public void record(RuleMetrics metrics) {
+        getSessionMetrics().add(metrics);
+        getSummary().add(toSummary(metrics));
+    }
+
+    /**
+     * Write all metrics recorded for given project to {@value #REPORT_FILE} in its build directory.
+     *
+     * @param project a project
+     * @throws IOException if report can not be written
+     */
+    public void writeReport(MavenProject project) throws IOException {
+        if (project.getBuild() == null || project.getBuild().getDirectory() == null) {
+            return;
+        }
+        List<RuleMetrics> projectMetrics = getSessionMetrics().forProject(project.getId());
+        Path report = Paths.get(project.getBuild().getDirectory(), REPORT_FILE);
+        Files.createDirectories(report.getParent());
+        try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            writer.write(toJson(project.getId(), projectMetrics));
+        }
+        logger.debug("Enforcer metrics written to {}", report);
+    }
+
+    private SessionMetrics getSessionMetrics() {
+        SessionData sessionData = sessionProvider.get().getRepositorySession().getData();
+        SessionMetrics sessionMetrics = (SessionMetrics) sessionData.get(SessionMetrics.class);
+        if (sessionMetrics == null) {
+            // the first stored instance wins, concurrent modules pick up the same instance
+            sessionData.set(SessionMetrics.class, null, new SessionMetrics());
+            sessionMetrics = (SessionMetrics) sessionData.get(SessionMetrics.class);
+        }
+        return sessionMetrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Map<String, Object>> getSummary() {
+        SessionData sessionData = sessionProvider.get().getRepositorySession().getData();
+        Object summary = sessionData.get(SUMMARY_KEY);
+        if (summary == null) {
+            sessionData.set(SUMMARY_KEY, null, new ConcurrentLinkedQueue<Map<String, Object>>());
+            summary = sessionData.get(SUMMARY_KEY);
+        }
+        return (Collection<Map<String, Object>>) summary;
+    }
+
+    private static Map<String, Object> toSummary(RuleMetrics metrics) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("project", metrics.getProjectId());
+        summary.put("rule", metrics.getRuleName());
+        summary.put("outcome", metrics.getOutcome().name());
+        summary.put("wallTimeNanos", metrics.getWallTimeNanos());
+        summary.put("cpuTimeNanos", metrics.getCpuTimeNanos());
+        summary.put("allocatedBytes", metrics.getAllocatedBytes());
+        summary.put("graphNodes", metrics.getGraphNodes());
+        return summary;
+    }
+
+    static String toJson(String projectId, List<RuleMetrics> projectMetrics) {
+        StringBuilder json = new StringBuilder(256 + projectMetrics.size() * 352);
+        json.append("{\n  \"project\": ").append(quote(projectId)).append(",\n  \"rules\": [");
+        for (int i = 0; i < projectMetrics.size(); i++) {
+            RuleMetrics metrics = projectMetrics.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"execution\": ").append(quote(metrics.getExecutionId()));
+            json.append(", \"index\": ").append(metrics.getRuleIndex());
+            json.append(", \"rule\": ").append(quote(metrics.getRuleName()));
+            json.append(", \"level\": ").append(quote(String.valueOf(metrics.getLevel())));
+            json.append(", \"outcome\": ").append(quote(metrics.getOutcome().name()));
+            json.append(", \"cacheHit\": ").append(metrics.isCacheHit());
+            json.append(", \"wallTimeNanos\": ").append(metrics.getWallTimeNanos());
+            json.append(", \"cpuTimeNanos\": ").append(metrics.getCpuTimeNanos());
+            json.append(", \"allocatedBytes\": ").append(metrics.getAllocatedBytes());
+            json.append(", \"graphCollections\": ").append(metrics.getGraphCollections());
+            json.append(", \"graphNodes\": ").append(metrics.getGraphNodes());
+            json.append('}');
+        }
+        json.append(projectMetrics.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+        return json.toString();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Metrics of all rule executions in a session.
+     */
+    private static final class SessionMetrics {
+
+        private final Map<String, ConcurrentLinkedQueue<RuleMetrics>> byProject = new ConcurrentHashMap<>();
+
+        void add(RuleMetrics metrics) {
+            byProject
+                    .computeIfAbsent(metrics.getProjectId(), k -> new ConcurrentLinkedQueue<>())
+                    .add(metrics);
+        }
+
+        List<RuleMetrics> forProject(String projectId) {
+            ConcurrentLinkedQueue<RuleMetrics> projectMetrics = byProject.get(projectId);
+            return projectMetrics == null ? new ArrayList<>() : new ArrayList<>(projectMetrics);
+        }
+    }
+}
@@ -18,8 +18,12 @@
  */
 package org.apache.maven.plugins.enforcer.internal;
 
+import java.time.Duration;
+
+import org.apache.maven.enforcer.rule.api.AbstractEnforcerRule;
 import org.apache.maven.enforcer.rule.api.EnforcerLevel;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleBase;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 
 /**
  * Description of rule to execute.
@@ -33,6 +37,8 @@ public final class EnforcerRuleDesc {
 
     private final EnforcerRuleBase rule;
 
+    private final Duration timeout;
+
     /**
      * Create a new Rule Description
      *
@@ -40,8 +46,25 @@ public final class EnforcerRuleDesc {
      * @param rule  a rule instance
      */
     public EnforcerRuleDesc(String name, EnforcerRuleBase rule) {
+        this(name, rule, null);
+    }
+
+    /**
+     * Create a new Rule Description with a timeout of a rule implementing an old API, which has no timeout property.
+     *
+     * @param name    a rule name
+     * @param rule    a rule instance
+     * @param timeout a maximum time of the rule execution, or {@code null}
+     * @since 3.6.4
+     */
+    public EnforcerRuleDesc(String name, EnforcerRuleBase rule, Duration timeout) {
         this.name = name;
         this.rule = rule;
+        this.timeout = timeout;
+    }
+
+    EnforcerRuleDesc withTimeout(Duration timeout) {
+        return new EnforcerRuleDesc(name, rule, timeout);
     }
 
     public String getName() {
@@ -57,6 +80,38 @@ public final class EnforcerRuleDesc {
         return rule.getLevel();
     }
 
+    /**
+     * @return a cost declared by the rule, rules implementing an old API are treated
+     *         as {@link EnforcerRuleCost#FILE_IO}
+     * @since 3.6.4
+     */
+    public EnforcerRuleCost getCost() {
+        if (rule instanceof AbstractEnforcerRule) {
+            EnforcerRuleCost cost = ((AbstractEnforcerRule) rule).getCost();
+            if (cost != null) {
+                return cost;
+            }
+        }
+        return EnforcerRuleCost.FILE_IO;
+    }
+
+    /**
+     * @return a resource shared by the rule with other rules, or {@code null}
+     * @since 3.6.4
+     */
+    public String getSharedResource() {
+        return rule instanceof AbstractEnforcerRule ? ((AbstractEnforcerRule) rule).getSharedResource() : null;
+    }
+
+    /**
+     * @return a maximum time of the rule execution, or {@code null} when it is not limited,
+     *         rules implementing an old API are limited by a timeout given to the description
+     * @since 3.6.4
+     */
+    public Duration getTimeout() {
+        return rule instanceof AbstractEnforcerRule ? ((AbstractEnforcerRule) rule).getTimeout() : timeout;
+    }
+
     @Override
     public String toString() {
         return String.format("EnforcerRuleDesc[name=%s, rule=%s, level=%s]", name, rule, getLevel());
@@ -23,25 +23,36 @@ import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 
+import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.maven.enforcer.rule.api.AbstractEnforcerRule;
 import org.apache.maven.enforcer.rule.api.EnforcerLevel;
 import org.apache.maven.enforcer.rule.api.EnforcerLogger;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleBase;
+import org.apache.maven.enforcer.rules.utils.EnforcerEvents;
+import org.apache.maven.enforcer.rules.utils.EventSpan;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
 import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
 import org.codehaus.plexus.component.configurator.ComponentConfigurationException;
 import org.codehaus.plexus.component.configurator.ComponentConfigurator;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
 import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.eclipse.aether.SessionData;
 
 /**
  * Manage enforcer rules.
@@ -53,6 +64,10 @@ import org.codehaus.plexus.configuration.PlexusConfiguration;
 @Singleton
 public class EnforcerRuleManager {
 
+    private static final String CONFIGURATION_PLANS_KEY = "enforcer-configuration-plans";
+
+    private static final String TIMEOUT = "timeout";
+
     private final Provider<MavenSession> sessionProvider;
 
     private final Provider<MojoExecution> mojoExecutionProvider;
@@ -99,6 +114,7 @@ public class EnforcerRuleManager {
 
         ExpressionEvaluator evaluator =
                 new PluginParameterExpressionEvaluator(sessionProvider.get(), mojoExecutionProvider.get());
+        MavenProject project = sessionProvider.get().getCurrentProject();
 
         EnforcerLogger enforcerLoggerError = new EnforcerLoggerError(log);
         EnforcerLogger enforcerLoggerWarn = new EnforcerLoggerWarn(log);
@@ -111,9 +127,20 @@ public class EnforcerRuleManager {
                     createRuleDesc(ruleConfig.getName(), ruleConfig.getAttribute("implementation"), log);
             // setup logger before rule configuration
             ruleDesc.getRule().setLog(ruleLevel == EnforcerLevel.ERROR ? enforcerLoggerError : enforcerLoggerWarn);
+
+            PlexusConfiguration timeoutConfig = ruleConfig.getChild(TIMEOUT, false);
+            if (timeoutConfig != null
+                    && !(ruleDesc.getRule() instanceof AbstractEnforcerRule)
+                    && !hasField(ruleDesc.getRule().getClass(), TIMEOUT)) {
+                // the timeout is handled by the plugin, the rule can not be configured with it
+                ruleDesc = ruleDesc.withTimeout(getTimeout(ruleDesc, timeoutConfig, evaluator));
+                ruleConfig = withoutChild(ruleConfig, TIMEOUT);
+            }
             if (ruleConfig.getChildCount() > 0) {
-                try {
-                    componentConfigurator.configureComponent(ruleDesc.getRule(), ruleConfig, evaluator, classRealm);
+                try (EventSpan event = EnforcerEvents.ruleConfiguration(
+                        ruleDesc.getName(), ruleDesc.getRule().getClass(), project)) {
+                    boolean fromPlan = configureRule(ruleDesc.getRule(), ruleConfig, evaluator, classRealm);
+                    event.setCacheOutcome(fromPlan ? EventSpan.CACHE_HIT : EventSpan.CACHE_MISS);
                 } catch (ComponentConfigurationException e) {
                     throw new EnforcerRuleManagerException(e);
                 }
@@ -123,6 +150,94 @@ public class EnforcerRuleManager {
         return result;
     }
 
+    /**
+     * Configure rule instance.
+     * <p>
+     * The first configuration of given rule class and evaluated values is done by {@link ComponentConfigurator},
+     * next instances with the same configuration use a {@link RuleConfigurationPlan} stored in session.
+     *
+     * @return {@code true} if rule was configured by a stored plan
+     */
+    private boolean configureRule(
+            EnforcerRuleBase rule, PlexusConfiguration ruleConfig, ExpressionEvaluator evaluator, ClassRealm classRealm)
+            throws ComponentConfigurationException {
+
+        RuleConfigurationPlan.Key planKey = RuleConfigurationPlan.createKey(rule.getClass(), ruleConfig, evaluator);
+        if (planKey == null) {
+            componentConfigurator.configureComponent(rule, ruleConfig, evaluator, classRealm);
+            return false;
+        }
+
+        Map<RuleConfigurationPlan.Key, RuleConfigurationPlan> plans = getConfigurationPlans();
+        RuleConfigurationPlan plan = plans.get(planKey);
+        if (plan != null && plan.isSupported()) {
+            plan.apply(rule);
+            return true;
+        }
+
+        componentConfigurator.configureComponent(rule, ruleConfig, evaluator, classRealm);
+        if (plan == null) {
+            plans.put(planKey, RuleConfigurationPlan.create(planKey));
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<RuleConfigurationPlan.Key, RuleConfigurationPlan> getConfigurationPlans() {
+        SessionData sessionData = sessionProvider.get().getRepositorySession().getData();
+        Object plans = sessionData.get(CONFIGURATION_PLANS_KEY);
+        if (plans == null) {
+            sessionData.set(CONFIGURATION_PLANS_KEY, null, new ConcurrentHashMap<>());
+            plans = sessionData.get(CONFIGURATION_PLANS_KEY);
+        }
+        return (Map<RuleConfigurationPlan.Key, RuleConfigurationPlan>) plans;
+    }
+
+    /**
+     * A timeout of a rule implementing an old API, in seconds as for {@link AbstractEnforcerRule#getTimeout()}.
+     */
+    private static Duration getTimeout(
+            EnforcerRuleDesc ruleDesc, PlexusConfiguration timeoutConfig, ExpressionEvaluator evaluator) {
+        String value = null;
+        try {
+            Object evaluated = evaluator.evaluate(timeoutConfig.getValue(null));
+            if (evaluated == null) {
+                return null;
+            }
+            value = evaluated.toString().trim();
+            long seconds = Long.parseLong(value);
+            return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (ExpressionEvaluationException | NumberFormatException e) {
+            throw new EnforcerRuleManagerException(
+                    "Invalid timeout " + value + " of rule " + ruleDesc.getName() + ", expected seconds", e);
+        }
+    }
+
+    private static boolean hasField(Class<?> type, String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static PlexusConfiguration withoutChild(PlexusConfiguration configuration, String name) {
+        PlexusConfiguration result =
+                new DefaultPlexusConfiguration(configuration.getName(), configuration.getValue(null));
+        for (String attribute : configuration.getAttributeNames()) {
+            result.setAttribute(attribute, configuration.getAttribute(attribute));
+        }
+        for (PlexusConfiguration child : configuration.getChildren()) {
+            if (!name.equals(child.getName())) {
+                result.addChild(child);
+            }
+        }
+        return result;
+    }
+
     private EnforcerLevel getRuleLevelFromConfig(PlexusConfiguration ruleConfig) {
         PlexusConfiguration levelConfig = ruleConfig.getChild("level", false);
         String level = Optional.ofNullable(levelConfig)
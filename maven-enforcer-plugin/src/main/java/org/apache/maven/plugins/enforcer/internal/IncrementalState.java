@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+
+/**
+ * State of the incremental mode of one plugin execution in a project.
+ * <p>
+ * A digest of inputs observed by rules is stored in the build directory of a project when all rules passed.
+ * When the next build computes the same digest, rules don't need to be executed again.
+ *
+ * @since 3.6.4
+ */
+public final class IncrementalState {
+
+    /**
+     * Directory in the build directory of a project where digests are stored.
+     */
+    public static final String STATE_DIRECTORY = "enforcer-incremental";
+
+    private final Path stateFile;
+
+    private IncrementalState(Path stateFile) {
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * @param project a project
+     * @param executionId an id of a plugin execution
+     * @return a state of given execution, or {@code null} when the project has no build directory
+     */
+    public static IncrementalState of(MavenProject project, String executionId) {
+        if (project.getBuild() == null || project.getBuild().getDirectory() == null) {
+            return null;
+        }
+        return new IncrementalState(
+                Paths.get(project.getBuild().getDirectory(), STATE_DIRECTORY, executionId + ".sha256"));
+    }
+
+    /**
+     * @param digest a digest of current inputs
+     * @return {@code true} if rules passed in a previous build with the same inputs
+     */
+    public boolean isUpToDate(String digest) {
+        try {
+            return Files.isRegularFile(stateFile)
+                    && digest.equals(new String(Files.readAllBytes(stateFile), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Forget a result of a previous build.
+     *
+     * @throws IOException if a stored digest can not be deleted
+     */
+    public void invalidate() throws IOException {
+        Files.deleteIfExists(stateFile);
+    }
+
+    /**
+     * Record that all rules passed for given inputs.
+     *
+     * @param digest a digest of current inputs
+     * @throws IOException if the digest can not be stored
+     */
+    public void passed(String digest) throws IOException {
+        Files.createDirectories(stateFile.getParent());
+        Files.write(stateFile, digest.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return a file where the digest is stored
+     */
+    public Path getStateFile() {
+        return stateFile;
+    }
+
+    /**
+     * Builder of a digest of inputs, all values are added in a stable order.
+     */
+    public static final class Digest {
+
+        private final MessageDigest messageDigest;
+
+        public Digest() {
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Add a named value.
+         *
+         * @param name a name of the value
+         * @param value a value, may be {@code null}
+         * @return this digest
+         */
+        public Digest add(String name, Object value) {
+            update(name);
+            update(String.valueOf(value));
+            return this;
+        }
+
+        /**
+         * Add all properties sorted by keys.
+         *
+         * @param name a name of the properties
+         * @param properties properties, may be {@code null}
+         * @return this digest
+         */
+        public Digest addProperties(String name, Properties properties) {
+            Map<String, String> sorted = new TreeMap<>();
+            if (properties != null) {
+                properties.stringPropertyNames().forEach(key -> sorted.put(key, properties.getProperty(key)));
+            }
+            return add(name, sorted);
+        }
+
+        /**
+         * Add a configuration with names, attributes, values and children of all elements.
+         *
+         * @param configuration a configuration, may be {@code null}
+         * @return this digest
+         */
+        public Digest addConfiguration(PlexusConfiguration configuration) {
+            if (configuration == null) {
+                update("-");
+                return this;
+            }
+            update(configuration.getName());
+            for (String attribute : configuration.getAttributeNames()) {
+                update(attribute);
+                update(configuration.getAttribute(attribute));
+            }
+            update(configuration.getValue(null));
+            update(String.valueOf(configuration.getChildCount()));
+            for (PlexusConfiguration child : configuration.getChildren()) {
+                addConfiguration(child);
+            }
+            return this;
+        }
+
+        /**
+         * Add a project model.
+         *
+         * @param model an effective model of a project
+         * @return this digest
+         * @throws IOException if the model can not be serialized
+         */
+        public Digest addModel(Model model) throws IOException {
+            StringWriter writer = new StringWriter();
+            new MavenXpp3Writer().write(writer, model);
+            return add("model", writer);
+        }
+
+        /**
+         * Add coordinates, scopes and files of artifacts. For a file its size and modification time are added.
+         *
+         * @param artifacts resolved artifacts of a project, may be {@code null}
+         * @return this digest
+         */
+        public Digest addArtifacts(Collection<Artifact> artifacts) {
+            if (artifacts == null) {
+                return add("artifacts", null);
+            }
+            update(String.valueOf(artifacts.size()));
+            artifacts.stream().sorted(Comparator.comparing(Artifact::getId)).forEach(artifact -> {
+                File file = artifact.getFile();
+                add(artifact.getId(), artifact.getScope() + ":" + artifact.isOptional());
+                if (file != null) {
+                    add(file.getPath(), file.length() + ":" + file.lastModified());
+                }
+            });
+            return this;
+        }
+
+        /**
+         * @return hex encoded digest
+         */
+        public String toHex() {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : messageDigest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        }
+
+        private void update(String value) {
+            if (value == null) {
+                messageDigest.update((byte) 0);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                messageDigest.update(String.valueOf(bytes.length).getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) ':');
+                messageDigest.update(bytes);
+            }
+        }
+    }
+}
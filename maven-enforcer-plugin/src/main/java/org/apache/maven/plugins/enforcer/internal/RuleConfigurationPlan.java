@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.codehaus.plexus.component.configurator.ComponentConfigurationException;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+
+/**
+ * Precomputed setter and field bindings for a rule configuration.
+ * <p>
+ * A plan is only available for flat configurations, where each element is a leaf whose evaluated value is a
+ * {@code String} and can be bound to a property of a simple type. All other configurations are always handled by
+ * {@code ComponentConfigurator}.
+ *
+ * @since 3.6.4
+ */
+final class RuleConfigurationPlan {
+
+    /**
+     * Marker for configurations which can not be handled by a plan.
+     */
+    static final RuleConfigurationPlan NOT_SUPPORTED = new RuleConfigurationPlan(Collections.emptyList());
+
+    private final List<Binding> bindings;
+
+    private RuleConfigurationPlan(List<Binding> bindings) {
+        this.bindings = bindings;
+    }
+
+    /**
+     * Build a cache key for given rule configuration.
+     *
+     * @param ruleClass  a class of configured rule
+     * @param ruleConfig a rule configuration
+     * @param evaluator  an expression evaluator
+     * @return a key, or {@code null} when configuration is not flat or values can not be evaluated to strings
+     */
+    static Key createKey(Class<?> ruleClass, PlexusConfiguration ruleConfig, ExpressionEvaluator evaluator) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (PlexusConfiguration child : ruleConfig.getChildren()) {
+            if (child.getChildCount() > 0 || child.getAttributeNames().length > 0) {
+                return null;
+            }
+            Object value;
+            try {
+                value = evaluator.evaluate(child.getValue(null));
+            } catch (ExpressionEvaluationException e) {
+                return null;
+            }
+            if (!(value instanceof String) || values.put(child.getName(), (String) value) != null) {
+                return null;
+            }
+        }
+        return new Key(ruleClass, values);
+    }
+
+    /**
+     * Resolve bindings for configuration values described by given key.
+     *
+     * @param key a configuration key
+     * @return a plan, or {@link #NOT_SUPPORTED} if any value can not be bound to a simple property
+     */
+    static RuleConfigurationPlan create(Key key) {
+        List<Binding> bindings = new ArrayList<>(key.values.size());
+        for (Map.Entry<String, String> entry : key.values.entrySet()) {
+            Binding binding = createBinding(key.ruleClass, fromXML(entry.getKey()), entry.getValue());
+            if (binding == null) {
+                return NOT_SUPPORTED;
+            }
+            bindings.add(binding);
+        }
+        return new RuleConfigurationPlan(bindings);
+    }
+
+    boolean isSupported() {
+        return this != NOT_SUPPORTED;
+    }
+
+    /**
+     * Apply precomputed bindings on given rule instance.
+     *
+     * @param rule a rule to configure
+     * @throws ComponentConfigurationException if a value can not be set
+     */
+    void apply(Object rule) throws ComponentConfigurationException {
+        for (Binding binding : bindings) {
+            try {
+                if (binding.setter != null) {
+                    binding.setter.invoke(rule, binding.value);
+                } else {
+                    binding.field.set(rule, binding.value);
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new ComponentConfigurationException("Cannot set '" + binding.property + "' in " + rule, e);
+            }
+        }
+    }
+
+    // the same lookup order as used by ComponentConfigurator - setter, adder and then field
+    private static Binding createBinding(Class<?> ruleClass, String property, String value) {
+        String title = Character.toTitleCase(property.charAt(0)) + property.substring(1);
+
+        Method setter = null;
+        for (Method method : ruleClass.getMethods()) {
+            if (method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getName().equals("add" + title)) {
+                return null;
+            }
+            if (method.getName().equals("set" + title)) {
+                if (setter != null) {
+                    return null;
+                }
+                setter = method;
+            }
+        }
+
+        if (setter != null) {
+            Object converted = convert(setter.getParameterTypes()[0], value);
+            return converted != null ? new Binding(property, setter, null, converted) : null;
+        }
+
+        for (Class<?> clazz = ruleClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getName().equals(property)) {
+                    int modifiers = field.getModifiers();
+                    Object converted = convert(field.getType(), value);
+                    if (converted == null || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                        return null;
+                    }
+                    field.setAccessible(true);
+                    return new Binding(property, null, field, converted);
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Class<?> type, String value) {
+        try {
+            if (type == String.class) {
+                return value;
+            } else if (type == boolean.class || type == Boolean.class) {
+                return Boolean.valueOf(value);
+            } else if (type == int.class || type == Integer.class) {
+                return Integer.valueOf(value);
+            } else if (type == long.class || type == Long.class) {
+                return Long.valueOf(value);
+            } else if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+        } catch (IllegalArgumentException e) {
+            // let ComponentConfigurator report a problem
+        }
+        return null;
+    }
+
+    private static String fromXML(String elementName) {
+        StringBuilder property = new StringBuilder(elementName.length());
+        boolean upper = false;
+        for (char c : elementName.toCharArray()) {
+            if (c == '-') {
+                upper = true;
+            } else {
+                property.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return property.toString();
+    }
+
+    /**
+     * Cache key - a rule class with evaluated configuration values.
+     */
+    static final class Key {
+
+        private final Class<?> ruleClass;
+
+        private final Map<String, String> values;
+
+        private Key(Class<?> ruleClass, Map<String, String> values) {
+            this.ruleClass = ruleClass;
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return ruleClass == key.ruleClass && values.equals(key.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ruleClass, values);
+        }
+    }
+
+    private static final class Binding {
+
+        private final String property;
+
+        private final Method setter;
+
+        private final Field field;
+
+        private final Object value;
+
+        private Binding(String property, Method setter, Field field, Object value) {
+            this.property = property;
+            this.setter = setter;
+            this.field = field;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToLongFunction;
+
+import org.apache.maven.enforcer.rule.api.EnforcerLevel;
+import org.apache.maven.enforcer.rules.utils.ExecutionCounters;
+
+/**
+ * Metrics of a single rule execution.
+ *
+ * @since 3.6.4
+ */
+public final class RuleMetrics {
+
+    /**
+     * Result of a rule execution.
+     */
+    public enum Outcome {
+        PASSED,
+        CACHED,
+        WARNED,
+        FAILED
+    }
+
+    private final String projectId;
+
+    private final String executionId;
+
+    private final int ruleIndex;
+
+    private final String ruleName;
+
+    private final EnforcerLevel level;
+
+    private final Outcome outcome;
+
+    private final long wallTimeNanos;
+
+    private final long cpuTimeNanos;
+
+    private final long allocatedBytes;
+
+    private final long graphCollections;
+
+    private final long graphNodes;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    RuleMetrics(
+            String projectId,
+            String executionId,
+            int ruleIndex,
+            String ruleName,
+            EnforcerLevel level,
+            Outcome outcome,
+            long wallTimeNanos,
+            long cpuTimeNanos,
+            long allocatedBytes,
+            long graphCollections,
+            long graphNodes) {
+        this.projectId = projectId;
+        this.executionId = executionId;
+        this.ruleIndex = ruleIndex;
+        this.ruleName = ruleName;
+        this.level = level;
+        this.outcome = outcome;
+        this.wallTimeNanos = wallTimeNanos;
+        this.cpuTimeNanos = cpuTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.graphCollections = graphCollections;
+        this.graphNodes = graphNodes;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public int getRuleIndex() {
+        return ruleIndex;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public EnforcerLevel getLevel() {
+        return level;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * @return CPU time of the executing thread, or {@code -1} when not supported by JVM
+     */
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    /**
+     * @return bytes allocated by the executing thread, or {@code -1} when not supported by JVM
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public boolean isCacheHit() {
+        return outcome == Outcome.CACHED;
+    }
+
+    public long getGraphCollections() {
+        return graphCollections;
+    }
+
+    public long getGraphNodes() {
+        return graphNodes;
+    }
+
+    /**
+     * Measurement of a rule execution on the current thread, started on creation.
+     */
+    public static final class Probe {
+
+        private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+        private final long startWallTime;
+
+        private final long startCpuTime;
+
+        private final ExecutionCounters counters;
+
+        private final List<ExecutionCounters> threadCounters = new CopyOnWriteArrayList<>();
+
+        private long cpuTime;
+
+        private boolean detached;
+
+        Probe() {
+            counters = ExecutionCounters.start();
+            startCpuTime = cpuTime();
+            startWallTime = System.nanoTime();
+        }
+
+        /**
+         * Include counters of work done for the rule on another thread.
+         *
+         * @param counters stopped counters of another thread
+         */
+        public void include(ExecutionCounters counters) {
+            threadCounters.add(counters);
+        }
+
+        /**
+         * Finish measurement on the current thread, only wall time is measured until {@link #stop}.
+         * Used for asynchronous rules, whose work continues on other threads.
+         */
+        public void detach() {
+            if (!detached) {
+                cpuTime = delta(startCpuTime, cpuTime());
+                ExecutionCounters.stop();
+                detached = true;
+            }
+        }
+
+        /**
+         * Finish measurement.
+         *
+         * @param projectId   a project id
+         * @param executionId a mojo execution id
+         * @param ruleIndex   an index of the rule
+         * @param ruleName    a name of the rule
+         * @param level       a level of the rule
+         * @param outcome     a result of the rule execution
+         * @return metrics of the rule execution
+         */
+        public RuleMetrics stop(
+                String projectId,
+                String executionId,
+                int ruleIndex,
+                String ruleName,
+                EnforcerLevel level,
+                Outcome outcome) {
+            long wallTime = System.nanoTime() - startWallTime;
+            detach();
+            return new RuleMetrics(
+                    projectId,
+                    executionId,
+                    ruleIndex,
+                    ruleName,
+                    level,
+                    outcome,
+                    wallTime,
+                    cpuTime,
+                    sum(ExecutionCounters::getAllocatedBytes),
+                    sum(ExecutionCounters::getGraphCollections),
+                    sum(ExecutionCounters::getGraphNodes));
+        }
+
+        // allocated bytes are -1 when not supported
+        private long sum(ToLongFunction<ExecutionCounters> counter) {
+            long sum = counter.applyAsLong(counters);
+            for (ExecutionCounters other : threadCounters) {
+                long value = counter.applyAsLong(other);
+                if (value >= 0) {
+                    sum = sum < 0 ? value : sum + value;
+                }
+            }
+            return sum;
+        }
+
+        private static long delta(long start, long end) {
+            return start < 0 || end < 0 ? -1 : end - start;
+        }
+
+        private static long cpuTime() {
+            if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+                return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
+
+/**
+ * Order of rules execution based on their declared cost.
+ * <p>
+ * With {@code failFast} rules are ordered from the cheapest one, so cheap failures are reported without waiting
+ * for expensive rules. Rules of the same cost which share a resource, e.g. a dependency graph collected once
+ * for all of them, are executed one after another, at the position of the first of them. Otherwise,
+ * the configured order is kept.
+ *
+ * @since 3.6.4
+ */
+public final class RuleScheduler {
+
+    private RuleScheduler() {}
+
+    /**
+     * @param rules configured rules
+     * @param failFast whether the execution stops at the first failed rule
+     * @return indexes of given rules in order of execution
+     */
+    public static int[] executionOrder(List<EnforcerRuleDesc> rules, boolean failFast) {
+        if (!failFast) {
+            return IntStream.range(0, rules.size()).toArray();
+        }
+        int[] costs = new int[rules.size()];
+        int[] groups = new int[rules.size()];
+        Map<String, Integer> firstIndexes = new HashMap<>();
+        List<Integer> order = new ArrayList<>(rules.size());
+
+        for (int i = 0; i < rules.size(); i++) {
+            int index = i;
+            EnforcerRuleDesc ruleDesc = rules.get(i);
+            EnforcerRuleCost cost = ruleDesc.getCost();
+            String resource = ruleDesc.getSharedResource();
+            costs[i] = cost.ordinal();
+            groups[i] = resource == null ? i : firstIndexes.computeIfAbsent(cost + ":" + resource, k -> index);
+            order.add(i);
+        }
+
+        order.sort(Comparator.<Integer>comparingInt(i -> costs[i])
+                .thenComparingInt(i -> groups[i])
+                .thenComparingInt(i -> i));
+        return order.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+
+/**
+ * Watchdog of rules executions with a timeout.
+ * <p>
+ * When a rule doesn't finish in time, its result is completed with an {@link EnforcerRuleException} containing
+ * a stack of the thread executing the rule, then the rule is cancelled and its thread is interrupted.
+ * A single thread is started on demand, so executions without timeouts don't start any thread.
+ *
+ * @since 3.6.4
+ */
+public final class RuleWatchdog implements AutoCloseable {
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Start watching a rule execution, the watch is stopped when the result is completed.
+     * <p>
+     * A thread executing the rule should {@link Watch#stop() stop} the watch when the rule is finished,
+     * so the thread is not interrupted afterwards.
+     *
+     * @param timeout           a maximum time of the rule execution
+     * @param thread            a thread executing the rule, {@code null} for rules executed asynchronously
+     * @param result            a result of the rule execution
+     * @param cancellationToken a cancellation token of the rule
+     * @return a watch of the rule execution
+     */
+    public Watch watch(
+            Duration timeout,
+            Thread thread,
+            CompletableFuture<Void> result,
+            EnforcerCancellationToken cancellationToken) {
+        Watch watch = new Watch(timeout, thread, result, cancellationToken);
+        watch.expiration = getScheduler().schedule(watch::expire, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((r, e) -> watch.expiration.cancel(false));
+        return watch;
+    }
+
+    /**
+     * A watch of a single rule execution.
+     */
+    public static final class Watch {
+
+        private final Duration timeout;
+
+        private final Thread thread;
+
+        private final CompletableFuture<Void> result;
+
+        private final EnforcerCancellationToken cancellationToken;
+
+        private volatile Future<?> expiration;
+
+        // guarded by this, the execution either finishes or expires
+        private boolean finished;
+
+        private boolean expired;
+
+        private Watch(
+                Duration timeout,
+                Thread thread,
+                CompletableFuture<Void> result,
+                EnforcerCancellationToken cancellationToken) {
+            this.timeout = timeout;
+            this.thread = thread;
+            this.result = result;
+            this.cancellationToken = cancellationToken;
+        }
+
+        /**
+         * Stop watching, called by the thread executing the rule when the rule is finished.
+         * When the execution has already expired, an interrupt sent by the watchdog is cleared,
+         * so it doesn't affect next tasks of the thread.
+         */
+        public void stop() {
+            boolean interrupted;
+            synchronized (this) {
+                finished = true;
+                interrupted = expired;
+            }
+            expiration.cancel(false);
+            if (interrupted && Thread.currentThread() == thread) {
+                Thread.interrupted();
+            }
+        }
+
+        private synchronized void expire() {
+            if (finished || result.isDone()) {
+                return;
+            }
+
+            String reason = "Rule execution exceeded timeout of " + formatTimeout(timeout);
+            StringBuilder message = new StringBuilder(reason);
+            if (thread != null) {
+                message.append(", stack of thread ").append(thread.getName()).append(':');
+                for (StackTraceElement element : thread.getStackTrace()) {
+                    message.append(System.lineSeparator()).append("\tat ").append(element);
+                }
+            }
+
+            if (result.completeExceptionally(new EnforcerRuleException(message.toString()))) {
+                expired = true;
+                cancellationToken.cancel(reason);
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+    }
+
+    private static String formatTimeout(Duration timeout) {
+        long millis = timeout.toMillis();
+        return millis % 1000 == 0 ? millis / 1000 + " s" : millis + " ms";
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "enforcer-rule-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    /**
+     * Stop the watchdog thread, rules which are still watched are not reported.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.enforcer.rule.api.AbstractAsyncEnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerLevel;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+
+/**
+ * An asynchronous rule which waits until all rules sharing the same latch are started.
+ */
+public class MockAsyncEnforcerRule extends AbstractAsyncEnforcerRule {
+
+    private final CountDownLatch started;
+
+    private final EnforcerLevel level;
+
+    private final EnforcerRuleException failure;
+
+    private volatile String threadName;
+
+    public MockAsyncEnforcerRule(CountDownLatch started, EnforcerLevel level, EnforcerRuleException failure) {
+        this.started = started;
+        this.level = level;
+        this.failure = failure;
+    }
+
+    @Override
+    public EnforcerLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public CompletionStage<Void> executeAsync(Executor executor) {
+        return CompletableFuture.runAsync(
+                () -> {
+                    threadName = Thread.currentThread().getName();
+                    started.countDown();
+                    try {
+                        if (!started.await(10, TimeUnit.SECONDS)) {
+                            throw new IllegalStateException("Rules were not executed concurrently");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                    if (failure != null) {
+                        throw new CompletionException(failure);
+                    }
+                },
+                executor);
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+}
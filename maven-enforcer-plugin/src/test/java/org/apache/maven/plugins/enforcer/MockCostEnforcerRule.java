@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.maven.enforcer.rule.api.AbstractEnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerLevel;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+
+/**
+ * A rule with a declared cost, which can wait for a latch before its result is reported.
+ */
+public class MockCostEnforcerRule extends AbstractEnforcerRule {
+
+    private final EnforcerRuleCost cost;
+
+    private final String sharedResource;
+
+    private final boolean failRule;
+
+    private CountDownLatch release = new CountDownLatch(0);
+
+    private volatile String threadName;
+
+    private volatile long executedAt;
+
+    private EnforcerLevel level = EnforcerLevel.ERROR;
+
+    private Duration timeout;
+
+    public MockCostEnforcerRule(EnforcerRuleCost cost, String sharedResource, boolean failRule) {
+        this.cost = cost;
+        this.sharedResource = sharedResource;
+        this.failRule = failRule;
+    }
+
+    @Override
+    public void execute() throws EnforcerRuleException {
+        threadName = Thread.currentThread().getName();
+        executedAt = System.nanoTime();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnforcerRuleException("interrupted", e);
+        }
+        if (failRule) {
+            throw new EnforcerRuleException("failed " + cost);
+        }
+    }
+
+    @Override
+    public EnforcerRuleCost getCost() {
+        return cost;
+    }
+
+    @Override
+    public String getSharedResource() {
+        return sharedResource;
+    }
+
+    @Override
+    public EnforcerLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(EnforcerLevel level) {
+        this.level = level;
+    }
+
+    @Override
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public void setRelease(CountDownLatch release) {
+        this.release = release;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getExecutedAt() {
+        return executedAt;
+    }
+}
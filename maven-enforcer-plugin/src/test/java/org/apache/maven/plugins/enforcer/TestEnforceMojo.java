@@ -18,28 +18,45 @@
  */
 package org.apache.maven.plugins.enforcer;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.enforcer.rule.api.EnforcerLevel;
 import org.apache.maven.enforcer.rule.api.EnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleError;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.enforcer.internal.CacheScope;
+import org.apache.maven.plugins.enforcer.internal.EnforcerLegacyRuleCache;
+import org.apache.maven.plugins.enforcer.internal.EnforcerRuleCache;
 import org.apache.maven.plugins.enforcer.internal.EnforcerRuleDesc;
 import org.apache.maven.plugins.enforcer.internal.EnforcerRuleManager;
+import org.apache.maven.plugins.enforcer.internal.IncrementalState;
+import org.apache.maven.project.MavenProject;
 import org.assertj.core.api.Assertions;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -60,12 +77,23 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class TestEnforceMojo {
 
+    /**
+     * Tests of cache persistence expect results cached by previous tests, as by previous executions of one build.
+     */
+    private static final DefaultRepositorySystemSession REPOSITORY_SESSION = new DefaultRepositorySystemSession();
+
     @Mock
     private EnforcerRuleManager ruleManager;
 
     @Mock
     private MavenSession session;
 
+    @Mock
+    private EnforcerRuleCache ruleCache;
+
+    @Spy
+    private EnforcerLegacyRuleCache legacyRuleCache = new EnforcerLegacyRuleCache(() -> session);
+
     @InjectMocks
     private EnforceMojo mojo;
 
@@ -73,6 +101,7 @@ class TestEnforceMojo {
     void setup() {
         lenient().when(session.getSystemProperties()).thenReturn(new Properties());
         lenient().when(session.getUserProperties()).thenReturn(new Properties());
+        lenient().when(session.getRepositorySession()).thenReturn(REPOSITORY_SESSION);
     }
 
     @Test
@@ -180,7 +209,7 @@ class TestEnforceMojo {
         rules[1] = new EnforcerRuleDesc("mockEnforcerRule", new MockEnforcerRule(false, "", true, true));
         when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
 
-        EnforceMojo.cache.clear();
+        legacyRuleCache.getCache(CacheScope.SESSION).clear();
         mojo.execute();
 
         assertTrue(((MockEnforcerRule) rules[0].getRule()).isExecuted(), "Expected this rule to be executed.");
@@ -191,7 +220,7 @@ class TestEnforceMojo {
         rules[1] = new EnforcerRuleDesc("mockEnforcerRule", new MockEnforcerRule(false, "", true, true));
         when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
 
-        EnforceMojo.cache.clear();
+        legacyRuleCache.getCache(CacheScope.SESSION).clear();
         mojo.ignoreCache = true;
         mojo.execute();
 
@@ -206,7 +235,7 @@ class TestEnforceMojo {
         rules[2] = new EnforcerRuleDesc("mockEnforcerRule", new MockEnforcerRule(false, "2", true, true));
         when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
 
-        EnforceMojo.cache.clear();
+        legacyRuleCache.getCache(CacheScope.SESSION).clear();
         mojo.execute();
 
         assertTrue(((MockEnforcerRule) rules[0].getRule()).isExecuted(), "Expected this rule to be executed.");
@@ -219,7 +248,7 @@ class TestEnforceMojo {
         rules[2] = null;
         when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
 
-        EnforceMojo.cache.clear();
+        legacyRuleCache.getCache(CacheScope.SESSION).clear();
         mojo.execute();
 
         assertTrue(((MockEnforcerRule) rules[0].getRule()).isExecuted(), "Expected this rule to be executed.");
@@ -231,13 +260,33 @@ class TestEnforceMojo {
         rules[2] = null;
         when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
 
-        EnforceMojo.cache.clear();
+        legacyRuleCache.getCache(CacheScope.SESSION).clear();
         mojo.execute();
 
         assertTrue(((MockEnforcerRule) rules[0].getRule()).isExecuted(), "Expected this rule to be executed.");
         assertTrue(((MockEnforcerRule) rules[1].getRule()).isExecuted(), "Expected this rule to be executed.");
     }
 
+    @Test
+    void cachedResultsAreScopedToSession() throws Exception {
+        mojo.setFail(true);
+
+        MockEnforcerRule first = new MockEnforcerRule(false, "", true, true);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("mockEnforcerRule", first)));
+        mojo.execute();
+
+        // a next build gets a new repository session
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+        MockEnforcerRule second = new MockEnforcerRule(false, "", true, true);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("mockEnforcerRule", second)));
+        mojo.execute();
+
+        assertTrue(first.isExecuted(), "Expected this rule to be executed.");
+        assertTrue(second.isExecuted(), "Expected this rule to be executed.");
+    }
+
     @Test
     void testCachePersistence1() throws Exception {
         mojo.setFail(true);
@@ -249,7 +298,7 @@ class TestEnforceMojo {
         rules[1] = new EnforcerRuleDesc("mockEnforcerRule", new MockEnforcerRule(false, "", true, true));
         when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
 
-        EnforceMojo.cache.clear();
+        legacyRuleCache.getCache(CacheScope.SESSION).clear();
         mojo.execute();
 
         assertTrue(((MockEnforcerRule) rules[0].getRule()).isExecuted(), "Expected this rule to be executed.");
@@ -393,6 +442,340 @@ class TestEnforceMojo {
         Mockito.verifyNoInteractions(logSpy);
     }
 
+    @Test
+    void asyncRulesAreExecutedConcurrently() throws Exception {
+        Log logSpy = setupLogSpy();
+
+        CountDownLatch started = new CountDownLatch(2);
+        EnforcerRuleDesc[] rules = new EnforcerRuleDesc[3];
+        rules[0] = new EnforcerRuleDesc("async1", new MockAsyncEnforcerRule(started, EnforcerLevel.ERROR, null));
+        rules[1] = new EnforcerRuleDesc("mockEnforcerRule", new MockEnforcerRule(false));
+        rules[2] = new EnforcerRuleDesc("async2", new MockAsyncEnforcerRule(started, EnforcerLevel.ERROR, null));
+        when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
+
+        mojo.execute();
+
+        Assertions.assertThat(((MockAsyncEnforcerRule) rules[0].getRule()).getThreadName())
+                .startsWith("enforcer-rule-")
+                .isNotEqualTo(((MockAsyncEnforcerRule) rules[2].getRule()).getThreadName());
+
+        verify(logSpy)
+                .info(Mockito.contains(
+                        "Rule 0: org.apache.maven.plugins.enforcer.MockAsyncEnforcerRule(async1) passed"));
+        verify(logSpy).info(Mockito.contains("Rule 1: org.apache.maven.plugins.enforcer.MockEnforcerRule passed"));
+        verify(logSpy)
+                .info(Mockito.contains(
+                        "Rule 2: org.apache.maven.plugins.enforcer.MockAsyncEnforcerRule(async2) passed"));
+    }
+
+    @Test
+    void asyncRuleFailuresAreReportedInRulesOrder() throws Exception {
+        Log logSpy = setupLogSpy();
+
+        CountDownLatch started = new CountDownLatch(2);
+        EnforcerRuleDesc[] rules = new EnforcerRuleDesc[3];
+        rules[0] = new EnforcerRuleDesc(
+                "async1",
+                new MockAsyncEnforcerRule(started, EnforcerLevel.ERROR, new EnforcerRuleException("async error")));
+        rules[1] = new EnforcerRuleDesc("mockEnforcerRule", new MockEnforcerRule(true));
+        rules[2] = new EnforcerRuleDesc(
+                "async2",
+                new MockAsyncEnforcerRule(started, EnforcerLevel.WARN, new EnforcerRuleException("async warning")));
+        when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
+
+        assertThatThrownBy(() -> mojo.execute())
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageMatching("(?s).*Rule 0: .*async error.*Rule 1: .*");
+
+        verify(logSpy)
+                .warn(Mockito.contains(
+                        "Rule 2: org.apache.maven.plugins.enforcer.MockAsyncEnforcerRule(async2) warned"));
+    }
+
+    @Test
+    void asyncRuleErrorBreaksBuild() {
+        mojo.setFail(false);
+
+        CountDownLatch started = new CountDownLatch(1);
+        EnforcerRuleDesc rule = new EnforcerRuleDesc(
+                "async", new MockAsyncEnforcerRule(started, EnforcerLevel.WARN, new EnforcerRuleError("broken")));
+        when(ruleManager.createRules(any(), any())).thenReturn(Collections.singletonList(rule));
+
+        assertThatThrownBy(() -> mojo.execute())
+                .isInstanceOf(MojoExecutionException.class)
+                .hasCauseInstanceOf(EnforcerRuleError.class)
+                .hasMessageContaining("broken");
+    }
+
+    @Test
+    void cheapFailureDoesNotWaitForExpensiveRule() throws Exception {
+        mojo.setFailFast(true);
+
+        CountDownLatch release = new CountDownLatch(1);
+        MockCostEnforcerRule jarScan = new MockCostEnforcerRule(EnforcerRuleCost.JAR_SCAN, null, false);
+        jarScan.setRelease(release);
+        MockCostEnforcerRule cheap = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, true);
+
+        EnforcerRuleDesc[] rules = new EnforcerRuleDesc[2];
+        rules[0] = new EnforcerRuleDesc("jarScan", jarScan);
+        rules[1] = new EnforcerRuleDesc("cheap", cheap);
+        when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
+
+        try {
+            assertThatThrownBy(() -> mojo.execute())
+                    .isInstanceOf(MojoExecutionException.class)
+                    .hasMessageContaining("Rule 1: org.apache.maven.plugins.enforcer.MockCostEnforcerRule(cheap)")
+                    .hasMessageContaining("failed CHEAP");
+        } finally {
+            release.countDown();
+        }
+
+        Assertions.assertThat(cheap.getThreadName()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void expensiveRuleIsCancelledOnFailFast() throws Exception {
+        mojo.setFailFast(true);
+
+        CountDownLatch release = new CountDownLatch(1);
+        MockCostEnforcerRule jarScan = new MockCostEnforcerRule(EnforcerRuleCost.JAR_SCAN, null, false);
+        jarScan.setRelease(release);
+        MockCostEnforcerRule cheap = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, true);
+
+        EnforcerRuleDesc[] rules = new EnforcerRuleDesc[2];
+        rules[0] = new EnforcerRuleDesc("jarScan", jarScan);
+        rules[1] = new EnforcerRuleDesc("cheap", cheap);
+        when(ruleManager.createRules(any(), any())).thenReturn(Arrays.asList(rules));
+
+        try {
+            assertThatThrownBy(() -> mojo.execute()).isInstanceOf(MojoExecutionException.class);
+        } finally {
+            release.countDown();
+        }
+
+        Assertions.assertThat(jarScan.getCancellationToken()).isSameAs(cheap.getCancellationToken());
+        Assertions.assertThat(jarScan.getCancellationToken().isCancelled()).isTrue();
+        Assertions.assertThat(jarScan.getCancellationToken().getReason()).contains("failure of another rule");
+    }
+
+    @Test
+    void rulesAreNotCancelledWhenPassed() throws Exception {
+        MockCostEnforcerRule jarScan = new MockCostEnforcerRule(EnforcerRuleCost.JAR_SCAN, null, false);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("jarScan", jarScan)));
+
+        mojo.execute();
+
+        Assertions.assertThat(jarScan.getCancellationToken().isCancelled()).isFalse();
+    }
+
+    @Test
+    void ruleExceedingTimeoutIsReportedWithStack() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        MockCostEnforcerRule hung = new MockCostEnforcerRule(EnforcerRuleCost.FILE_IO, null, false);
+        hung.setRelease(release);
+        hung.setTimeout(Duration.ofMillis(100));
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("hung", hung)));
+
+        try {
+            assertThatThrownBy(() -> mojo.execute())
+                    .isInstanceOf(MojoExecutionException.class)
+                    .hasMessageContaining("Rule 0: org.apache.maven.plugins.enforcer.MockCostEnforcerRule(hung)")
+                    .hasMessageContaining("Rule execution exceeded timeout of 100 ms")
+                    .hasMessageContaining(MockCostEnforcerRule.class.getName() + ".execute(");
+        } finally {
+            release.countDown();
+        }
+
+        Assertions.assertThat(hung.getThreadName()).startsWith("enforcer-rule-");
+    }
+
+    @Test
+    void ruleExceedingTimeoutWithWarnLevelIsLogged() throws Exception {
+        Log logSpy = setupLogSpy();
+
+        CountDownLatch release = new CountDownLatch(1);
+        MockCostEnforcerRule hung = new MockCostEnforcerRule(EnforcerRuleCost.FILE_IO, null, false);
+        hung.setRelease(release);
+        hung.setTimeout(Duration.ofMillis(100));
+        hung.setLevel(EnforcerLevel.WARN);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("hung", hung)));
+
+        try {
+            mojo.execute();
+        } finally {
+            release.countDown();
+        }
+
+        verify(logSpy).warn(Mockito.contains("Rule execution exceeded timeout of 100 ms"));
+    }
+
+    @Test
+    void oldApiRuleExceedingTimeoutIsReportedAndInterrupted() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        EnforcerRule hung = Mockito.mock(EnforcerRule.class);
+        when(hung.getLevel()).thenReturn(EnforcerLevel.ERROR);
+        Mockito.doAnswer(invocation -> {
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return null;
+                })
+                .when(hung)
+                .execute(any(EnforcerRuleHelper.class));
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("hung", hung, Duration.ofMillis(100))));
+
+        assertThatThrownBy(() -> mojo.execute())
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Rule execution exceeded timeout of 100 ms")
+                .hasMessageContaining("CountDownLatch.await");
+
+        Assertions.assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void ruleFinishedInTimeIsPassed() throws Exception {
+        Log logSpy = setupLogSpy();
+
+        MockCostEnforcerRule rule = new MockCostEnforcerRule(EnforcerRuleCost.FILE_IO, null, false);
+        rule.setTimeout(Duration.ofSeconds(10));
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", rule)));
+
+        mojo.execute();
+
+        verify(logSpy)
+                .info(Mockito.contains("Rule 0: org.apache.maven.plugins.enforcer.MockCostEnforcerRule(rule) passed"));
+        Assertions.assertThat(rule.getCancellationToken().isCancelled()).isFalse();
+    }
+
+    @Test
+    void expensiveRuleIsExecutedOnSeparateThread() throws Exception {
+        mojo.setFailFast(true);
+        Log logSpy = setupLogSpy();
+
+        MockCostEnforcerRule jarScan = new MockCostEnforcerRule(EnforcerRuleCost.JAR_SCAN, null, true);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("jarScan", jarScan)));
+
+        assertThatThrownBy(() -> mojo.execute())
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("failed JAR_SCAN");
+
+        Assertions.assertThat(jarScan.getThreadName()).startsWith("enforcer-expensive-rule-");
+        verify(logSpy, Mockito.never()).info(Mockito.contains("passed"));
+    }
+
+    @Test
+    void expensiveRuleIsExecutedInConfiguredOrderWithoutFailFast() throws Exception {
+        MockCostEnforcerRule jarScan = new MockCostEnforcerRule(EnforcerRuleCost.JAR_SCAN, null, false);
+        MockCostEnforcerRule cheap = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(
+                        Arrays.asList(new EnforcerRuleDesc("jarScan", jarScan), new EnforcerRuleDesc("cheap", cheap)));
+
+        mojo.execute();
+
+        Assertions.assertThat(jarScan.getThreadName()).isEqualTo(Thread.currentThread().getName());
+        Assertions.assertThat(jarScan.getExecutedAt()).isLessThan(cheap.getExecutedAt());
+    }
+
+    @Test
+    void incrementalModeSkipsRulesWithUnchangedInputs(@TempDir Path buildDirectory) throws Exception {
+        setupIncrementalMode(buildDirectory);
+        MockCostEnforcerRule firstRule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        MockCostEnforcerRule secondRule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", firstRule)))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", secondRule)));
+
+        mojo.execute();
+        Log logSpy = setupLogSpy();
+        mojo.execute();
+
+        Assertions.assertThat(firstRule.getThreadName()).isNotNull();
+        Assertions.assertThat(secondRule.getThreadName()).isNull();
+        verify(logSpy).info("Skipping Rule Enforcement, inputs are unchanged since the last successful execution.");
+    }
+
+    @Test
+    void incrementalModeExecutesRulesWithChangedInputs(@TempDir Path buildDirectory) throws Exception {
+        setupIncrementalMode(buildDirectory);
+        MockCostEnforcerRule firstRule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        MockCostEnforcerRule secondRule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", firstRule)))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", secondRule)));
+        Properties userProperties = new Properties();
+        when(session.getUserProperties()).thenReturn(userProperties);
+
+        mojo.execute();
+        userProperties.setProperty("changed", "true");
+        mojo.execute();
+
+        Assertions.assertThat(firstRule.getThreadName()).isNotNull();
+        Assertions.assertThat(secondRule.getThreadName()).isNotNull();
+    }
+
+    @Test
+    void incrementalModeIgnoresEnvironmentVariables(@TempDir Path buildDirectory) throws Exception {
+        setupIncrementalMode(buildDirectory);
+        MockCostEnforcerRule firstRule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        MockCostEnforcerRule secondRule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        MockCostEnforcerRule thirdRule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", firstRule)))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", secondRule)))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", thirdRule)));
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("env.SHLVL", "1");
+        systemProperties.setProperty("java.version", "1.8");
+        when(session.getSystemProperties()).thenReturn(systemProperties);
+
+        mojo.execute();
+        systemProperties.setProperty("env.SHLVL", "2");
+        mojo.execute();
+        systemProperties.setProperty("java.version", "11");
+        mojo.execute();
+
+        Assertions.assertThat(firstRule.getThreadName()).isNotNull();
+        Assertions.assertThat(secondRule.getThreadName()).isNull();
+        Assertions.assertThat(thirdRule.getThreadName()).isNotNull();
+    }
+
+    @Test
+    void incrementalModeDoesNotStoreFailedResult(@TempDir Path buildDirectory) throws Exception {
+        setupIncrementalMode(buildDirectory);
+        mojo.setFail(false);
+        MockCostEnforcerRule rule = new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, true);
+        when(ruleManager.createRules(any(), any()))
+                .thenReturn(Collections.singletonList(new EnforcerRuleDesc("rule", rule)));
+
+        mojo.execute();
+
+        Assertions.assertThat(buildDirectory.resolve(IncrementalState.STATE_DIRECTORY)).doesNotExist();
+    }
+
+    private void setupIncrementalMode(Path buildDirectory) {
+        mojo.setIncremental(true);
+        Build build = new Build();
+        build.setDirectory(buildDirectory.toString());
+        mojo.project = new MavenProject();
+        mojo.project.setBuild(build);
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId("org.apache.maven.plugins");
+        pluginDescriptor.setArtifactId("maven-enforcer-plugin");
+        pluginDescriptor.setVersion("1.0");
+        MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setPluginDescriptor(pluginDescriptor);
+        mojo.mojoExecution = new MojoExecution(mojoDescriptor, "enforce");
+    }
+
     private Log setupLogSpy() {
         Log spy = Mockito.spy(mojo.getLog());
         mojo.setLog(spy);
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofNanos(100), clock::get);
+
+    @Test
+    void oldestEntryIsEvictedWhenFull() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("2");
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.getStats()).hasToString("hits=2, misses=1, evictions=1, expirations=0, size=2");
+    }
+
+    @Test
+    void replacedEntryBecomesNewest() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("a", "3");
+        cache.put("c", "4");
+
+        assertThat(cache.get("a")).isEqualTo("3");
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void oldEntriesAreExpired() {
+        cache.put("a", "1");
+        clock.set(50);
+        cache.put("b", "2");
+        clock.set(120);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("2");
+
+        clock.set(200);
+        cache.put("c", "3");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getStats().getExpirations()).isEqualTo(2);
+        assertThat(cache.getStats().getEvictions()).isZero();
+    }
+}
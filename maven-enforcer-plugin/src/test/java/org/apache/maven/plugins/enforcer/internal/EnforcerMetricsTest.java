@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import javax.inject.Provider;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.enforcer.rule.api.EnforcerLevel;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EnforcerMetricsTest {
+
+    @Mock
+    private Provider<MavenSession> sessionProvider;
+
+    @Mock
+    private MavenSession session;
+
+    @TempDir
+    private Path buildDirectory;
+
+    private EnforcerMetrics enforcerMetrics;
+
+    @BeforeEach
+    void setup() {
+        when(sessionProvider.get()).thenReturn(session);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+        enforcerMetrics = new EnforcerMetrics(sessionProvider);
+    }
+
+    @Test
+    void reportShouldContainRecordedMetrics() throws Exception {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId("test");
+        project.setVersion("1.0");
+        Build build = new Build();
+        build.setDirectory(buildDirectory.toString());
+        project.setBuild(build);
+
+        RuleMetrics.Probe probe = enforcerMetrics.start();
+        enforcerMetrics.record(probe.stop(
+                project.getId(), "default", 0, "org.example.\"Rule\"", EnforcerLevel.WARN, RuleMetrics.Outcome.WARNED));
+        enforcerMetrics.record(probe.stop(
+                "org.example:other:jar:1.0", "default", 0, "other", EnforcerLevel.ERROR, RuleMetrics.Outcome.PASSED));
+
+        enforcerMetrics.writeReport(project);
+
+        String report = new String(
+                Files.readAllBytes(buildDirectory.resolve(EnforcerMetrics.REPORT_FILE)), StandardCharsets.UTF_8);
+        assertThat(report)
+                .contains("\"project\": \"org.example:test:jar:1.0\"")
+                .contains("\"rule\": \"org.example.\\\"Rule\\\"\"")
+                .contains("\"level\": \"WARN\"")
+                .contains("\"outcome\": \"WARNED\"")
+                .contains("\"cacheHit\": false")
+                .contains("\"wallTimeNanos\": ")
+                .doesNotContain("other");
+    }
+}
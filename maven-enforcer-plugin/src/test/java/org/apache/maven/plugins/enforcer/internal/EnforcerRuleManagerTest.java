@@ -20,11 +20,14 @@ package org.apache.maven.plugins.enforcer.internal;
 
 import javax.inject.Provider;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Properties;
 
 import org.apache.maven.enforcer.rule.api.EnforcerLevel;
+import org.apache.maven.enforcer.rule.api.EnforcerRule;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleBase;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
@@ -38,6 +41,7 @@ import org.codehaus.plexus.component.configurator.ComponentConfigurator;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
 import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,7 +56,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -98,6 +104,7 @@ class EnforcerRuleManagerTest {
         MavenSession mavenSession = mock(MavenSession.class);
         when(mavenSession.getSystemProperties()).thenReturn(new Properties());
         when(mavenSession.getUserProperties()).thenReturn(new Properties());
+        lenient().when(mavenSession.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
         when(sessionProvider.get()).thenReturn(mavenSession);
 
         when(plexusContainer.hasComponent(any(Class.class), anyString())).thenReturn(hasComponent);
@@ -262,4 +269,85 @@ class EnforcerRuleManagerTest {
         assertThat(rules).hasSize(1);
         assertThat(rules.get(0).getLevel()).isEqualTo(EnforcerLevel.ERROR);
     }
+
+    @Test
+    void sameConfigurationShouldBeAppliedFromPlan() throws Exception {
+
+        setupMocks();
+
+        PlexusConfiguration configuration = new DefaultPlexusConfiguration("rules");
+        configuration.addChild(new DefaultPlexusConfiguration("testRule1").addChild("level", "WARN"));
+
+        List<EnforcerRuleDesc> firstRules = enforcerRuleManager.createRules(configuration, mock(Log.class));
+        List<EnforcerRuleDesc> secondRules = enforcerRuleManager.createRules(configuration, mock(Log.class));
+
+        verify(componentConfigurator, times(1)).configureComponent(any(), any(), any(), any());
+
+        assertThat(firstRules.get(0).getRule()).isNotSameAs(secondRules.get(0).getRule());
+        assertThat(secondRules.get(0).getLevel()).isEqualTo(EnforcerLevel.WARN);
+    }
+
+    @Test
+    void timeoutOfOldApiRuleShouldBeKeptByDescription() throws Exception {
+
+        setupMocks();
+
+        PlexusConfiguration ruleConfig = new DefaultPlexusConfiguration("oldApiRule")
+                .addChild("message", "messageValue")
+                .addChild("timeout", "10");
+        ruleConfig.setAttribute("implementation", OldApiRule.class.getName());
+        PlexusConfiguration configuration = new DefaultPlexusConfiguration("rules");
+        configuration.addChild(ruleConfig);
+
+        List<EnforcerRuleDesc> rules = enforcerRuleManager.createRules(configuration, mojoLog);
+
+        assertThat(rules).hasSize(1);
+        assertThat(rules.get(0).getRule()).isInstanceOf(OldApiRule.class);
+        assertThat(rules.get(0).getTimeout()).isEqualTo(Duration.ofSeconds(10));
+
+        ArgumentCaptor<PlexusConfiguration> configurationCaptor = ArgumentCaptor.forClass(PlexusConfiguration.class);
+        verify(componentConfigurator).configureComponent(any(), configurationCaptor.capture(), any(), any());
+
+        assertThat(configurationCaptor.getValue().getChildren())
+                .extracting(PlexusConfiguration::getName)
+                .containsExactly("message");
+    }
+
+    @Test
+    void invalidTimeoutOfOldApiRuleThrowException() throws Exception {
+
+        setupMocks();
+
+        PlexusConfiguration ruleConfig = new DefaultPlexusConfiguration("oldApiRule").addChild("timeout", "10s");
+        ruleConfig.setAttribute("implementation", OldApiRule.class.getName());
+        PlexusConfiguration configuration = new DefaultPlexusConfiguration("rules");
+        configuration.addChild(ruleConfig);
+
+        assertThatCode(() -> enforcerRuleManager.createRules(configuration, mojoLog))
+                .isInstanceOf(EnforcerRuleManagerException.class)
+                .hasMessage("Invalid timeout 10s of rule oldApiRule, expected seconds");
+    }
+
+    public static class OldApiRule implements EnforcerRule {
+
+        private String message;
+
+        @Override
+        public void execute(EnforcerRuleHelper helper) {}
+
+        @Override
+        public boolean isCacheable() {
+            return false;
+        }
+
+        @Override
+        public boolean isResultValid(EnforcerRule cachedRule) {
+            return false;
+        }
+
+        @Override
+        public String getCacheId() {
+            return message;
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.util.Arrays;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleCost;
+import org.apache.maven.plugins.enforcer.MockCostEnforcerRule;
+import org.apache.maven.plugins.enforcer.MockEnforcerRule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleSchedulerTest {
+
+    @Test
+    void configuredOrderIsKeptForRulesOfTheSameCost() {
+        int[] order = RuleScheduler.executionOrder(Arrays.asList(
+                new EnforcerRuleDesc("r0", new MockEnforcerRule(false)),
+                new EnforcerRuleDesc("r1", new MockCostEnforcerRule(EnforcerRuleCost.FILE_IO, null, false)),
+                new EnforcerRuleDesc("r2", new MockEnforcerRule(false))),
+                true);
+
+        assertThat(order).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void cheapRulesAreExecutedFirst() {
+        int[] order = RuleScheduler.executionOrder(Arrays.asList(
+                new EnforcerRuleDesc("r0", new MockCostEnforcerRule(EnforcerRuleCost.JAR_SCAN, null, false)),
+                new EnforcerRuleDesc("r1", new MockCostEnforcerRule(EnforcerRuleCost.GRAPH_COLLECTION, null, false)),
+                new EnforcerRuleDesc("r2", new MockEnforcerRule(false)),
+                new EnforcerRuleDesc("r3", new MockCostEnforcerRule(EnforcerRuleCost.PROPERTY_CHECK, null, false)),
+                new EnforcerRuleDesc("r4", new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, null, false))),
+                true);
+
+        assertThat(order).containsExactly(4, 3, 2, 1, 0);
+    }
+
+    @Test
+    void rulesSharingResourceAreGrouped() {
+        int[] order = RuleScheduler.executionOrder(Arrays.asList(
+                new EnforcerRuleDesc("r0", new MockCostEnforcerRule(EnforcerRuleCost.GRAPH_COLLECTION, "g1", false)),
+                new EnforcerRuleDesc("r1", new MockCostEnforcerRule(EnforcerRuleCost.GRAPH_COLLECTION, "g2", false)),
+                new EnforcerRuleDesc("r2", new MockCostEnforcerRule(EnforcerRuleCost.GRAPH_COLLECTION, null, false)),
+                new EnforcerRuleDesc("r3", new MockCostEnforcerRule(EnforcerRuleCost.GRAPH_COLLECTION, "g1", false)),
+                new EnforcerRuleDesc("r4", new MockCostEnforcerRule(EnforcerRuleCost.GRAPH_COLLECTION, "g2", false))),
+                true);
+
+        assertThat(order).containsExactly(0, 3, 1, 4, 2);
+    }
+
+    @Test
+    void configuredOrderIsKeptWithoutFailFast() {
+        int[] order = RuleScheduler.executionOrder(
+                Arrays.asList(
+                        new EnforcerRuleDesc("r0", new MockCostEnforcerRule(EnforcerRuleCost.JAR_SCAN, null, false)),
+                        new EnforcerRuleDesc("r1", new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, "g1", false)),
+                        new EnforcerRuleDesc("r2", new MockEnforcerRule(false)),
+                        new EnforcerRuleDesc("r3", new MockCostEnforcerRule(EnforcerRuleCost.CHEAP, "g1", false))),
+                false);
+
+        assertThat(order).containsExactly(0, 1, 2, 3);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.enforcer.internal;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.maven.enforcer.rule.api.EnforcerCancellationToken;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RuleWatchdogTest {
+
+    @Test
+    void hungRuleIsCancelledAndInterrupted() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        EnforcerCancellationToken parent = new EnforcerCancellationToken();
+        EnforcerCancellationToken token = new EnforcerCancellationToken(parent);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Thread thread = new Thread(
+                () -> {
+                    try {
+                        never.await();
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                },
+                "hung-rule");
+
+        try (RuleWatchdog watchdog = new RuleWatchdog()) {
+            thread.start();
+            watchdog.watch(Duration.ofMillis(50), thread, result, token);
+
+            assertThatThrownBy(result::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(EnforcerRuleException.class)
+                    .hasMessageContaining("Rule execution exceeded timeout of 50 ms, stack of thread hung-rule:")
+                    .hasMessageContaining("CountDownLatch.await");
+            thread.join(10_000);
+        }
+
+        assertThat(interrupted).isTrue();
+        assertThat(token.getReason()).isEqualTo("Rule execution exceeded timeout of 50 ms");
+        assertThat(parent.isCancelled()).isFalse();
+    }
+
+    @Test
+    void finishedRuleIsNotReported() throws Exception {
+        EnforcerCancellationToken token = new EnforcerCancellationToken();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        try (RuleWatchdog watchdog = new RuleWatchdog()) {
+            watchdog.watch(Duration.ofMillis(50), Thread.currentThread(), result, token);
+            result.complete(null);
+            Thread.sleep(100);
+        }
+
+        assertThat(Thread.interrupted()).isFalse();
+        assertThat(token.isCancelled()).isFalse();
+    }
+
+    @Test
+    void stoppedWatchDoesNotExpire() throws Exception {
+        EnforcerCancellationToken token = new EnforcerCancellationToken();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        try (RuleWatchdog watchdog = new RuleWatchdog()) {
+            // a rule is finished, but its result is not completed yet
+            watchdog.watch(Duration.ofMillis(50), Thread.currentThread(), result, token).stop();
+            Thread.sleep(100);
+        }
+
+        assertThat(result).isNotDone();
+        assertThat(Thread.interrupted()).isFalse();
+        assertThat(token.isCancelled()).isFalse();
+    }
+
+    @Test
+    void interruptOfExpiredRuleIsClearedWhenStopped() throws Exception {
+        AtomicBoolean interruptedAfterStop = new AtomicBoolean(true);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        try (RuleWatchdog watchdog = new RuleWatchdog()) {
+            Thread thread = new Thread(
+                    () -> {
+                        RuleWatchdog.Watch watch = watchdog.watch(
+                                Duration.ofMillis(50), Thread.currentThread(), result, new EnforcerCancellationToken());
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException e) {
+                            // a rule restoring the interrupt flag
+                            Thread.currentThread().interrupt();
+                        }
+                        watch.stop();
+                        interruptedAfterStop.set(Thread.currentThread().isInterrupted());
+                    },
+                    "interrupted-rule");
+            thread.start();
+            thread.join(10_000);
+        }
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(interruptedAfterStop).isFalse();
+    }
+
+    @Test
+    void tokenIsCancelledWithParent() {
+        EnforcerCancellationToken parent = new EnforcerCancellationToken();
+        EnforcerCancellationToken token = new EnforcerCancellationToken(parent);
+
+        parent.cancel("parent");
+
+        assertThat(token.isCancelled()).isTrue();
+        assertThat(token.getReason()).isEqualTo("parent");
+    }
+}